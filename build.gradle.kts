@@ -4,9 +4,11 @@
 
 plugins {
   java
+  `java-test-fixtures`
   `maven-publish`
   signing
   id("com.diffplug.spotless") version "6.25.0"
+  id("me.champeau.jmh") version "0.7.2"
 }
 
 ///////////////////////////////////////////////////////////////////////////////
@@ -20,12 +22,18 @@ dependencies {
   implementation("org.eclipse.keyple:keyple-service-resource-java-lib:3.0.1")
   implementation("org.eclipse.keyple:keyple-util-java-lib:2.4.0")
   implementation("org.slf4j:slf4j-api:1.7.32")
+  testFixturesApi("org.eclipse.keypop:keypop-reader-java-api:2.0.1")
+  testFixturesApi("org.eclipse.keyple:keyple-common-java-api:2.0.1")
+  testFixturesApi("org.eclipse.keyple:keyple-plugin-java-api:2.3.1")
+  testFixturesApi("org.eclipse.keyple:keyple-service-resource-java-lib:3.0.1")
+  testFixturesImplementation("org.eclipse.keyple:keyple-util-java-lib:2.4.0")
   testImplementation("org.slf4j:slf4j-simple:1.7.32")
   testImplementation(platform("org.junit:junit-bom:5.10.2"))
   testImplementation("org.junit.jupiter:junit-jupiter")
   testImplementation("org.junit.vintage:junit-vintage-engine")
   testImplementation("org.assertj:assertj-core:3.25.3")
   testImplementation("org.mockito:mockito-core:5.11.0")
+  jmhImplementation(testFixtures(project))
 }
 
 ///////////////////////////////////////////////////////////////////////////////
@@ -50,6 +58,40 @@ java {
   withSourcesJar()
 }
 
+// Java 21 variants of some classes, packaged in the multi-release JAR under META-INF/versions/21.
+// Opt-in (-PmultiRelease): requires a locally installed JDK 21, the JAR being a plain Java 8 one
+// otherwise.
+val multiRelease = project.hasProperty("multiRelease")
+val java21: SourceSet by
+    sourceSets.creating {
+      java.srcDir("src/main/java21")
+      compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+    }
+
+// Tests running on Java 21 against the Java 21 variants (e.g. virtual threads stress test).
+val java21Test: SourceSet by
+    sourceSets.creating {
+      java.srcDir("src/test/java21")
+      compileClasspath +=
+          java21.output + sourceSets.main.get().output + sourceSets.test.get().compileClasspath
+      runtimeClasspath +=
+          output +
+              java21.output +
+              sourceSets.main.get().output +
+              sourceSets.test.get().runtimeClasspath
+    }
+
+// Load test of the plugin against the simulated card resource service of the test fixtures.
+val loadTest: SourceSet by
+    sourceSets.creating {
+      java.srcDir("src/loadTest/java")
+      compileClasspath +=
+          sourceSets.main.get().output +
+              sourceSets["testFixtures"].output +
+              sourceSets["testFixtures"].compileClasspath
+      runtimeClasspath += output + compileClasspath + sourceSets.test.get().runtimeClasspath
+    }
+
 fun copyLicenseFiles() {
   val metaInfDir = File(layout.buildDirectory.get().asFile, "resources/main/META-INF")
   val licenseFile = File(project.rootDir, "LICENSE")
@@ -77,6 +119,25 @@ tasks {
     useJUnitPlatform()
     testLogging { events("passed", "skipped", "failed") }
   }
+  named<JavaCompile>(java21.compileJavaTaskName) {
+    javaCompiler.set(javaToolchains.compilerFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    options.release.set(21)
+  }
+  named<JavaCompile>(java21Test.compileJavaTaskName) {
+    javaCompiler.set(javaToolchains.compilerFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    options.release.set(21)
+  }
+  // Opt-in (not part of check): requires a locally installed JDK 21.
+  register<Test>("java21Test") {
+    description = "Runs the tests requiring Java 21."
+    group = "verification"
+    testClassesDirs = java21Test.output.classesDirs
+    classpath = java21Test.runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    useJUnitPlatform()
+    testLogging { events("passed", "skipped", "failed") }
+    shouldRunAfter(test)
+  }
   javadoc {
     dependsOn(processResources)
     val javadocLogo = project.findProperty("javadoc.logo") as String
@@ -102,9 +163,13 @@ tasks {
   jar {
     dependsOn(processResources)
     doFirst { copyLicenseFiles() }
+    if (multiRelease) {
+      into("META-INF/versions/21") { from(java21.output) }
+    }
     manifest {
       attributes(
           mapOf(
+              "Multi-Release" to multiRelease,
               "Implementation-Title" to (project.findProperty("title") as String),
               "Implementation-Version" to project.version,
               "Implementation-Vendor" to (project.findProperty("organization.name") as String),
@@ -138,6 +203,57 @@ tasks {
   }
 }
 
+///////////////////////////////////////////////////////////////////////////////
+//  BENCHMARKS
+///////////////////////////////////////////////////////////////////////////////
+
+jmh {
+  jmhVersion.set("1.37")
+  resultFormat.set("JSON")
+  resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+}
+
+// Runs the benchmarks once per thread count, each run publishing its own JSON results file.
+val jmhThreadCounts = listOf(1, 2, 4, 8, 16, 32, 64)
+val jmhThreadSweep by
+    tasks.registering {
+      group = "benchmark"
+      description = "Runs the JMH benchmarks with ${jmhThreadCounts.joinToString()} threads."
+    }
+
+jmhThreadCounts.forEach { threadCount ->
+  val jmhThreads =
+      tasks.register<JavaExec>("jmhThreads$threadCount") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks with $threadCount thread(s)."
+        val resultsFile =
+            layout.buildDirectory.file("reports/jmh/results-$threadCount-threads.json")
+        classpath(tasks.named("jmhJar"))
+        mainClass.set("org.openjdk.jmh.Main")
+        args("-t", threadCount, "-rf", "json", "-rff", resultsFile.get().asFile.path)
+        doFirst { resultsFile.get().asFile.parentFile.mkdirs() }
+      }
+  jmhThreadSweep { dependsOn(jmhThreads) }
+}
+
+///////////////////////////////////////////////////////////////////////////////
+//  LOAD TEST
+///////////////////////////////////////////////////////////////////////////////
+
+// Runs the load test, its settings being passed as "--name=value" arguments through the
+// "loadTestArgs" project property, e.g. -PloadTestArgs="--callers=64 --duration=600".
+tasks.register<JavaExec>("loadTest") {
+  group = "benchmark"
+  description = "Runs the load test of the plugin against a simulated card resource service."
+  val resultsFile = layout.buildDirectory.file("reports/loadtest/results.json")
+  classpath = loadTest.runtimeClasspath
+  mainClass.set("org.eclipse.keyple.plugin.cardresource.LoadTest")
+  args("--output=${resultsFile.get().asFile.path}")
+  (project.findProperty("loadTestArgs") as String?)?.let {
+    args(it.split(" ").filter(String::isNotBlank))
+  }
+}
+
 publishing {
   publications {
     create<MavenPublication>("mavenJava") {
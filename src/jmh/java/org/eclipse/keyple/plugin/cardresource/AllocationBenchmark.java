@@ -0,0 +1,80 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a reader allocation followed by its release, with and without reservoir.
+ *
+ * <p>The simulated Card Resource Service of the test fixtures, without any latency, holds more
+ * card resources than the maximum number of benchmark threads, so that the allocations never fail.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile";
+  private static final int CARD_RESOURCE_COUNT = 128;
+
+  @Param({"0", "32"})
+  public int reservoirSize;
+
+  private CardResourcePluginAdapter pluginAdapter;
+
+  @Setup
+  public void setUp() {
+    CardResourcePluginConfiguration configuration = new CardResourcePluginConfiguration();
+    if (reservoirSize > 0) {
+      configuration.setReservoir(CARD_RESOURCE_PROFILE_NAME, reservoirSize / 2, reservoirSize);
+    }
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            "BenchmarkPlugin",
+            SimulatedCardResourceService.builder()
+                .addProfile(CARD_RESOURCE_PROFILE_NAME, CARD_RESOURCE_COUNT)
+                .build(),
+            Collections.singleton(CARD_RESOURCE_PROFILE_NAME),
+            configuration);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pluginAdapter.onUnregister();
+  }
+
+  @Benchmark
+  public ReaderSpi allocateAndRelease() throws PluginIOException {
+    ReaderSpi readerSpi = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME);
+    pluginAdapter.releaseReader(readerSpi);
+    return readerSpi;
+  }
+}
@@ -0,0 +1,109 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead added by {@link CardResourceReaderAdapter} over a raw reader SPI when
+ * transmitting an APDU, the reader SPI being a simulated reader of the test fixtures without any
+ * latency.
+ *
+ * <p>Each benchmark thread owns its reader, as an allocated reader is used by a single client,
+ * while the profile APDU statistics are shared by all the threads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApduPassThroughBenchmark {
+
+  private static final byte[] APDU_COMMAND =
+      new byte[] {0x00, (byte) 0xA4, 0x04, 0x00, 0x05, 0x01, 0x02, 0x03, 0x04, 0x05, 0x00};
+  private static final String APDU_RESPONSE = "6F04840201029000";
+  // room for the longest short APDU response, as required by the reader adapter
+  private static final int APDU_RESPONSE_BUFFER_LENGTH = 258;
+
+  /** State shared by all the benchmark threads. */
+  @State(Scope.Benchmark)
+  public static class ProfileState {
+
+    ApduStatisticsAdapter profileApduStatistics;
+
+    @Setup
+    public void setUp() {
+      profileApduStatistics = new ApduStatisticsAdapter();
+    }
+  }
+
+  private ReaderSpi readerSpi;
+  private CardResourceReaderAdapter readerAdapter;
+  private ByteBuffer apduCommand;
+  private ByteBuffer apduResponse;
+
+  @Setup
+  public void setUp(ProfileState profileState) {
+    CardResource cardResource =
+        SimulatedCardResourceService.builder()
+            .addProfile("profile", 1)
+            .setApduResponse(APDU_RESPONSE)
+            .build()
+            .getCardResource("profile");
+    readerSpi = (ReaderSpi) cardResource.getReaderExtension();
+    readerAdapter =
+        new CardResourceReaderAdapter(
+            cardResource,
+            "profile",
+            new ApduStatisticsAdapter(),
+            profileState.profileApduStatistics,
+            new CardResourceHealth(0),
+            null,
+            null);
+    apduCommand = ByteBuffer.allocateDirect(APDU_COMMAND.length);
+    apduResponse = ByteBuffer.allocateDirect(APDU_RESPONSE_BUFFER_LENGTH);
+  }
+
+  @Benchmark
+  public byte[] rawReaderSpi() throws ReaderIOException, CardIOException {
+    return readerSpi.transmitApdu(APDU_COMMAND);
+  }
+
+  @Benchmark
+  public byte[] readerAdapter() throws ReaderIOException, CardIOException {
+    return readerAdapter.transmitApdu(APDU_COMMAND);
+  }
+
+  @Benchmark
+  public int readerAdapterWithByteBuffers() throws ReaderIOException, CardIOException {
+    apduCommand.clear();
+    apduCommand.put(APDU_COMMAND).flip();
+    apduResponse.clear();
+    return readerAdapter.transmitApdu(apduCommand, apduResponse);
+  }
+}
@@ -0,0 +1,504 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Long-running multi-threaded load test of a card resource plugin built with {@link
+ * CardResourcePluginFactoryBuilder}, against a {@link SimulatedCardResourceService}.
+ *
+ * <p>The callers allocate readers of the profiles of a weighted mix, exchange APDUs, hold the
+ * readers and release them after a think time. After a warm-up phase, the test measures the
+ * allocation latency percentiles, the sustained allocation throughput per second and the fairness
+ * between the callers, and reports them as JSON.
+ *
+ * <p>The settings are provided as {@code --name=value} arguments, the latency distributions being
+ * written {@code none}, {@code fixed:micros}, {@code uniform:minMicros:maxMicros} or {@code
+ * lognormal:medianMicros:sigma}:
+ *
+ * <ul>
+ *   <li>{@code callers}: the number of callers (16).
+ *   <li>{@code duration}: the duration of the measurement in seconds (60).
+ *   <li>{@code warmup}: the duration of the warm-up in seconds (5).
+ *   <li>{@code profiles}: the profile mix, as a comma separated list of {@code
+ *       name:poolSize:weight} with distinct names, a pool size of at least 1 and a weight of at
+ *       least 0, a profile of weight 0 being registered but never allocated, the total weight
+ *       being at least 1 (profile:8:1).
+ *   <li>{@code think-time}: the time between a release and the next allocation (uniform:0:2000).
+ *   <li>{@code hold-time}: the time a reader is held after its APDU exchanges (uniform:1000:5000).
+ *   <li>{@code apdus-per-allocation}: the number of APDU exchanges per allocation (3).
+ *   <li>{@code apdu-latency}: the latency of the APDU exchanges (lognormal:300:0.5).
+ *   <li>{@code release-latency}: the latency of the releases to the service (none).
+ *   <li>{@code reader-failure-probability}, {@code card-failure-probability}: the probabilities of
+ *       an APDU exchange to fail (0).
+ *   <li>{@code max-wait}: the maximum wait time of the allocations in milliseconds (1000).
+ *   <li>{@code reservoir}: the reservoir of each profile, as {@code lowWaterMark:highWaterMark}
+ *       (none).
+ *   <li>{@code max-concurrent-allocations}, {@code max-waiters}: the limits of each profile
+ *       (unlimited).
+ *   <li>{@code starvation-threshold}: the allocation latency in milliseconds above which an
+ *       allocation counts as a starvation, like a failed or rejected allocation (100).
+ *   <li>{@code output}: the path of the JSON report, also printed on the standard output.
+ * </ul>
+ *
+ * <p>Except the pool size and the weight, the settings are global: the latencies, the failure
+ * probabilities, the reservoir and the limits apply alike to all the profiles of the mix.
+ *
+ * @since 2.1.0
+ */
+public final class LoadTest {
+
+  private static final String PLUGIN_NAME = "LoadTestPlugin";
+  private static final List<String> SETTING_NAMES =
+      Arrays.asList(
+          "callers",
+          "duration",
+          "warmup",
+          "profiles",
+          "think-time",
+          "hold-time",
+          "apdus-per-allocation",
+          "apdu-latency",
+          "release-latency",
+          "reader-failure-probability",
+          "card-failure-probability",
+          "max-wait",
+          "reservoir",
+          "max-concurrent-allocations",
+          "max-waiters",
+          "starvation-threshold",
+          "output");
+
+  private final Map<String, String> settings;
+  private final int callerCount;
+  private final int durationSeconds;
+  private final int warmupSeconds;
+  private final List<String> cardResourceProfileNames = new ArrayList<String>();
+  private final List<Integer> poolSizes = new ArrayList<Integer>();
+  private final int[] cumulatedWeights;
+  private final LatencyDistribution thinkTime;
+  private final LatencyDistribution holdTime;
+  private final int apdusPerAllocation;
+  private final long starvationThresholdNanos;
+  private final LongAdder measuredAllocationCount = new LongAdder();
+  private volatile boolean running = true;
+  private volatile boolean measuring;
+
+  /**
+   * Constructor.
+   *
+   * @param settings The settings of the test, indexed by name.
+   * @throws IllegalArgumentException If a setting is unknown or invalid.
+   * @since 2.1.0
+   */
+  LoadTest(Map<String, String> settings) {
+    this.settings = settings;
+    checkSettingNames();
+    callerCount = Integer.parseInt(getSetting("callers", "16"));
+    durationSeconds = Integer.parseInt(getSetting("duration", "60"));
+    warmupSeconds = Integer.parseInt(getSetting("warmup", "5"));
+    String[] profiles = getSetting("profiles", "profile:8:1").split(",");
+    cumulatedWeights = new int[profiles.length];
+    int totalWeight = 0;
+    for (int i = 0; i < profiles.length; i++) {
+      String[] fields = profiles[i].split(":");
+      if (fields.length != 3
+          || fields[0].length() == 0
+          || cardResourceProfileNames.contains(fields[0])) {
+        throw new IllegalArgumentException("Invalid profile: " + profiles[i]);
+      }
+      cardResourceProfileNames.add(fields[0]);
+      poolSizes.add(parseProfileField(profiles[i], "pool size", fields[1], 1));
+      totalWeight += parseProfileField(profiles[i], "weight", fields[2], 0);
+      cumulatedWeights[i] = totalWeight;
+    }
+    thinkTime = parseLatencyDistribution(getSetting("think-time", "uniform:0:2000"));
+    holdTime = parseLatencyDistribution(getSetting("hold-time", "uniform:1000:5000"));
+    apdusPerAllocation = Integer.parseInt(getSetting("apdus-per-allocation", "3"));
+    starvationThresholdNanos =
+        TimeUnit.MILLISECONDS.toNanos(Long.parseLong(getSetting("starvation-threshold", "100")));
+    if (callerCount < 1 || durationSeconds < 1 || warmupSeconds < 0 || totalWeight < 1) {
+      throw new IllegalArgumentException("Invalid load test settings: " + settings);
+    }
+  }
+
+  /**
+   * Parses a numeric field of a profile of the mix.
+   *
+   * @param profile The profile, as {@code name:poolSize:weight}.
+   * @param fieldName The name of the field, for the error message.
+   * @param value The value of the field.
+   * @param minValue The minimum value of the field.
+   * @return The value of the field.
+   * @throws IllegalArgumentException If the value is not a number or is less than the minimum.
+   */
+  private static int parseProfileField(
+      String profile, String fieldName, String value, int minValue) {
+    int fieldValue;
+    try {
+      fieldValue = Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "Invalid " + fieldName + " of profile " + profile + ": " + value, e);
+    }
+    if (fieldValue < minValue) {
+      throw new IllegalArgumentException(
+          "Invalid "
+              + fieldName
+              + " of profile "
+              + profile
+              + " (at least "
+              + minValue
+              + " expected): "
+              + value);
+    }
+    return fieldValue;
+  }
+
+  /**
+   * Runs a load test and reports its results.
+   *
+   * @param args The settings of the test, as {@code --name=value} arguments.
+   * @throws Exception If the test fails.
+   * @since 2.1.0
+   */
+  public static void main(String[] args) throws Exception {
+    Map<String, String> settings = new LinkedHashMap<String, String>();
+    for (String arg : args) {
+      int separatorIndex = arg.indexOf('=');
+      if (!arg.startsWith("--") || separatorIndex < 0) {
+        throw new IllegalArgumentException("Invalid argument (--name=value expected): " + arg);
+      }
+      settings.put(arg.substring(2, separatorIndex), arg.substring(separatorIndex + 1));
+    }
+    String report = new LoadTest(settings).run();
+    System.out.println(report);
+    if (settings.containsKey("output")) {
+      File outputFile = new File(settings.get("output"));
+      File outputDirectory = outputFile.getAbsoluteFile().getParentFile();
+      if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+        throw new IOException("Unable to create the directory " + outputDirectory);
+      }
+      Writer writer =
+          new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8);
+      try {
+        writer.write(report);
+      } finally {
+        writer.close();
+      }
+    }
+  }
+
+  /**
+   * Runs the test.
+   *
+   * @return The JSON report of the test.
+   * @throws InterruptedException If the thread is interrupted while waiting for the callers.
+   * @since 2.1.0
+   */
+  String run() throws InterruptedException {
+    SimulatedCardResourceService.Builder serviceBuilder =
+        SimulatedCardResourceService.builder()
+            .setApduLatency(
+                parseLatencyDistribution(getSetting("apdu-latency", "lognormal:300:0.5")))
+            .setReleaseLatency(parseLatencyDistribution(getSetting("release-latency", "none")))
+            .setFailureProbabilities(
+                Double.parseDouble(getSetting("reader-failure-probability", "0")),
+                Double.parseDouble(getSetting("card-failure-probability", "0")));
+    for (int i = 0; i < cardResourceProfileNames.size(); i++) {
+      serviceBuilder.addProfile(cardResourceProfileNames.get(i), poolSizes.get(i));
+    }
+    CardResourcePluginAdapter plugin = createPlugin(serviceBuilder.build());
+
+    List<LoadTestCaller> callers = new ArrayList<LoadTestCaller>();
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < callerCount; i++) {
+      LoadTestCaller caller = new LoadTestCaller(this, plugin);
+      Thread thread = new Thread(caller, "load-test-caller-" + i);
+      callers.add(caller);
+      threads.add(thread);
+      thread.start();
+    }
+    Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+
+    long[] allocationsPerSecond = new long[durationSeconds];
+    measuring = true;
+    long startNanos = System.nanoTime();
+    long previousCount = 0;
+    for (int i = 0; i < durationSeconds; i++) {
+      long remainingNanos = startNanos + TimeUnit.SECONDS.toNanos(i + 1L) - System.nanoTime();
+      if (remainingNanos > 0) {
+        TimeUnit.NANOSECONDS.sleep(remainingNanos);
+      }
+      long count = measuredAllocationCount.sum();
+      allocationsPerSecond[i] = count - previousCount;
+      previousCount = count;
+    }
+    measuring = false;
+    long elapsedNanos = System.nanoTime() - startNanos;
+    running = false;
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    plugin.onUnregister();
+    return report(callers, allocationsPerSecond, elapsedNanos);
+  }
+
+  /** Builds and instantiates the plugin to load, with the plugin settings of the test. */
+  private CardResourcePluginAdapter createPlugin(SimulatedCardResourceService service) {
+    CardResourcePluginFactoryBuilder.Builder pluginBuilder =
+        CardResourcePluginFactoryBuilder.builder(PLUGIN_NAME, service, cardResourceProfileNames);
+    int maxWaitTimeMillis = Integer.parseInt(getSetting("max-wait", "1000"));
+    String reservoir = settings.get("reservoir");
+    String maxConcurrentAllocations = settings.get("max-concurrent-allocations");
+    String maxWaiters = settings.get("max-waiters");
+    for (String cardResourceProfileName : cardResourceProfileNames) {
+      pluginBuilder.setMaxWaitTime(cardResourceProfileName, maxWaitTimeMillis);
+      if (reservoir != null) {
+        String[] waterMarks = reservoir.split(":");
+        pluginBuilder.setReservoir(
+            cardResourceProfileName,
+            Integer.parseInt(waterMarks[0]),
+            Integer.parseInt(waterMarks[waterMarks.length - 1]));
+      }
+      if (maxConcurrentAllocations != null) {
+        pluginBuilder.setMaxConcurrentAllocations(
+            cardResourceProfileName, Integer.parseInt(maxConcurrentAllocations));
+      }
+      if (maxWaiters != null) {
+        pluginBuilder.setMaxWaiters(cardResourceProfileName, Integer.parseInt(maxWaiters));
+      }
+    }
+    return (CardResourcePluginAdapter)
+        ((CardResourcePluginFactoryAdapter) pluginBuilder.build()).getPoolPlugin();
+  }
+
+  /** Builds the JSON report of the test. */
+  private String report(
+      List<LoadTestCaller> callers, long[] allocationsPerSecond, long elapsedNanos) {
+    LoadTestHistogram allocationLatencies = new LoadTestHistogram();
+    long failureCount = 0;
+    long rejectionCount = 0;
+    long starvationCount = 0;
+    long apduErrorCount = 0;
+    long starvedCallerCount = 0;
+    long minCallerAllocationCount = Long.MAX_VALUE;
+    long maxCallerAllocationCount = 0;
+    double sum = 0;
+    double sumOfSquares = 0;
+    StringBuilder callerReports = new StringBuilder();
+    for (LoadTestCaller caller : callers) {
+      long allocationCount = caller.getAllocationCount();
+      allocationLatencies.add(caller.getAllocationLatencies());
+      failureCount += caller.getFailureCount();
+      rejectionCount += caller.getRejectionCount();
+      starvationCount += caller.getStarvationCount();
+      apduErrorCount += caller.getApduErrorCount();
+      if (allocationCount == 0) {
+        starvedCallerCount++;
+      }
+      minCallerAllocationCount = Math.min(minCallerAllocationCount, allocationCount);
+      maxCallerAllocationCount = Math.max(maxCallerAllocationCount, allocationCount);
+      sum += allocationCount;
+      sumOfSquares += (double) allocationCount * allocationCount;
+      callerReports
+          .append(callerReports.length() == 0 ? "\n    " : ",\n    ")
+          .append(
+              String.format(
+                  Locale.ROOT,
+                  "{\"allocations\": %d, \"failures\": %d, \"rejections\": %d, "
+                      + "\"starvations\": %d, \"p99Micros\": %d, \"maxMicros\": %d}",
+                  allocationCount,
+                  caller.getFailureCount(),
+                  caller.getRejectionCount(),
+                  caller.getStarvationCount(),
+                  caller.getAllocationLatencies().getPercentileMicros(99),
+                  caller.getAllocationLatencies().getMaxMicros()));
+    }
+    long minAllocationsPerSecond = Long.MAX_VALUE;
+    StringBuilder timeline = new StringBuilder();
+    for (long count : allocationsPerSecond) {
+      minAllocationsPerSecond = Math.min(minAllocationsPerSecond, count);
+      timeline.append(timeline.length() == 0 ? "" : ", ").append(count);
+    }
+    StringBuilder settingsReport = new StringBuilder();
+    for (Map.Entry<String, String> setting : settings.entrySet()) {
+      settingsReport
+          .append(settingsReport.length() == 0 ? "" : ", ")
+          .append('"')
+          .append(setting.getKey())
+          .append("\": \"")
+          .append(setting.getValue().replace("\\", "\\\\").replace("\"", "\\\""))
+          .append('"');
+    }
+    double elapsedSeconds = elapsedNanos / 1e9;
+    return String.format(
+        Locale.ROOT,
+        "{%n"
+            + "  \"settings\": {%s},%n"
+            + "  \"callers\": %d,%n"
+            + "  \"durationSeconds\": %.3f,%n"
+            + "  \"allocations\": %d,%n"
+            + "  \"failures\": %d,%n"
+            + "  \"rejections\": %d,%n"
+            + "  \"apduErrors\": %d,%n"
+            + "  \"allocationsPerSecond\": %.1f,%n"
+            + "  \"minAllocationsPerSecond\": %d,%n"
+            + "  \"allocationsPerSecondTimeline\": [%s],%n"
+            + "  \"allocationLatencyMicros\": "
+            + "{\"mean\": %.1f, \"p50\": %d, \"p99\": %d, \"p999\": %d, \"max\": %d},%n"
+            + "  \"fairness\": {\"jainIndex\": %.4f, \"minCallerAllocations\": %d, "
+            + "\"maxCallerAllocations\": %d, \"starvations\": %d, \"starvedCallers\": %d},%n"
+            + "  \"perCaller\": [%s%n  ]%n"
+            + "}",
+        settingsReport,
+        callers.size(),
+        elapsedSeconds,
+        allocationLatencies.getCount(),
+        failureCount,
+        rejectionCount,
+        apduErrorCount,
+        allocationLatencies.getCount() / elapsedSeconds,
+        minAllocationsPerSecond,
+        timeline,
+        allocationLatencies.getMeanMicros(),
+        allocationLatencies.getPercentileMicros(50),
+        allocationLatencies.getPercentileMicros(99),
+        allocationLatencies.getPercentileMicros(99.9),
+        allocationLatencies.getMaxMicros(),
+        sumOfSquares == 0 ? 1 : sum * sum / (callers.size() * sumOfSquares),
+        minCallerAllocationCount,
+        maxCallerAllocationCount,
+        starvationCount,
+        starvedCallerCount,
+        callerReports);
+  }
+
+  /** Returns the value of a setting, or the default value if the setting is not provided. */
+  private String getSetting(String name, String defaultValue) {
+    String value = settings.get(name);
+    return value != null ? value : defaultValue;
+  }
+
+  /** Checks that all the provided settings are known. */
+  private void checkSettingNames() {
+    for (String name : settings.keySet()) {
+      if (!SETTING_NAMES.contains(name)) {
+        throw new IllegalArgumentException("Unknown load test setting: " + name);
+      }
+    }
+  }
+
+  /** Parses a latency distribution written none, fixed:a, uniform:a:b or lognormal:a:sigma. */
+  private static LatencyDistribution parseLatencyDistribution(String value) {
+    String[] fields = value.split(":");
+    if (fields[0].equals("none") && fields.length == 1) {
+      return LatencyDistribution.none();
+    } else if (fields[0].equals("fixed") && fields.length == 2) {
+      return LatencyDistribution.fixed(Long.parseLong(fields[1]));
+    } else if (fields[0].equals("uniform") && fields.length == 3) {
+      return LatencyDistribution.uniform(Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+    } else if (fields[0].equals("lognormal") && fields.length == 3) {
+      return LatencyDistribution.logNormal(
+          Long.parseLong(fields[1]), Double.parseDouble(fields[2]));
+    }
+    throw new IllegalArgumentException("Invalid latency distribution: " + value);
+  }
+
+  /**
+   * @return True until the end of the test.
+   * @since 2.1.0
+   */
+  boolean isRunning() {
+    return running;
+  }
+
+  /**
+   * @return True during the measurement phase of the test.
+   * @since 2.1.0
+   */
+  boolean isMeasuring() {
+    return measuring;
+  }
+
+  /**
+   * Counts an allocation of the measurement phase, for the throughput timeline.
+   *
+   * @since 2.1.0
+   */
+  void onAllocation() {
+    measuredAllocationCount.increment();
+  }
+
+  /**
+   * Draws the profile of the next allocation of a caller, according to the weights of the mix.
+   *
+   * @param random The random generator of the caller.
+   * @return The name of the card resource profile.
+   * @since 2.1.0
+   */
+  String nextCardResourceProfileName(Random random) {
+    int draw = random.nextInt(cumulatedWeights[cumulatedWeights.length - 1]);
+    int i = 0;
+    while (draw >= cumulatedWeights[i]) {
+      i++;
+    }
+    return cardResourceProfileNames.get(i);
+  }
+
+  /**
+   * @return The distribution of the think times of the callers.
+   * @since 2.1.0
+   */
+  LatencyDistribution getThinkTime() {
+    return thinkTime;
+  }
+
+  /**
+   * @return The distribution of the hold times of the readers.
+   * @since 2.1.0
+   */
+  LatencyDistribution getHoldTime() {
+    return holdTime;
+  }
+
+  /**
+   * @return The number of APDU exchanges per allocation.
+   * @since 2.1.0
+   */
+  int getApdusPerAllocation() {
+    return apdusPerAllocation;
+  }
+
+  /**
+   * @return The allocation latency above which an allocation counts as a starvation.
+   * @since 2.1.0
+   */
+  long getStarvationThresholdNanos() {
+    return starvationThresholdNanos;
+  }
+}
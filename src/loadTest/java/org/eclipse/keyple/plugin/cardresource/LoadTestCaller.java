@@ -0,0 +1,164 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+
+/**
+ * Caller of a load test, repeatedly allocating a reader of a profile drawn from the profile mix,
+ * exchanging APDUs and holding the reader, then releasing it after a think time.
+ *
+ * <p>The results are recorded only during the measurement phase of the test and read by the test
+ * once the caller has terminated.
+ *
+ * @since 2.1.0
+ */
+final class LoadTestCaller implements Runnable {
+
+  private static final byte[] APDU_COMMAND = {0x00, (byte) 0xB2, 0x01, 0x04, 0x00};
+
+  private final LoadTest loadTest;
+  private final CardResourcePluginAdapter plugin;
+  private final LoadTestHistogram allocationLatencies = new LoadTestHistogram();
+  private long allocationCount;
+  private long failureCount;
+  private long rejectionCount;
+  private long starvationCount;
+  private long apduErrorCount;
+
+  /**
+   * Constructor.
+   *
+   * @param loadTest The load test providing the settings and the phase.
+   * @param plugin The plugin to load.
+   * @since 2.1.0
+   */
+  LoadTestCaller(LoadTest loadTest, CardResourcePluginAdapter plugin) {
+    this.loadTest = loadTest;
+    this.plugin = plugin;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void run() {
+    Random random = ThreadLocalRandom.current();
+    while (loadTest.isRunning()) {
+      SimulatedCardResourceService.sleep(loadTest.getThinkTime().nextLatencyNanos(random));
+      String cardResourceProfileName = loadTest.nextCardResourceProfileName(random);
+      long startNanos = System.nanoTime();
+      ReaderSpi reader;
+      try {
+        reader = plugin.allocateReader(cardResourceProfileName);
+      } catch (AllocationRejectedException e) {
+        if (loadTest.isMeasuring()) {
+          rejectionCount++;
+          starvationCount++;
+        }
+        continue;
+      } catch (PluginIOException e) {
+        if (loadTest.isMeasuring()) {
+          failureCount++;
+          starvationCount++;
+        }
+        continue;
+      }
+      long latencyNanos = System.nanoTime() - startNanos;
+      boolean measured = loadTest.isMeasuring();
+      try {
+        if (measured) {
+          allocationLatencies.record(latencyNanos);
+          allocationCount++;
+          if (latencyNanos > loadTest.getStarvationThresholdNanos()) {
+            starvationCount++;
+          }
+          loadTest.onAllocation();
+        }
+        for (int i = 0; i < loadTest.getApdusPerAllocation(); i++) {
+          try {
+            reader.transmitApdu(APDU_COMMAND);
+          } catch (ReaderIOException e) {
+            onApduError(measured);
+          } catch (CardIOException e) {
+            onApduError(measured);
+          }
+        }
+        SimulatedCardResourceService.sleep(loadTest.getHoldTime().nextLatencyNanos(random));
+      } finally {
+        plugin.releaseReader(reader);
+      }
+    }
+  }
+
+  /** Counts a failed APDU exchange if performed during the measurement phase. */
+  private void onApduError(boolean measured) {
+    if (measured) {
+      apduErrorCount++;
+    }
+  }
+
+  /**
+   * @return The latencies of the successful allocations.
+   * @since 2.1.0
+   */
+  LoadTestHistogram getAllocationLatencies() {
+    return allocationLatencies;
+  }
+
+  /**
+   * @return The number of successful allocations.
+   * @since 2.1.0
+   */
+  long getAllocationCount() {
+    return allocationCount;
+  }
+
+  /**
+   * @return The number of allocations failed for lack of card resource.
+   * @since 2.1.0
+   */
+  long getFailureCount() {
+    return failureCount;
+  }
+
+  /**
+   * @return The number of allocations rejected by the concurrency limits of the plugin.
+   * @since 2.1.0
+   */
+  long getRejectionCount() {
+    return rejectionCount;
+  }
+
+  /**
+   * @return The number of allocations failed, rejected or served after the starvation threshold.
+   * @since 2.1.0
+   */
+  long getStarvationCount() {
+    return starvationCount;
+  }
+
+  /**
+   * @return The number of failed APDU exchanges.
+   * @since 2.1.0
+   */
+  long getApduErrorCount() {
+    return apduErrorCount;
+  }
+}
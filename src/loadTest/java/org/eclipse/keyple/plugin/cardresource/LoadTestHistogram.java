@@ -0,0 +1,131 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Log-linear histogram of the allocation latencies of a load test, with a relative precision of
+ * about 3% up to the highest latencies.
+ *
+ * <p>Each power of two range of microseconds is divided into 32 linear sub-buckets. The recording
+ * is not thread-safe: each caller records into its own histogram, the histograms being merged at
+ * the end of the test.
+ *
+ * @since 2.1.0
+ */
+final class LoadTestHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  private final long[] counts = new long[BUCKET_COUNT];
+  private long count;
+  private long totalMicros;
+  private long maxMicros;
+
+  /**
+   * Records a latency.
+   *
+   * @param latencyNanos The latency in nanoseconds.
+   * @since 2.1.0
+   */
+  void record(long latencyNanos) {
+    long micros = Math.max(latencyNanos, 0) / 1000;
+    counts[indexOf(micros)]++;
+    count++;
+    totalMicros += micros;
+    if (micros > maxMicros) {
+      maxMicros = micros;
+    }
+  }
+
+  /**
+   * Adds the recordings of another histogram to this one.
+   *
+   * @param histogram The histogram to merge.
+   * @since 2.1.0
+   */
+  void add(LoadTestHistogram histogram) {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] += histogram.counts[i];
+    }
+    count += histogram.count;
+    totalMicros += histogram.totalMicros;
+    maxMicros = Math.max(maxMicros, histogram.maxMicros);
+  }
+
+  /**
+   * @return The number of recorded latencies.
+   * @since 2.1.0
+   */
+  long getCount() {
+    return count;
+  }
+
+  /**
+   * @return The mean latency in microseconds, 0 if no latency has been recorded.
+   * @since 2.1.0
+   */
+  double getMeanMicros() {
+    return count == 0 ? 0 : (double) totalMicros / count;
+  }
+
+  /**
+   * @return The highest latency in microseconds.
+   * @since 2.1.0
+   */
+  long getMaxMicros() {
+    return maxMicros;
+  }
+
+  /**
+   * Returns the latency under which the provided percentage of the latencies fall.
+   *
+   * @param percentile The percentile in range [0..100].
+   * @return The upper bound in microseconds of the bucket of the percentile, at most the highest
+   *     latency.
+   * @since 2.1.0
+   */
+  long getPercentileMicros(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max((long) Math.ceil(percentile / 100 * count), 1);
+    long cumulatedCount = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      cumulatedCount += counts[i];
+      if (cumulatedCount >= rank) {
+        return Math.min(upperBoundOf(i), maxMicros);
+      }
+    }
+    return maxMicros;
+  }
+
+  /** Returns the index of the bucket of a value. */
+  private static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+  }
+
+  /** Returns the highest value of a bucket. */
+  private static long upperBoundOf(int index) {
+    if (index < 2 * SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = (index >>> SUB_BUCKET_BITS) - 1;
+    long subBucket = (index & (SUB_BUCKET_COUNT - 1)) + SUB_BUCKET_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,62 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Event published by the plugin when a reader is allocated, released or reclaimed, or when an
+ * allocation fails.
+ *
+ * @since 2.1.0
+ */
+public interface AllocationEvent {
+
+  /**
+   * @return The type of the event.
+   * @since 2.1.0
+   */
+  AllocationEventType getType();
+
+  /**
+   * @return The name of the card resource profile concerned by the event, or the reference of the
+   *     virtual reader group for a failed allocation of a group.
+   * @since 2.1.0
+   */
+  String getCardResourceProfileName();
+
+  /**
+   * @return The name of the reader concerned by the event, null for the {@link
+   *     AllocationEventType#EXHAUSTION} and {@link AllocationEventType#FAILURE} events.
+   * @since 2.1.0
+   */
+  String getReaderName();
+
+  /**
+   * @return The cause of the failed allocation for the {@link AllocationEventType#EXHAUSTION} and
+   *     {@link AllocationEventType#FAILURE} events, null otherwise.
+   * @since 2.1.0
+   */
+  AllocationFailureCause getFailureCause();
+
+  /**
+   * @return The wait time of the allocation for the {@link AllocationEventType#ALLOCATION} events,
+   *     the hold time of the reader for the {@link AllocationEventType#RELEASE} and {@link
+   *     AllocationEventType#RECLAMATION} events, 0 otherwise, in nanoseconds.
+   * @since 2.1.0
+   */
+  long getDurationNanos();
+
+  /**
+   * @return The time at which the event occurred, in milliseconds since the epoch.
+   * @since 2.1.0
+   */
+  long getTimestampMillis();
+}
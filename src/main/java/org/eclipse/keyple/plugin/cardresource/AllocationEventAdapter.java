@@ -0,0 +1,111 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Adapter of {@link AllocationEvent}.
+ *
+ * @since 2.1.0
+ */
+final class AllocationEventAdapter implements AllocationEvent {
+
+  private final AllocationEventType type;
+  private final String cardResourceProfileName;
+  private final String readerName;
+  private final AllocationFailureCause failureCause;
+  private final long durationNanos;
+  private final long timestampMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param type The type of the event.
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param readerName The name of the reader, null if none.
+   * @param failureCause The cause of the failed allocation, null if none.
+   * @param durationNanos The wait or hold time, 0 if none.
+   * @since 2.1.0
+   */
+  AllocationEventAdapter(
+      AllocationEventType type,
+      String cardResourceProfileName,
+      String readerName,
+      AllocationFailureCause failureCause,
+      long durationNanos) {
+    this.type = type;
+    this.cardResourceProfileName = cardResourceProfileName;
+    this.readerName = readerName;
+    this.failureCause = failureCause;
+    this.durationNanos = durationNanos;
+    this.timestampMillis = System.currentTimeMillis();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public AllocationEventType getType() {
+    return type;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getCardResourceProfileName() {
+    return cardResourceProfileName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getReaderName() {
+    return readerName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public AllocationFailureCause getFailureCause() {
+    return failureCause;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getTimestampMillis() {
+    return timestampMillis;
+  }
+}
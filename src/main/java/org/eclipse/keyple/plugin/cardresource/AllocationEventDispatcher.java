@@ -0,0 +1,224 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dispatcher of the allocation events to the {@link AllocationEventListener}s.
+ *
+ * <p>The events are published into a lock-free bounded ring buffer (multiple producers, single
+ * consumer) and delivered to the listeners by a dedicated daemon thread, started when the first
+ * listener is added. Publishing never blocks: when the buffer is full, the event is dropped and
+ * counted. Nothing is allocated while no listener is registered.
+ *
+ * @since 2.1.0
+ */
+final class AllocationEventDispatcher {
+
+  private static final Logger logger = LoggerFactory.getLogger(AllocationEventDispatcher.class);
+
+  private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final List<AllocationEventListener> listeners =
+      new CopyOnWriteArrayList<AllocationEventListener>();
+  private final AtomicReferenceArray<AllocationEvent> slots;
+  private final AtomicLongArray sequences;
+  private final int mask;
+  private final AtomicLong producerIndex = new AtomicLong();
+  private final LongAdder droppedEventCount = new LongAdder();
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final Thread dispatchThread;
+  private volatile boolean running = true;
+  private volatile boolean consumerParked;
+  private long consumerIndex; // accessed by the dispatch thread only
+
+  /**
+   * Constructor.
+   *
+   * @param pluginName The name of the plugin.
+   * @param capacity The minimum capacity of the ring buffer, rounded up to a power of two.
+   * @since 2.1.0
+   */
+  AllocationEventDispatcher(String pluginName, int capacity) {
+    int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+    this.slots = new AtomicReferenceArray<AllocationEvent>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (int i = 0; i < size; i++) {
+      sequences.set(i, i);
+    }
+    this.mask = size - 1;
+    this.dispatchThread =
+        new DaemonThreadFactory(pluginName, "event-dispatcher")
+            .newThread(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    dispatchEvents();
+                  }
+                });
+  }
+
+  /**
+   * Adds a listener, starting the dispatch thread if needed.
+   *
+   * @param listener The listener.
+   * @since 2.1.0
+   */
+  void addListener(AllocationEventListener listener) {
+    listeners.add(listener);
+    if (started.compareAndSet(false, true)) {
+      dispatchThread.start();
+    }
+  }
+
+  /**
+   * Removes a listener.
+   *
+   * @param listener The listener.
+   * @since 2.1.0
+   */
+  void removeListener(AllocationEventListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * @return The number of events dropped because the ring buffer was full.
+   * @since 2.1.0
+   */
+  long getDroppedEventCount() {
+    return droppedEventCount.sum();
+  }
+
+  /**
+   * Publishes an event without blocking, unless no listener is registered.
+   *
+   * @param type The type of the event.
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param readerName The name of the reader, null if none.
+   * @param failureCause The cause of the failed allocation, null if none.
+   * @param durationNanos The wait or hold time, 0 if none.
+   * @since 2.1.0
+   */
+  void publish(
+      AllocationEventType type,
+      String cardResourceProfileName,
+      String readerName,
+      AllocationFailureCause failureCause,
+      long durationNanos) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    if (!offer(
+        new AllocationEventAdapter(
+            type, cardResourceProfileName, readerName, failureCause, durationNanos))) {
+      droppedEventCount.increment();
+      return;
+    }
+    if (consumerParked) {
+      LockSupport.unpark(dispatchThread);
+    }
+  }
+
+  /**
+   * Stops the dispatch thread, the events not yet delivered being discarded.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    running = false;
+    LockSupport.unpark(dispatchThread);
+  }
+
+  /**
+   * Claims a slot by advancing the producer index, then publishes the event by releasing the
+   * sequence of the slot to the consumer.
+   *
+   * @return False if the ring buffer is full.
+   */
+  private boolean offer(AllocationEvent event) {
+    long index = producerIndex.get();
+    while (true) {
+      int slot = (int) (index & mask);
+      long gap = sequences.get(slot) - index;
+      if (gap == 0) {
+        if (producerIndex.compareAndSet(index, index + 1)) {
+          slots.lazySet(slot, event);
+          sequences.set(slot, index + 1);
+          return true;
+        }
+        index = producerIndex.get();
+      } else if (gap < 0) {
+        // the slot has not been consumed yet since the previous lap
+        return false;
+      } else {
+        index = producerIndex.get();
+      }
+    }
+  }
+
+  /**
+   * Takes the next published event and frees its slot for the next lap.
+   *
+   * @return Null if the ring buffer is empty.
+   */
+  private AllocationEvent poll() {
+    int slot = (int) (consumerIndex & mask);
+    if (sequences.get(slot) != consumerIndex + 1) {
+      return null;
+    }
+    AllocationEvent event = slots.get(slot);
+    slots.lazySet(slot, null);
+    sequences.set(slot, consumerIndex + mask + 1);
+    consumerIndex++;
+    return event;
+  }
+
+  /** Delivers the events to the listeners until the dispatcher is closed. */
+  private void dispatchEvents() {
+    while (running) {
+      AllocationEvent event = poll();
+      if (event == null) {
+        consumerParked = true;
+        // checks again to not miss an event published before the flag was visible
+        event = poll();
+        if (event == null) {
+          LockSupport.parkNanos(this, MAX_PARK_NANOS);
+          consumerParked = false;
+          continue;
+        }
+        consumerParked = false;
+      }
+      for (AllocationEventListener listener : listeners) {
+        try {
+          listener.onAllocationEvent(event);
+        } catch (RuntimeException e) {
+          logger.error(
+              "Allocation event listener {} failed: {}",
+              listener.getClass().getName(),
+              e.getMessage(),
+              e);
+        }
+      }
+    }
+  }
+}
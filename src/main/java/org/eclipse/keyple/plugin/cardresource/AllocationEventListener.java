@@ -0,0 +1,33 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Listener of the allocation events of the plugin.
+ *
+ * <p>The events are delivered sequentially, in the order in which they were published, by a
+ * dedicated thread of the plugin. A slow listener delays the delivery of the next events but never
+ * the allocations and releases themselves; when the event buffer is full, the new events are
+ * dropped and counted (see {@link CardResourcePlugin#getDroppedAllocationEventCount()}).
+ *
+ * @since 2.1.0
+ */
+public interface AllocationEventListener {
+
+  /**
+   * Invoked when an allocation event is delivered.
+   *
+   * @param event The event.
+   * @since 2.1.0
+   */
+  void onAllocationEvent(AllocationEvent event);
+}
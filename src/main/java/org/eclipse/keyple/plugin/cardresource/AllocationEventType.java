@@ -0,0 +1,57 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Types of the events published by the plugin to the {@link AllocationEventListener}s.
+ *
+ * @since 2.1.0
+ */
+public enum AllocationEventType {
+
+  /**
+   * A reader has been allocated.
+   *
+   * @since 2.1.0
+   */
+  ALLOCATION,
+
+  /**
+   * A reader has been released by its holder.
+   *
+   * @since 2.1.0
+   */
+  RELEASE,
+
+  /**
+   * The card resource of a reader has been reclaimed by the plugin because its maximum hold time or
+   * idle timeout has expired.
+   *
+   * @since 2.1.0
+   */
+  RECLAMATION,
+
+  /**
+   * No card resource was available for the requested profile, possibly after the maximum wait
+   * time.
+   *
+   * @since 2.1.0
+   */
+  EXHAUSTION,
+
+  /**
+   * An allocation failed for a cause other than the exhaustion of the card resources.
+   *
+   * @since 2.1.0
+   */
+  FAILURE
+}
@@ -0,0 +1,40 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the default executor of the asynchronous allocations.
+ *
+ * <p>This class has a Java 21 variant in the multi-release JAR running each allocation in its own
+ * virtual thread, so that the waits for a card resource never block a platform thread.
+ *
+ * @since 2.1.0
+ */
+final class AllocationExecutors {
+
+  private AllocationExecutors() {}
+
+  /**
+   * Creates the default executor of the asynchronous allocations, running the allocations in a
+   * cached pool of daemon threads.
+   *
+   * @param pluginName The name of the plugin.
+   * @return A new executor.
+   * @since 2.1.0
+   */
+  static ExecutorService newDefaultAllocationExecutor(String pluginName) {
+    return Executors.newCachedThreadPool(new DaemonThreadFactory(pluginName, "allocator"));
+  }
+}
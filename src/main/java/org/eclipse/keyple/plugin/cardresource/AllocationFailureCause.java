@@ -0,0 +1,70 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Causes of a failed reader allocation.
+ *
+ * @since 2.1.0
+ */
+public enum AllocationFailureCause {
+
+  /**
+   * The requested profile is not one of the profiles of the plugin.
+   *
+   * @since 2.1.0
+   */
+  UNAUTHORIZED_PROFILE,
+
+  /**
+   * The requested profile is not configured in the Card Resource Service.
+   *
+   * @since 2.1.0
+   */
+  NOT_CONFIGURED_PROFILE,
+
+  /**
+   * The Card Resource Service is not started.
+   *
+   * @since 2.1.0
+   */
+  SERVICE_NOT_STARTED,
+
+  /**
+   * No card resource was available for the requested profile, possibly after the maximum wait
+   * time.
+   *
+   * @since 2.1.0
+   */
+  NO_CARD_RESOURCE_AVAILABLE,
+
+  /**
+   * The calling thread was interrupted while waiting for a card resource.
+   *
+   * @since 2.1.0
+   */
+  INTERRUPTED,
+
+  /**
+   * The allocation was rejected because the admission limits of the profile were reached.
+   *
+   * @since 2.1.0
+   */
+  REJECTED,
+
+  /**
+   * The plugin was unregistered while the allocation was waiting for a card resource.
+   *
+   * @since 2.1.0
+   */
+  PLUGIN_UNREGISTERED
+}
@@ -0,0 +1,45 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Priority classes of the reader allocations, from the highest to the lowest.
+ *
+ * <p>The waiting allocations of a higher class are always served before the ones of a lower class,
+ * the allocations of a same class being served in their arrival order.
+ *
+ * @since 2.1.0
+ */
+public enum AllocationPriority {
+
+  /**
+   * Latency-critical allocations (e.g. online validation at the gate).
+   *
+   * @since 2.1.0
+   */
+  HIGH,
+
+  /**
+   * Regular allocations, the priority of the allocations performed without priority.
+   *
+   * @since 2.1.0
+   */
+  NORMAL,
+
+  /**
+   * Background allocations (e.g. batch processing), served only when no allocation of a higher
+   * class is waiting.
+   *
+   * @since 2.1.0
+   */
+  LOW
+}
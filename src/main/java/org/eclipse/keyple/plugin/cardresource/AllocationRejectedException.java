@@ -0,0 +1,39 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import org.eclipse.keyple.core.plugin.PluginIOException;
+
+/**
+ * Exception raised when a reader allocation is rejected immediately because the admission limits
+ * of the card resource profile are reached.
+ *
+ * <p>Unlike the other allocation failures, the rejection does not depend on the availability of
+ * the card resources but on the current load, so the request may be retried later or redirected to
+ * another node.
+ *
+ * @see CardResourcePluginFactoryBuilder.Builder#setMaxConcurrentAllocations(String, int)
+ * @see CardResourcePluginFactoryBuilder.Builder#setMaxWaiters(String, int)
+ * @since 2.1.0
+ */
+public class AllocationRejectedException extends PluginIOException {
+
+  /**
+   * Constructor.
+   *
+   * @param message The message to identify the exception context.
+   * @since 2.1.0
+   */
+  public AllocationRejectedException(String message) {
+    super(message);
+  }
+}
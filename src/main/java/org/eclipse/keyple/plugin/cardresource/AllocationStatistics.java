@@ -0,0 +1,70 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Live statistics of the reader allocations performed by the plugin.
+ *
+ * <p>The wait time is measured from the allocation request to the obtaining of the card resource,
+ * including the time spent waiting in the queue of the profile. The hold time is measured from the
+ * allocation to the release of the reader.
+ *
+ * @since 2.1.0
+ */
+public interface AllocationStatistics {
+
+  /**
+   * @return The number of successful allocations.
+   * @since 2.1.0
+   */
+  long getAllocationCount();
+
+  /**
+   * @return The number of released readers.
+   * @since 2.1.0
+   */
+  long getReleaseCount();
+
+  /**
+   * @return The number of readers whose card resource has been reclaimed by the plugin because
+   *     their maximum hold time or idle timeout has expired.
+   * @since 2.1.0
+   */
+  long getReclamationCount();
+
+  /**
+   * @return The number of times a card resource has been quarantined by the plugin after too many
+   *     consecutive failed or slow APDU exchanges.
+   * @since 2.1.0
+   */
+  long getQuarantineCount();
+
+  /**
+   * @param cause The cause of failure.
+   * @return The number of failed allocations for the provided cause.
+   * @throws IllegalArgumentException If the cause is null.
+   * @since 2.1.0
+   */
+  long getFailureCount(AllocationFailureCause cause);
+
+  /**
+   * @return The histogram of the wait times of the successful allocations.
+   * @since 2.1.0
+   */
+  DurationHistogram getWaitTimeHistogram();
+
+  /**
+   * @return The histogram of the hold times of the released readers.
+   * @since 2.1.0
+   */
+  DurationHistogram getHoldTimeHistogram();
+}
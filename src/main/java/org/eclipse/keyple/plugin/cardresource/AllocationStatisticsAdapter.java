@@ -0,0 +1,184 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Adapter of {@link AllocationStatistics}.
+ *
+ * <p>Each recording is also forwarded to the parent statistics, if any, in order to maintain the
+ * plugin-wide statistics without any aggregation at reading time.
+ *
+ * @since 2.1.0
+ */
+final class AllocationStatisticsAdapter implements AllocationStatistics {
+
+  private final AllocationStatisticsAdapter parent;
+  private final LongAdder allocationCount = new LongAdder();
+  private final LongAdder releaseCount = new LongAdder();
+  private final LongAdder reclamationCount = new LongAdder();
+  private final LongAdder quarantineCount = new LongAdder();
+  private final LongAdder[] failureCounts = new LongAdder[AllocationFailureCause.values().length];
+  private final DurationHistogramAdapter waitTimeHistogram = new DurationHistogramAdapter();
+  private final DurationHistogramAdapter holdTimeHistogram = new DurationHistogramAdapter();
+
+  /**
+   * Constructor.
+   *
+   * @param parent The statistics to which the recordings are forwarded (optional).
+   * @since 2.1.0
+   */
+  AllocationStatisticsAdapter(AllocationStatisticsAdapter parent) {
+    this.parent = parent;
+    for (int i = 0; i < failureCounts.length; i++) {
+      failureCounts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a successful allocation.
+   *
+   * @param waitTimeNanos The wait time in nanoseconds.
+   * @since 2.1.0
+   */
+  void recordAllocation(long waitTimeNanos) {
+    allocationCount.increment();
+    waitTimeHistogram.record(waitTimeNanos);
+    if (parent != null) {
+      parent.recordAllocation(waitTimeNanos);
+    }
+  }
+
+  /**
+   * Records a failed allocation.
+   *
+   * @param cause The cause of failure.
+   * @since 2.1.0
+   */
+  void recordFailure(AllocationFailureCause cause) {
+    failureCounts[cause.ordinal()].increment();
+    if (parent != null) {
+      parent.recordFailure(cause);
+    }
+  }
+
+  /**
+   * Records a release.
+   *
+   * @param holdTimeNanos The hold time in nanoseconds.
+   * @since 2.1.0
+   */
+  void recordRelease(long holdTimeNanos) {
+    releaseCount.increment();
+    holdTimeHistogram.record(holdTimeNanos);
+    if (parent != null) {
+      parent.recordRelease(holdTimeNanos);
+    }
+  }
+
+  /**
+   * Records the reclamation of an expired reader.
+   *
+   * @since 2.1.0
+   */
+  void recordReclamation() {
+    reclamationCount.increment();
+    if (parent != null) {
+      parent.recordReclamation();
+    }
+  }
+
+  /**
+   * Records the quarantine of a card resource.
+   *
+   * @since 2.1.0
+   */
+  void recordQuarantine() {
+    quarantineCount.increment();
+    if (parent != null) {
+      parent.recordQuarantine();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getAllocationCount() {
+    return allocationCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getReleaseCount() {
+    return releaseCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getReclamationCount() {
+    return reclamationCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getQuarantineCount() {
+    return quarantineCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getFailureCount(AllocationFailureCause cause) {
+    Assert.getInstance().notNull(cause, "cause");
+    return failureCounts[cause.ordinal()].sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public DurationHistogram getWaitTimeHistogram() {
+    return waitTimeHistogram;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public DurationHistogram getHoldTimeHistogram() {
+    return holdTimeHistogram;
+  }
+}
@@ -0,0 +1,77 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rules and bounds of the APDU response caches of the readers.
+ *
+ * <p>An APDU command is cacheable if it starts with one of the configured prefixes.
+ *
+ * @since 2.1.0
+ */
+final class ApduCachePolicy {
+
+  private final List<byte[]> cacheableApduPrefixes;
+  private final int capacity;
+  private final long timeToLiveNanos;
+
+  /**
+   * Constructor.
+   *
+   * @param cacheableApduPrefixes The prefixes of the cacheable APDU commands.
+   * @param capacity The maximum number of responses cached per reader.
+   * @param timeToLiveNanos The time to live of a cached response in nanoseconds.
+   * @since 2.1.0
+   */
+  ApduCachePolicy(List<byte[]> cacheableApduPrefixes, int capacity, long timeToLiveNanos) {
+    this.cacheableApduPrefixes = new ArrayList<byte[]>(cacheableApduPrefixes);
+    this.capacity = capacity;
+    this.timeToLiveNanos = timeToLiveNanos;
+  }
+
+  /**
+   * @param apduCommand The APDU command.
+   * @return True if the response to the provided command may be cached.
+   * @since 2.1.0
+   */
+  boolean isCacheable(byte[] apduCommand) {
+    for (byte[] prefix : cacheableApduPrefixes) {
+      if (startsWith(apduCommand, prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return A new empty cache bounded according to this policy.
+   * @since 2.1.0
+   */
+  ApduResponseCache newCache() {
+    return new ApduResponseCache(capacity, timeToLiveNanos);
+  }
+
+  private static boolean startsWith(byte[] apduCommand, byte[] prefix) {
+    if (apduCommand.length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (apduCommand[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
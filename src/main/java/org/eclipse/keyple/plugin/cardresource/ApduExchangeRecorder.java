@@ -0,0 +1,211 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the APDU exchanges of the readers into an append-only binary log mapped in memory.
+ *
+ * <p>The log starts with a header (magic number, format version), followed by the records:
+ *
+ * <ul>
+ *   <li>record length (4 bytes), written first so that the reserved space of a record can always
+ *       be skipped,
+ *   <li>commit marker (4 bytes), {@link #COMMITTED} once the record is complete, written last so
+ *       that an incomplete record is recognized and skipped,
+ *   <li>timestamp of the exchange in nanoseconds since the epoch (8 bytes),
+ *   <li>latency of the exchange in nanoseconds (8 bytes),
+ *   <li>length (2 bytes) and UTF-8 bytes of the name of the reader,
+ *   <li>length (4 bytes) and bytes of the APDU command,
+ *   <li>length (4 bytes) and bytes of the APDU response, the length being {@link
+ *       #READER_IO_ERROR} or {@link #CARD_IO_ERROR} (without bytes) for a failed exchange.
+ * </ul>
+ *
+ * <p>The space of a record is reserved with a CAS on the append position, then written with
+ * absolute puts into the mapped buffer, so that appending never blocks and never allocates. The
+ * records may therefore complete out of order. The records which do not fit in the remaining space
+ * are dropped and counted. The end of the log is marked by a record length of 0.
+ *
+ * @since 2.1.0
+ */
+final class ApduExchangeRecorder {
+
+  /** "KAPL" */
+  static final int MAGIC = 0x4B41504C;
+
+  static final int VERSION = 2;
+  static final int HEADER_LENGTH = 8;
+  static final int READER_IO_ERROR = -1;
+  static final int CARD_IO_ERROR = -2;
+
+  /** "DONE" */
+  static final int COMMITTED = 0x444F4E45;
+
+  static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private static final int RECORD_HEADER_LENGTH = 4 + 4 + 8 + 8 + 2 + 4 + 4;
+
+  private final RandomAccessFile file;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final AtomicInteger appendPosition = new AtomicInteger(HEADER_LENGTH);
+  private final AtomicInteger writerCount = new AtomicInteger();
+  private final LongAdder droppedRecordCount = new LongAdder();
+  private final long originEpochNanos;
+  private final long originNanos;
+  private volatile boolean closed;
+
+  /**
+   * Creates the log file, replacing any existing file, and maps it in memory.
+   *
+   * @param filePath The path of the log file.
+   * @param capacity The size of the log file in bytes.
+   * @throws IOException If the file cannot be created or mapped.
+   * @since 2.1.0
+   */
+  ApduExchangeRecorder(String filePath, int capacity) throws IOException {
+    this.capacity = capacity;
+    this.file = new RandomAccessFile(filePath, "rw");
+    try {
+      file.setLength(0);
+      file.setLength(capacity);
+      buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    } catch (IOException e) {
+      file.close();
+      throw e;
+    }
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, VERSION);
+    originEpochNanos = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+    originNanos = System.nanoTime();
+  }
+
+  /**
+   * Encodes a reader name once for all its records.
+   *
+   * @param readerName The name of the reader.
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  static byte[] encodeReaderName(String readerName) {
+    return readerName.getBytes(UTF_8);
+  }
+
+  /**
+   * Appends a record to the log, or drops it if the log is full or closed.
+   *
+   * @param readerName The encoded name of the reader.
+   * @param startNanos The start time of the exchange, as provided by {@link System#nanoTime()}.
+   * @param latencyNanos The latency of the exchange.
+   * @param apduCommand The APDU command.
+   * @param apduResponse The APDU response, null for a failed exchange.
+   * @param errorCode {@link #READER_IO_ERROR} or {@link #CARD_IO_ERROR} for a failed exchange.
+   * @since 2.1.0
+   */
+  void record(
+      byte[] readerName,
+      long startNanos,
+      long latencyNanos,
+      byte[] apduCommand,
+      byte[] apduResponse,
+      int errorCode) {
+    int length =
+        RECORD_HEADER_LENGTH
+            + readerName.length
+            + apduCommand.length
+            + (apduResponse != null ? apduResponse.length : 0);
+    // registered before checking the closing, so that close() waits for the record
+    writerCount.incrementAndGet();
+    try {
+      int offset;
+      do {
+        offset = appendPosition.get();
+        // keeps room for the end marker
+        if (closed || offset + length + 4 > capacity) {
+          droppedRecordCount.increment();
+          return;
+        }
+      } while (!appendPosition.compareAndSet(offset, offset + length));
+      buffer.putInt(offset, length);
+      write(offset + 8, readerName, startNanos, latencyNanos, apduCommand, apduResponse, errorCode);
+      buffer.putInt(offset + 4, COMMITTED);
+    } finally {
+      writerCount.decrementAndGet();
+    }
+  }
+
+  /** Writes the content of a record, after its length and commit marker. */
+  private void write(
+      int position,
+      byte[] readerName,
+      long startNanos,
+      long latencyNanos,
+      byte[] apduCommand,
+      byte[] apduResponse,
+      int errorCode) {
+    buffer.putLong(position, originEpochNanos + (startNanos - originNanos));
+    buffer.putLong(position + 8, latencyNanos);
+    buffer.putShort(position + 16, (short) readerName.length);
+    position = putBytes(position + 18, readerName);
+    buffer.putInt(position, apduCommand.length);
+    position = putBytes(position + 4, apduCommand);
+    if (apduResponse != null) {
+      buffer.putInt(position, apduResponse.length);
+      putBytes(position + 4, apduResponse);
+    } else {
+      buffer.putInt(position, errorCode);
+    }
+  }
+
+  /** Writes the provided bytes at the provided position and returns the next position. */
+  private int putBytes(int position, byte[] bytes) {
+    for (byte b : bytes) {
+      buffer.put(position++, b);
+    }
+    return position;
+  }
+
+  /**
+   * @return The number of records dropped because the log was full or closed.
+   * @since 2.1.0
+   */
+  long getDroppedRecordCount() {
+    return droppedRecordCount.sum();
+  }
+
+  /**
+   * Stops the recording, waits for the records being written, and flushes the log to the storage
+   * device.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    closed = true;
+    while (writerCount.get() != 0) {
+      Thread.yield();
+    }
+    buffer.force();
+    try {
+      file.close();
+    } catch (IOException e) {
+      // ignored, the mapped content is flushed
+    }
+  }
+}
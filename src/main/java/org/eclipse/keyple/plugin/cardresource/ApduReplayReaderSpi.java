@@ -0,0 +1,271 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.HexUtil;
+
+/**
+ * {@link ReaderSpi} replaying the APDU exchanges of a reader recorded with {@link
+ * CardResourcePluginFactoryBuilder.Builder#setApduRecording(String, int)}, to reproduce a
+ * production load without the card hardware.
+ *
+ * <p>The recorded exchanges of the reader are served in their original order, the replay starting
+ * over once all of them have been served. Each transmitted command must be the recorded one, and is
+ * answered with the recorded response (or exception) after the recorded latency if the original
+ * timing is enabled.
+ *
+ * @since 2.1.0
+ */
+public final class ApduReplayReaderSpi implements ReaderSpi, KeypleReaderExtension {
+
+  private final String name;
+  private final boolean originalTiming;
+  private final byte[][] apduCommands;
+  private final byte[][] apduResponses;
+  private final int[] errorCodes;
+  private final long[] latenciesNanos;
+  private final AtomicInteger nextExchangeIndex = new AtomicInteger();
+
+  /** Constructor. */
+  private ApduReplayReaderSpi(
+      String name,
+      boolean originalTiming,
+      List<byte[]> apduCommands,
+      List<byte[]> apduResponses,
+      List<Integer> errorCodes,
+      List<Long> latenciesNanos) {
+    this.name = name;
+    this.originalTiming = originalTiming;
+    this.apduCommands = apduCommands.toArray(new byte[0][]);
+    this.apduResponses = apduResponses.toArray(new byte[0][]);
+    this.errorCodes = new int[errorCodes.size()];
+    this.latenciesNanos = new long[latenciesNanos.size()];
+    for (int i = 0; i < this.errorCodes.length; i++) {
+      this.errorCodes[i] = errorCodes.get(i);
+      this.latenciesNanos[i] = latenciesNanos.get(i);
+    }
+  }
+
+  /**
+   * Loads the recorded exchanges of the provided reader.
+   *
+   * @param logFilePath The path of the APDU exchange log.
+   * @param readerName The name of the recorded reader, which is also the name of the replay
+   *     reader.
+   * @param originalTiming True to answer each command after its recorded latency, false to answer
+   *     immediately.
+   * @return A new instance.
+   * @throws IllegalArgumentException If a parameter is null or empty, or if the log contains no
+   *     exchange of the reader.
+   * @throws IOException If the log cannot be read or is not an APDU exchange log.
+   * @since 2.1.0
+   */
+  public static ApduReplayReaderSpi load(
+      String logFilePath, String readerName, boolean originalTiming) throws IOException {
+    Assert.getInstance().notEmpty(logFilePath, "logFilePath").notEmpty(readerName, "readerName");
+    byte[] encodedReaderName = ApduExchangeRecorder.encodeReaderName(readerName);
+    List<byte[]> apduCommands = new ArrayList<byte[]>();
+    List<byte[]> apduResponses = new ArrayList<byte[]>();
+    List<Integer> errorCodes = new ArrayList<Integer>();
+    List<Long> latenciesNanos = new ArrayList<Long>();
+    RandomAccessFile file = new RandomAccessFile(logFilePath, "r");
+    try {
+      ByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+      if (buffer.remaining() < ApduExchangeRecorder.HEADER_LENGTH
+          || buffer.getInt() != ApduExchangeRecorder.MAGIC
+          || buffer.getInt() != ApduExchangeRecorder.VERSION) {
+        throw new IOException("Not an APDU exchange log: " + logFilePath);
+      }
+      int recordLength;
+      while (buffer.remaining() >= 8 && (recordLength = buffer.getInt()) > 0) {
+        int nextRecordPosition = buffer.position() - 4 + recordLength;
+        if (nextRecordPosition > buffer.limit()) {
+          throw new IOException("Corrupted APDU exchange log: " + logFilePath);
+        }
+        if (buffer.getInt() != ApduExchangeRecorder.COMMITTED) {
+          // record not completed before the recording stopped
+          buffer.position(nextRecordPosition);
+          continue;
+        }
+        buffer.getLong(); // timestamp
+        long latencyNanos = buffer.getLong();
+        byte[] recordedReaderName = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(recordedReaderName);
+        if (Arrays.equals(recordedReaderName, encodedReaderName)) {
+          byte[] apduCommand = new byte[buffer.getInt()];
+          buffer.get(apduCommand);
+          int responseLength = buffer.getInt();
+          byte[] apduResponse = null;
+          if (responseLength >= 0) {
+            apduResponse = new byte[responseLength];
+            buffer.get(apduResponse);
+          }
+          apduCommands.add(apduCommand);
+          apduResponses.add(apduResponse);
+          errorCodes.add(responseLength >= 0 ? 0 : responseLength);
+          latenciesNanos.add(latencyNanos);
+        }
+        buffer.position(nextRecordPosition);
+      }
+    } finally {
+      file.close();
+    }
+    Assert.getInstance().isTrue(!apduCommands.isEmpty(), "readerName");
+    return new ApduReplayReaderSpi(
+        readerName, originalTiming, apduCommands, apduResponses, errorCodes, latenciesNanos);
+  }
+
+  /**
+   * @return The number of recorded exchanges of the reader.
+   * @since 2.1.0
+   */
+  public int getExchangeCount() {
+    return apduCommands.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void openPhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void closePhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isPhysicalChannelOpen() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean checkCardPresence() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The power-on data is not recorded.
+   *
+   * @return Null.
+   * @since 2.1.0
+   */
+  @Override
+  public String getPowerOnData() {
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Serves the next recorded exchange.
+   *
+   * @throws CardIOException If the command is not the recorded one, or if the recorded exchange
+   *     failed with a card error.
+   * @throws ReaderIOException If the recorded exchange failed with a reader error.
+   * @since 2.1.0
+   */
+  @Override
+  public byte[] transmitApdu(byte[] apduIn) throws ReaderIOException, CardIOException {
+    int index = nextExchangeIndex.getAndIncrement() % apduCommands.length;
+    if (index < 0) {
+      index += apduCommands.length;
+    }
+    if (!Arrays.equals(apduIn, apduCommands[index])) {
+      throw new CardIOException(
+          "Unexpected APDU command "
+              + HexUtil.toHex(apduIn)
+              + ", recorded command #"
+              + index
+              + " is "
+              + HexUtil.toHex(apduCommands[index]));
+    }
+    if (originalTiming) {
+      long deadlineNanos = System.nanoTime() + latenciesNanos[index];
+      long remainingNanos;
+      while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(remainingNanos);
+      }
+    }
+    if (errorCodes[index] == ApduExchangeRecorder.READER_IO_ERROR) {
+      throw new ReaderIOException("Recorded reader error");
+    } else if (errorCodes[index] == ApduExchangeRecorder.CARD_IO_ERROR) {
+      throw new CardIOException("Recorded card error");
+    }
+    return apduResponses[index].clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isContactless() {
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void onUnregister() {
+    // NOP
+  }
+}
@@ -0,0 +1,150 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded LRU cache of the APDU responses of a reader, indexed by command bytes, whose entries
+ * expire after a fixed time to live.
+ *
+ * @since 2.1.0
+ */
+final class ApduResponseCache {
+
+  private final long timeToLiveNanos;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<CommandKey, CachedResponse> responses;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity The maximum number of cached responses, the least recently used being evicted
+   *     first.
+   * @param timeToLiveNanos The time to live of a cached response in nanoseconds.
+   * @since 2.1.0
+   */
+  ApduResponseCache(final int capacity, long timeToLiveNanos) {
+    this.timeToLiveNanos = timeToLiveNanos;
+    this.responses =
+        new LinkedHashMap<CommandKey, CachedResponse>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<CommandKey, CachedResponse> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * @param apduCommand The APDU command.
+   * @return The cached response to the command, null if absent or expired.
+   * @since 2.1.0
+   */
+  byte[] get(byte[] apduCommand) {
+    CommandKey key = new CommandKey(apduCommand);
+    lock.lock();
+    try {
+      CachedResponse cachedResponse = responses.get(key);
+      if (cachedResponse == null) {
+        return null;
+      }
+      if (System.nanoTime() - cachedResponse.cachingTimeNanos > timeToLiveNanos) {
+        responses.remove(key);
+        return null;
+      }
+      return cachedResponse.apduResponse;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Caches the response to the provided command.
+   *
+   * @param apduCommand The APDU command, not modified afterwards by the caller.
+   * @param apduResponse The APDU response, not modified afterwards by the caller.
+   * @since 2.1.0
+   */
+  void put(byte[] apduCommand, byte[] apduResponse) {
+    CachedResponse cachedResponse = new CachedResponse(apduResponse, System.nanoTime());
+    lock.lock();
+    try {
+      responses.put(new CommandKey(apduCommand), cachedResponse);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes all the cached responses.
+   *
+   * @since 2.1.0
+   */
+  void clear() {
+    lock.lock();
+    try {
+      responses.clear();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return The number of cached responses, including the expired ones not yet removed.
+   * @since 2.1.0
+   */
+  int size() {
+    lock.lock();
+    try {
+      return responses.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Command bytes compared by content. */
+  private static final class CommandKey {
+
+    private final byte[] apduCommand;
+    private final int hashCode;
+
+    private CommandKey(byte[] apduCommand) {
+      this.apduCommand = apduCommand;
+      this.hashCode = Arrays.hashCode(apduCommand);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CommandKey && Arrays.equals(apduCommand, ((CommandKey) o).apduCommand);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /** A cached response and the time at which it was cached. */
+  private static final class CachedResponse {
+
+    private final byte[] apduResponse;
+    private final long cachingTimeNanos;
+
+    private CachedResponse(byte[] apduResponse, long cachingTimeNanos) {
+      this.apduResponse = apduResponse;
+      this.cachingTimeNanos = cachingTimeNanos;
+    }
+  }
+}
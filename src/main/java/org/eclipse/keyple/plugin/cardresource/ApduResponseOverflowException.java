@@ -0,0 +1,50 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Exception raised when the APDU response received from the card does not fit in the remaining
+ * space of the response buffer provided to {@link CardResourceReader#transmitApdu(ByteBuffer,
+ * ByteBuffer)}.
+ *
+ * <p>The command has already been executed by the card at that time, so the response is carried
+ * by the exception instead of being lost, the response buffer being left unchanged.
+ *
+ * @since 2.1.0
+ */
+public class ApduResponseOverflowException extends BufferOverflowException {
+
+  private final byte[] apduResponse;
+
+  /**
+   * Constructor.
+   *
+   * @param apduResponse The APDU response received from the card.
+   * @since 2.1.0
+   */
+  public ApduResponseOverflowException(byte[] apduResponse) {
+    this.apduResponse = apduResponse;
+  }
+
+  /**
+   * Returns the APDU response received from the card.
+   *
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  public byte[] getApduResponse() {
+    return apduResponse;
+  }
+}
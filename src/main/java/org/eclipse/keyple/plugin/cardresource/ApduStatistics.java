@@ -0,0 +1,58 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Live statistics of the APDU exchanges performed through the readers of the plugin.
+ *
+ * @since 2.1.0
+ */
+public interface ApduStatistics {
+
+  /**
+   * @return The number of successful APDU exchanges.
+   * @since 2.1.0
+   */
+  long getExchangeCount();
+
+  /**
+   * @return The total number of bytes of the commands of the successful exchanges.
+   * @since 2.1.0
+   */
+  long getBytesSentCount();
+
+  /**
+   * @return The total number of bytes of the responses of the successful exchanges.
+   * @since 2.1.0
+   */
+  long getBytesReceivedCount();
+
+  /**
+   * @return The number of exchanges failed with a {@link
+   *     org.eclipse.keyple.core.plugin.ReaderIOException}.
+   * @since 2.1.0
+   */
+  long getReaderIOExceptionCount();
+
+  /**
+   * @return The number of exchanges failed with a {@link
+   *     org.eclipse.keyple.core.plugin.CardIOException}.
+   * @since 2.1.0
+   */
+  long getCardIOExceptionCount();
+
+  /**
+   * @return The histogram of the latencies of the successful exchanges.
+   * @since 2.1.0
+   */
+  DurationHistogram getLatencyHistogram();
+}
@@ -0,0 +1,124 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter of {@link ApduStatistics}.
+ *
+ * <p>The recording is lock-free and, once the striped counters have settled, allocation-free.
+ *
+ * @since 2.1.0
+ */
+final class ApduStatisticsAdapter implements ApduStatistics {
+
+  private final LongAdder exchangeCount = new LongAdder();
+  private final LongAdder bytesSentCount = new LongAdder();
+  private final LongAdder bytesReceivedCount = new LongAdder();
+  private final LongAdder readerIOExceptionCount = new LongAdder();
+  private final LongAdder cardIOExceptionCount = new LongAdder();
+  private final DurationHistogramAdapter latencyHistogram = new DurationHistogramAdapter();
+
+  /**
+   * Records a successful exchange.
+   *
+   * @param commandLength The length of the command.
+   * @param responseLength The length of the response.
+   * @param latencyNanos The latency in nanoseconds.
+   * @since 2.1.0
+   */
+  void recordExchange(int commandLength, int responseLength, long latencyNanos) {
+    exchangeCount.increment();
+    bytesSentCount.add(commandLength);
+    bytesReceivedCount.add(responseLength);
+    latencyHistogram.record(latencyNanos);
+  }
+
+  /**
+   * Records an exchange failed with a {@link org.eclipse.keyple.core.plugin.ReaderIOException}.
+   *
+   * @since 2.1.0
+   */
+  void recordReaderIOException() {
+    readerIOExceptionCount.increment();
+  }
+
+  /**
+   * Records an exchange failed with a {@link org.eclipse.keyple.core.plugin.CardIOException}.
+   *
+   * @since 2.1.0
+   */
+  void recordCardIOException() {
+    cardIOExceptionCount.increment();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getExchangeCount() {
+    return exchangeCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getBytesSentCount() {
+    return bytesSentCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getBytesReceivedCount() {
+    return bytesReceivedCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getReaderIOExceptionCount() {
+    return readerIOExceptionCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getCardIOExceptionCount() {
+    return cardIOExceptionCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public DurationHistogram getLatencyHistogram() {
+    return latencyHistogram;
+  }
+}
@@ -0,0 +1,89 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.keyple.core.service.resource.CardResource;
+
+/**
+ * Bounded LRU map associating an affinity key with the card resource most recently released for
+ * this key.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceAffinityMap {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Map<String, CardResource> cardResources;
+
+  /**
+   * Constructor.
+   *
+   * @param capacity The maximum number of affinity keys, the least recently used keys being evicted
+   *     first.
+   * @since 2.1.0
+   */
+  CardResourceAffinityMap(final int capacity) {
+    this.cardResources =
+        new LinkedHashMap<String, CardResource>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, CardResource> eldest) {
+            return size() > capacity;
+          }
+        };
+  }
+
+  /**
+   * @param affinityKey The affinity key.
+   * @return The card resource most recently released for the key, null if unknown.
+   * @since 2.1.0
+   */
+  CardResource get(String affinityKey) {
+    lock.lock();
+    try {
+      return cardResources.get(affinityKey);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Associates the provided card resource with the affinity key.
+   *
+   * @param affinityKey The affinity key.
+   * @param cardResource The released card resource.
+   * @since 2.1.0
+   */
+  void put(String affinityKey, CardResource cardResource) {
+    lock.lock();
+    try {
+      cardResources.put(affinityKey, cardResource);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return The number of affinity keys.
+   * @since 2.1.0
+   */
+  int size() {
+    lock.lock();
+    try {
+      return cardResources.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Broker exporting over TCP the card resource profiles and virtual reader groups of a {@link
+ * CardResourcePlugin}, so that other JVMs can allocate its readers through a remote card resource
+ * plugin (see {@link RemoteCardResourcePluginFactoryBuilder}), built by {@link
+ * CardResourceBrokerBuilder}.
+ *
+ * <p>Each client connection holds at most one allocated reader at a time. The reader allocated by
+ * a connection is released when the connection is closed, so that the card resources of a
+ * stopped or crashed client JVM are never leaked.
+ *
+ * @since 2.1.0
+ */
+public interface CardResourceBroker {
+
+  /**
+   * Starts listening for client connections.
+   *
+   * @throws IllegalStateException If the broker is already started or has been stopped.
+   * @throws java.io.UncheckedIOException If the listening socket cannot be bound.
+   * @since 2.1.0
+   */
+  void start();
+
+  /**
+   * Stops listening, closes all the client connections and releases their readers.
+   *
+   * <p>Does nothing if the broker is not started.
+   *
+   * @since 2.1.0
+   */
+  void stop();
+
+  /**
+   * @return True if the broker is started and not stopped.
+   * @since 2.1.0
+   */
+  boolean isStarted();
+
+  /**
+   * Returns the local port of the listening socket, useful when the broker has been configured to
+   * listen on an ephemeral port.
+   *
+   * @return The port number.
+   * @throws IllegalStateException If the broker is not started.
+   * @since 2.1.0
+   */
+  int getPort();
+}
@@ -0,0 +1,357 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adapter of {@link CardResourceBroker}.
+ *
+ * <p>An acceptor thread accepts the client connections, each one being served by its own thread
+ * which processes the requests in order and flushes the responses once no more pipelined request
+ * is pending.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceBrokerAdapter implements CardResourceBroker {
+
+  private static final Logger logger = LoggerFactory.getLogger(CardResourceBrokerAdapter.class);
+
+  private final CardResourcePluginAdapter pluginAdapter;
+  private final String bindAddress;
+  private final int port;
+  private final Set<Session> sessions =
+      Collections.newSetFromMap(new ConcurrentHashMap<Session, Boolean>());
+  private final Lock stateLock = new ReentrantLock();
+  private ServerSocket serverSocket;
+  private ExecutorService executor;
+  private volatile boolean started;
+  private boolean stopped;
+
+  /**
+   * Constructor.
+   *
+   * @param pluginAdapter The plugin whose readers are exported.
+   * @param bindAddress The address of the network interface to listen on.
+   * @param port The port to listen on, 0 for an ephemeral port.
+   * @since 2.1.0
+   */
+  CardResourceBrokerAdapter(CardResourcePluginAdapter pluginAdapter, String bindAddress, int port) {
+    this.pluginAdapter = pluginAdapter;
+    this.bindAddress = bindAddress;
+    this.port = port;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void start() {
+    stateLock.lock();
+    try {
+      if (started || stopped) {
+        throw new IllegalStateException("The broker is already started or has been stopped");
+      }
+      ServerSocket socket = new ServerSocket();
+      try {
+        socket.bind(new InetSocketAddress(bindAddress, port));
+      } catch (IOException e) {
+        socket.close();
+        throw e;
+      }
+      serverSocket = socket;
+      executor =
+          Executors.newCachedThreadPool(
+              new DaemonThreadFactory(pluginAdapter.getName(), "broker"));
+      executor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              acceptConnections();
+            }
+          });
+      started = true;
+      logger.info(
+          "Card resource broker of plugin '{}' listening on {}:{}",
+          pluginAdapter.getName(),
+          bindAddress,
+          serverSocket.getLocalPort());
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Unable to listen on " + bindAddress + ":" + port + ": " + e.getMessage(), e);
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void stop() {
+    stateLock.lock();
+    try {
+      if (!started) {
+        return;
+      }
+      started = false;
+      stopped = true;
+      closeQuietly(serverSocket);
+      for (Session session : sessions) {
+        session.close();
+      }
+      executor.shutdown();
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public int getPort() {
+    stateLock.lock();
+    try {
+      if (!started) {
+        throw new IllegalStateException("The broker is not started");
+      }
+      return serverSocket.getLocalPort();
+    } finally {
+      stateLock.unlock();
+    }
+  }
+
+  /** Accepts the client connections until the listening socket is closed. */
+  private void acceptConnections() {
+    while (true) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        if (started) {
+          logger.error("Card resource broker stopped accepting connections: {}", e.getMessage(), e);
+        }
+        return;
+      }
+      Session session = new Session(socket);
+      sessions.add(session);
+      try {
+        executor.execute(session);
+      } catch (RuntimeException e) {
+        // broker stopped meanwhile
+        sessions.remove(session);
+        closeQuietly(socket);
+        return;
+      }
+    }
+  }
+
+  /** Closes the provided socket, ignoring the I/O errors. */
+  private static void closeQuietly(Closeable closeable) {
+    try {
+      closeable.close();
+    } catch (IOException e) {
+      // ignored
+    }
+  }
+
+  /** Client connection, holding at most one allocated reader. */
+  private final class Session implements Runnable {
+
+    private final Socket socket;
+    private CardResourceReaderAdapter readerAdapter;
+
+    /** Constructor. */
+    private Session(Socket socket) {
+      this.socket = socket;
+    }
+
+    /** Closes the connection, which makes the serving thread release the reader and exit. */
+    private void close() {
+      closeQuietly(socket);
+    }
+
+    /** Serves the requests of the client until the connection is closed. */
+    @Override
+    public void run() {
+      try {
+        socket.setTcpNoDelay(true);
+        DataInputStream in =
+            new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        if (!acceptHandshake(in, out)) {
+          return;
+        }
+        int opcode;
+        while ((opcode = in.read()) != -1) {
+          processRequest((byte) opcode, in, out);
+          if (in.available() == 0) {
+            // answers the pipelined requests in a single write
+            out.flush();
+          }
+        }
+      } catch (EOFException e) {
+        // connection closed by the client
+      } catch (SocketException e) {
+        // connection closed by the client or by the broker
+      } catch (IOException e) {
+        logger.warn(
+            "Closing the broker connection of {}: {}",
+            socket.getRemoteSocketAddress(),
+            e.getMessage());
+      } finally {
+        releaseReader();
+        closeQuietly(socket);
+        sessions.remove(this);
+      }
+    }
+
+    /** Checks the magic number and the version sent by the client. */
+    private boolean acceptHandshake(DataInputStream in, DataOutputStream out) throws IOException {
+      int magic = in.readInt();
+      byte version = in.readByte();
+      if (magic != CardResourceBrokerProtocol.MAGIC
+          || version != CardResourceBrokerProtocol.VERSION) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_ERROR);
+        out.writeUTF("Unsupported protocol version: " + version);
+        out.flush();
+        return false;
+      }
+      out.writeByte(CardResourceBrokerProtocol.STATUS_OK);
+      out.flush();
+      return true;
+    }
+
+    /** Processes a request and writes its response, if any. */
+    private void processRequest(byte opcode, DataInputStream in, DataOutputStream out)
+        throws IOException {
+      switch (opcode) {
+        case CardResourceBrokerProtocol.OP_GET_READER_GROUP_REFERENCES:
+          SortedSet<String> readerGroupReferences = pluginAdapter.getReaderGroupReferences();
+          out.writeByte(CardResourceBrokerProtocol.STATUS_OK);
+          out.writeShort(readerGroupReferences.size());
+          for (String readerGroupReference : readerGroupReferences) {
+            out.writeUTF(readerGroupReference);
+          }
+          break;
+        case CardResourceBrokerProtocol.OP_ALLOCATE_READER:
+          allocateReader(in.readUTF(), out);
+          break;
+        case CardResourceBrokerProtocol.OP_RELEASE_READER:
+          releaseReader();
+          break;
+        case CardResourceBrokerProtocol.OP_TRANSMIT_APDU:
+          transmitApdu(CardResourceBrokerProtocol.readBytes(in), out);
+          break;
+        default:
+          throw new IOException("Unknown opcode: " + opcode);
+      }
+    }
+
+    /** Allocates a reader for the connection. */
+    private void allocateReader(String readerGroupReference, DataOutputStream out)
+        throws IOException {
+      if (readerAdapter != null) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_ERROR);
+        out.writeUTF("A reader is already allocated on this connection");
+        return;
+      }
+      try {
+        readerAdapter =
+            (CardResourceReaderAdapter) pluginAdapter.allocateReader(readerGroupReference);
+      } catch (AllocationRejectedException e) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_ALLOCATION_REJECTED);
+        out.writeUTF(String.valueOf(e.getMessage()));
+        return;
+      } catch (PluginIOException e) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_ALLOCATION_FAILED);
+        out.writeUTF(String.valueOf(e.getMessage()));
+        return;
+      }
+      out.writeByte(CardResourceBrokerProtocol.STATUS_OK);
+      out.writeUTF(readerAdapter.getName());
+      out.writeBoolean(readerAdapter.isContactless());
+      CardResourceBrokerProtocol.writeOptionalString(out, readerAdapter.getPowerOnData());
+    }
+
+    /** Releases the reader of the connection, if any. */
+    private void releaseReader() {
+      if (readerAdapter != null) {
+        pluginAdapter.releaseReader(readerAdapter);
+        readerAdapter = null;
+      }
+    }
+
+    /** Transmits an APDU command through the reader of the connection. */
+    private void transmitApdu(byte[] apduCommand, DataOutputStream out) throws IOException {
+      byte[] apduResponse;
+      try {
+        if (readerAdapter == null) {
+          throw new ReaderIOException("No reader allocated on this connection");
+        }
+        apduResponse = readerAdapter.transmitApdu(apduCommand);
+      } catch (ReaderIOException e) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_READER_IO_ERROR);
+        out.writeUTF(String.valueOf(e.getMessage()));
+        return;
+      } catch (CardIOException e) {
+        out.writeByte(CardResourceBrokerProtocol.STATUS_CARD_IO_ERROR);
+        out.writeUTF(String.valueOf(e.getMessage()));
+        return;
+      }
+      out.writeByte(CardResourceBrokerProtocol.STATUS_OK);
+      CardResourceBrokerProtocol.writeBytes(out, apduResponse);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Builds instances of {@link CardResourceBroker}.
+ *
+ * @since 2.1.0
+ */
+public final class CardResourceBrokerBuilder {
+
+  /**
+   * Private constructor to force the use of the static factory method {@link
+   * #builder(CardResourcePlugin)}.
+   */
+  private CardResourceBrokerBuilder() {}
+
+  /**
+   * Creates a builder to build a {@link CardResourceBroker} exporting the readers of the provided
+   * plugin.
+   *
+   * @param cardResourcePlugin The extension of the registered card resource plugin, as provided by
+   *     the Keyple service.
+   * @return A new builder instance.
+   * @throws IllegalArgumentException If the plugin is null or is not a card resource plugin of this
+   *     library.
+   * @since 2.1.0
+   */
+  public static Builder builder(CardResourcePlugin cardResourcePlugin) {
+    Assert.getInstance()
+        .notNull(cardResourcePlugin, "cardResourcePlugin")
+        .isTrue(cardResourcePlugin instanceof CardResourcePluginAdapter, "cardResourcePlugin");
+    return new Builder((CardResourcePluginAdapter) cardResourcePlugin);
+  }
+
+  /**
+   * Builder to build a {@link CardResourceBroker}.
+   *
+   * @since 2.1.0
+   */
+  public static class Builder {
+
+    private final CardResourcePluginAdapter pluginAdapter;
+    private String bindAddress = "127.0.0.1";
+    private int port;
+
+    /** Constructs a Builder with the broker parameters. */
+    private Builder(CardResourcePluginAdapter pluginAdapter) {
+      this.pluginAdapter = pluginAdapter;
+    }
+
+    /**
+     * Sets the address of the network interface to listen on.
+     *
+     * <p>By default, the broker only listens on the loopback interface, the protocol being neither
+     * authenticated nor encrypted.
+     *
+     * @param bindAddress The host name or IP address of the interface.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the address is null or empty.
+     * @since 2.1.0
+     */
+    public Builder setBindAddress(String bindAddress) {
+      Assert.getInstance().notEmpty(bindAddress, "bindAddress");
+      this.bindAddress = bindAddress;
+      return this;
+    }
+
+    /**
+     * Sets the TCP port to listen on.
+     *
+     * <p>By default, an ephemeral port is chosen when the broker is started (see {@link
+     * CardResourceBroker#getPort()}).
+     *
+     * @param port The port number, 0 for an ephemeral port.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the port is out of range.
+     * @since 2.1.0
+     */
+    public Builder setPort(int port) {
+      Assert.getInstance().isInRange(port, 0, 65535, "port");
+      this.port = port;
+      return this;
+    }
+
+    /**
+     * Returns an instance of {@link CardResourceBroker} created from the fields set on this
+     * builder.
+     *
+     * @return A {@link CardResourceBroker}
+     * @since 2.1.0
+     */
+    public CardResourceBroker build() {
+      return new CardResourceBrokerAdapter(pluginAdapter, bindAddress, port);
+    }
+  }
+}
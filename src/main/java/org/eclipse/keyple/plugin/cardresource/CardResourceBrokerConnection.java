@@ -0,0 +1,252 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+
+/**
+ * Client side of a connection to a {@link CardResourceBroker}.
+ *
+ * <p>The {@link IOException}s report a broken connection, which must then be closed and discarded.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceBrokerConnection {
+
+  private final Socket socket;
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private final Lock lock = new ReentrantLock();
+
+  /**
+   * Connects to the broker and performs the protocol handshake.
+   *
+   * @param host The host name or IP address of the broker.
+   * @param port The port of the broker.
+   * @param connectTimeoutMillis The connection timeout, 0 for none.
+   * @throws IOException If the connection or the handshake failed.
+   * @since 2.1.0
+   */
+  CardResourceBrokerConnection(String host, int port, int connectTimeoutMillis)
+      throws IOException {
+    socket = new Socket();
+    try {
+      socket.setTcpNoDelay(true);
+      socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+      in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      out.writeInt(CardResourceBrokerProtocol.MAGIC);
+      out.writeByte(CardResourceBrokerProtocol.VERSION);
+      out.flush();
+      if (in.readByte() != CardResourceBrokerProtocol.STATUS_OK) {
+        throw new IOException("Connection refused by the broker: " + in.readUTF());
+      }
+    } catch (IOException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Gets the card resource profiles and virtual reader groups exported by the broker.
+   *
+   * @return A not null reference.
+   * @throws IOException If the connection is broken.
+   * @since 2.1.0
+   */
+  SortedSet<String> getReaderGroupReferences() throws IOException {
+    lock.lock();
+    try {
+      out.writeByte(CardResourceBrokerProtocol.OP_GET_READER_GROUP_REFERENCES);
+      out.flush();
+      checkStatus(in.readByte());
+      int count = in.readUnsignedShort();
+      SortedSet<String> readerGroupReferences = new TreeSet<String>();
+      for (int i = 0; i < count; i++) {
+        readerGroupReferences.add(in.readUTF());
+      }
+      return readerGroupReferences;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Allocates a reader on the broker, bound to this connection until released.
+   *
+   * @param readerGroupReference The name of the card resource profile or the reference of the
+   *     virtual reader group.
+   * @return A not null reference.
+   * @throws AllocationRejectedException If the allocation was rejected by the admission limits of
+   *     the broker.
+   * @throws PluginIOException If the allocation failed.
+   * @throws IOException If the connection is broken.
+   * @since 2.1.0
+   */
+  RemoteCardResourceReaderAdapter allocateReader(String readerGroupReference)
+      throws PluginIOException, IOException {
+    lock.lock();
+    try {
+      out.writeByte(CardResourceBrokerProtocol.OP_ALLOCATE_READER);
+      out.writeUTF(readerGroupReference);
+      out.flush();
+      byte status = in.readByte();
+      if (status == CardResourceBrokerProtocol.STATUS_ALLOCATION_REJECTED) {
+        throw new AllocationRejectedException(in.readUTF());
+      } else if (status == CardResourceBrokerProtocol.STATUS_ALLOCATION_FAILED) {
+        throw new PluginIOException(in.readUTF());
+      }
+      checkStatus(status);
+      String name = in.readUTF();
+      boolean contactless = in.readBoolean();
+      String powerOnData = CardResourceBrokerProtocol.readOptionalString(in);
+      return new RemoteCardResourceReaderAdapter(this, name, contactless, powerOnData);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the reader allocated on the broker for this connection, without waiting for the
+   * broker, the next request being processed after the release.
+   *
+   * @throws IOException If the connection is broken.
+   * @since 2.1.0
+   */
+  void releaseReader() throws IOException {
+    lock.lock();
+    try {
+      out.writeByte(CardResourceBrokerProtocol.OP_RELEASE_READER);
+      out.flush();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Transmits an APDU command through the reader allocated for this connection.
+   *
+   * @param apduCommand The APDU command.
+   * @return A not null reference.
+   * @throws ReaderIOException If a communication error with the reader occurred on the broker.
+   * @throws CardIOException If a communication error with the card occurred on the broker.
+   * @throws IOException If the connection is broken.
+   * @since 2.1.0
+   */
+  byte[] transmitApdu(byte[] apduCommand) throws ReaderIOException, CardIOException, IOException {
+    lock.lock();
+    try {
+      writeApduCommand(apduCommand);
+      out.flush();
+      return readApduResponse();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Transmits APDU commands through the reader allocated for this connection, all the commands
+   * being sent before reading the first response.
+   *
+   * @param apduCommands The APDU commands.
+   * @return The APDU responses, in the order of the commands.
+   * @throws ReaderIOException If a communication error with the reader occurred on the broker for
+   *     one of the commands.
+   * @throws CardIOException If a communication error with the card occurred on the broker for one
+   *     of the commands.
+   * @throws IOException If the connection is broken.
+   * @since 2.1.0
+   */
+  List<byte[]> transmitApdus(List<byte[]> apduCommands)
+      throws ReaderIOException, CardIOException, IOException {
+    lock.lock();
+    try {
+      for (byte[] apduCommand : apduCommands) {
+        writeApduCommand(apduCommand);
+      }
+      out.flush();
+      List<byte[]> apduResponses = new ArrayList<byte[]>(apduCommands.size());
+      Exception firstException = null;
+      // all the responses are read to keep the connection usable
+      for (int i = 0; i < apduCommands.size(); i++) {
+        try {
+          apduResponses.add(readApduResponse());
+        } catch (ReaderIOException e) {
+          firstException = firstException != null ? firstException : e;
+        } catch (CardIOException e) {
+          firstException = firstException != null ? firstException : e;
+        }
+      }
+      if (firstException instanceof ReaderIOException) {
+        throw (ReaderIOException) firstException;
+      } else if (firstException instanceof CardIOException) {
+        throw (CardIOException) firstException;
+      }
+      return apduResponses;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the connection, the broker then releasing the reader allocated for it, if any.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    try {
+      socket.close();
+    } catch (IOException e) {
+      // ignored
+    }
+  }
+
+  /** Writes a transmission request. */
+  private void writeApduCommand(byte[] apduCommand) throws IOException {
+    out.writeByte(CardResourceBrokerProtocol.OP_TRANSMIT_APDU);
+    CardResourceBrokerProtocol.writeBytes(out, apduCommand);
+  }
+
+  /** Reads the response to a transmission request. */
+  private byte[] readApduResponse() throws ReaderIOException, CardIOException, IOException {
+    byte status = in.readByte();
+    if (status == CardResourceBrokerProtocol.STATUS_READER_IO_ERROR) {
+      throw new ReaderIOException(in.readUTF());
+    } else if (status == CardResourceBrokerProtocol.STATUS_CARD_IO_ERROR) {
+      throw new CardIOException(in.readUTF());
+    }
+    checkStatus(status);
+    return CardResourceBrokerProtocol.readBytes(in);
+  }
+
+  /** Checks that the provided status is a success, reading the error message otherwise. */
+  private void checkStatus(byte status) throws IOException {
+    if (status != CardResourceBrokerProtocol.STATUS_OK) {
+      throw new IOException("Broker error (status " + status + "): " + in.readUTF());
+    }
+  }
+}
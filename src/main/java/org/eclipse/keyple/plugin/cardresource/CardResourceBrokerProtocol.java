@@ -0,0 +1,126 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Constants and encoding helpers of the binary protocol spoken between a {@link CardResourceBroker}
+ * and the remote card resource plugins.
+ *
+ * <p>After a handshake (magic number and protocol version, answered by a status byte), each
+ * request is an opcode byte followed by its operands, and each response is a status byte followed
+ * by its result or by an error message. The requests of a connection are processed in order and
+ * their responses are written in the same order, so that a client may send several requests (e.g.
+ * APDU commands) without waiting for the previous responses. The release request has no response.
+ *
+ * <p>Byte arrays are encoded as an unsigned 16-bit length followed by the bytes, the length 0xFFFF
+ * being followed by a 32-bit length for the longest extended APDUs. Strings are encoded in modified
+ * UTF-8 as by {@link DataOutputStream#writeUTF(String)}.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceBrokerProtocol {
+
+  /** "KCRB" */
+  static final int MAGIC = 0x4B435242;
+
+  static final byte VERSION = 1;
+
+  static final byte OP_GET_READER_GROUP_REFERENCES = 1;
+  static final byte OP_ALLOCATE_READER = 2;
+  static final byte OP_RELEASE_READER = 3;
+  static final byte OP_TRANSMIT_APDU = 4;
+
+  static final byte STATUS_OK = 0;
+  static final byte STATUS_ALLOCATION_FAILED = 1;
+  static final byte STATUS_ALLOCATION_REJECTED = 2;
+  static final byte STATUS_READER_IO_ERROR = 3;
+  static final byte STATUS_CARD_IO_ERROR = 4;
+  static final byte STATUS_ERROR = 5;
+
+  /** Length of the longest extended APDU command (header, extended Lc, 65535 bytes, Le). */
+  static final int MAX_APDU_LENGTH = 65544;
+
+  private static final int EXTENDED_LENGTH_MARKER = 0xFFFF;
+
+  /** Private constructor. */
+  private CardResourceBrokerProtocol() {}
+
+  /**
+   * Writes a length-prefixed byte array.
+   *
+   * @param out The output stream.
+   * @param bytes The bytes to write.
+   * @throws IOException If the writing failed.
+   * @since 2.1.0
+   */
+  static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    if (bytes.length < EXTENDED_LENGTH_MARKER) {
+      out.writeShort(bytes.length);
+    } else {
+      out.writeShort(EXTENDED_LENGTH_MARKER);
+      out.writeInt(bytes.length);
+    }
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a length-prefixed byte array.
+   *
+   * @param in The input stream.
+   * @return A not null reference.
+   * @throws IOException If the reading failed or if the length exceeds the longest APDU.
+   * @since 2.1.0
+   */
+  static byte[] readBytes(DataInputStream in) throws IOException {
+    int length = in.readUnsignedShort();
+    if (length == EXTENDED_LENGTH_MARKER) {
+      length = in.readInt();
+    }
+    if (length < 0 || length > MAX_APDU_LENGTH + 2) {
+      throw new IOException("Invalid byte array length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Writes a string that may be null.
+   *
+   * @param out The output stream.
+   * @param string The string to write, may be null.
+   * @throws IOException If the writing failed.
+   * @since 2.1.0
+   */
+  static void writeOptionalString(DataOutputStream out, String string) throws IOException {
+    out.writeBoolean(string != null);
+    if (string != null) {
+      out.writeUTF(string);
+    }
+  }
+
+  /**
+   * Reads a string that may be null.
+   *
+   * @param in The input stream.
+   * @return Null if no string was written.
+   * @throws IOException If the reading failed.
+   * @since 2.1.0
+   */
+  static String readOptionalString(DataInputStream in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+}
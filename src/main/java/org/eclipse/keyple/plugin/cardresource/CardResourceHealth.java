@@ -0,0 +1,126 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Health of the card resource of an underlying reader, measured by the number of consecutive APDU
+ * exchanges that failed or whose latency was an outlier, by the moving average of the exchange
+ * latency, and by the last liveness probe of the reader if enabled.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceHealth {
+
+  /** The weight of the last exchange in the moving average of the latency, as a shift (1/8). */
+  private static final int LATENCY_AVERAGE_SHIFT = 3;
+
+  private final long latencyOutlierThresholdNanos;
+  private final AtomicInteger consecutiveFailureCount = new AtomicInteger();
+  private volatile long averageLatencyNanos;
+  private volatile boolean isReaderOperational = true;
+  private volatile boolean isCardPresent = true;
+
+  /**
+   * Constructor.
+   *
+   * @param latencyOutlierThresholdNanos The latency above which a successful exchange is counted
+   *     as a failure, 0 to disable.
+   * @since 2.1.0
+   */
+  CardResourceHealth(long latencyOutlierThresholdNanos) {
+    this.latencyOutlierThresholdNanos = latencyOutlierThresholdNanos;
+  }
+
+  /**
+   * Records a successful APDU exchange.
+   *
+   * @param latencyNanos The latency of the exchange in nanoseconds.
+   * @since 2.1.0
+   */
+  void recordExchange(long latencyNanos) {
+    long average = averageLatencyNanos;
+    averageLatencyNanos =
+        average == 0 ? latencyNanos : average + ((latencyNanos - average) >> LATENCY_AVERAGE_SHIFT);
+    if (latencyOutlierThresholdNanos > 0 && latencyNanos > latencyOutlierThresholdNanos) {
+      consecutiveFailureCount.incrementAndGet();
+    } else if (consecutiveFailureCount.get() != 0) {
+      consecutiveFailureCount.set(0);
+    }
+  }
+
+  /**
+   * Records an APDU exchange failed with an I/O error.
+   *
+   * @since 2.1.0
+   */
+  void recordFailure() {
+    consecutiveFailureCount.incrementAndGet();
+  }
+
+  /**
+   * @return The number of consecutive failed or outlier exchanges.
+   * @since 2.1.0
+   */
+  int getConsecutiveFailureCount() {
+    return consecutiveFailureCount.get();
+  }
+
+  /**
+   * @return The exponentially weighted moving average of the latency of the successful exchanges
+   *     in nanoseconds, 0 if no exchange has been recorded yet.
+   * @since 2.1.0
+   */
+  long getAverageLatencyNanos() {
+    return averageLatencyNanos;
+  }
+
+  /**
+   * Records the result of a liveness probe of the reader.
+   *
+   * @param isReaderOperational False if the reader failed to answer the probe.
+   * @param isCardPresent True if the card is present in the reader.
+   * @since 2.1.0
+   */
+  void recordLivenessProbe(boolean isReaderOperational, boolean isCardPresent) {
+    this.isReaderOperational = isReaderOperational;
+    this.isCardPresent = isCardPresent;
+  }
+
+  /**
+   * @return False if the last liveness probe of the reader failed, true if it succeeded or if the
+   *     reader has not been probed.
+   * @since 2.1.0
+   */
+  boolean isReaderOperational() {
+    return isReaderOperational;
+  }
+
+  /**
+   * @return False if the last liveness probe of the reader did not detect the card, true if it did
+   *     or if the reader has not been probed.
+   * @since 2.1.0
+   */
+  boolean isCardPresent() {
+    return isCardPresent;
+  }
+
+  /**
+   * Resets the count of consecutive failures, typically after a successful probe.
+   *
+   * @since 2.1.0
+   */
+  void reset() {
+    consecutiveFailureCount.set(0);
+  }
+}
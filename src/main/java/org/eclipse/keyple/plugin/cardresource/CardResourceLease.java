@@ -0,0 +1,57 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Snapshot of a reader currently allocated by the plugin and not yet released.
+ *
+ * @since 2.1.0
+ */
+public interface CardResourceLease {
+
+  /**
+   * @return The allocated reader.
+   * @since 2.1.0
+   */
+  CardResourceReader getCardResourceReader();
+
+  /**
+   * @return The name of the allocated reader.
+   * @since 2.1.0
+   */
+  String getReaderName();
+
+  /**
+   * @return The name of the card resource profile for which the reader has been allocated.
+   * @since 2.1.0
+   */
+  String getCardResourceProfileName();
+
+  /**
+   * @return The affinity key provided with the allocation, null if none.
+   * @since 2.1.0
+   */
+  String getAffinityKey();
+
+  /**
+   * @return The time elapsed since the allocation of the reader, in milliseconds.
+   * @since 2.1.0
+   */
+  long getAgeMillis();
+
+  /**
+   * @return The time elapsed since the last APDU exchange, or since the allocation if no APDU has
+   *     been exchanged, in milliseconds.
+   * @since 2.1.0
+   */
+  long getIdleTimeMillis();
+}
@@ -0,0 +1,105 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapter of {@link CardResourceLease}.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceLeaseAdapter implements CardResourceLease {
+
+  private final CardResourceReaderAdapter readerAdapter;
+  private final String cardResourceProfileName;
+  private final String affinityKey;
+  private final long ageMillis;
+  private final long idleTimeMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param readerAdapter The allocated reader.
+   * @param nowNanos The {@link System#nanoTime()} value at the time of the snapshot.
+   * @since 2.1.0
+   */
+  CardResourceLeaseAdapter(CardResourceReaderAdapter readerAdapter, long nowNanos) {
+    this.readerAdapter = readerAdapter;
+    this.cardResourceProfileName = readerAdapter.getCardResourceProfileName();
+    this.affinityKey = readerAdapter.getAffinityKey();
+    this.ageMillis =
+        TimeUnit.NANOSECONDS.toMillis(nowNanos - readerAdapter.getAllocationTimeNanos());
+    this.idleTimeMillis =
+        TimeUnit.NANOSECONDS.toMillis(nowNanos - readerAdapter.getLastActivityNanos());
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public CardResourceReader getCardResourceReader() {
+    return readerAdapter;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getReaderName() {
+    return readerAdapter.getName();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getCardResourceProfileName() {
+    return cardResourceProfileName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getAffinityKey() {
+    return affinityKey;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getAgeMillis() {
+    return ageMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getIdleTimeMillis() {
+    return idleTimeMillis;
+  }
+}
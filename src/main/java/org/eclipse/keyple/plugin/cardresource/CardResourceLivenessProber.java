@@ -0,0 +1,135 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background prober of the card presence in the underlying readers of the idle card resources,
+ * caching the result in their {@link CardResourceHealth}.
+ *
+ * <p>Only the readers available in a reservoir are probed, each one being taken out of its
+ * reservoir for the duration of the probe so that it is never allocated while probed: the
+ * underlying readers are not expected to support concurrent accesses. The probes run on a bounded
+ * number of dedicated threads.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceLivenessProber {
+
+  private static final Logger logger = LoggerFactory.getLogger(CardResourceLivenessProber.class);
+
+  private final ExecutorService probeExecutor;
+  private final Set<CardResourceReaderAdapter> probedReaders =
+      Collections.newSetFromMap(new ConcurrentHashMap<CardResourceReaderAdapter, Boolean>());
+
+  /**
+   * Constructor.
+   *
+   * @param pluginName The name of the plugin.
+   * @param maxConcurrentProbes The maximum number of probes running concurrently.
+   * @since 2.1.0
+   */
+  CardResourceLivenessProber(String pluginName, int maxConcurrentProbes) {
+    this.probeExecutor =
+        Executors.newFixedThreadPool(
+            maxConcurrentProbes, new DaemonThreadFactory(pluginName, "liveness"));
+  }
+
+  /**
+   * Schedules the probe of the underlying reader of the provided reader of the reservoir, unless
+   * its previous probe is not completed. The probe is skipped if the reader has been allocated in
+   * the meantime.
+   *
+   * @param readerAdapter The reader whose card resource must be probed.
+   * @param reservoir The reservoir holding the reader.
+   * @since 2.1.0
+   */
+  void probe(final CardResourceReaderAdapter readerAdapter, final CardResourceReservoir reservoir) {
+    if (!probedReaders.add(readerAdapter)) {
+      return;
+    }
+    try {
+      probeExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                if (reservoir.borrow(readerAdapter)) {
+                  try {
+                    probe(readerAdapter);
+                  } finally {
+                    reservoir.giveBack(readerAdapter);
+                  }
+                }
+              } finally {
+                probedReaders.remove(readerAdapter);
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      probedReaders.remove(readerAdapter);
+    }
+  }
+
+  /**
+   * Stops the probes.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    probeExecutor.shutdownNow();
+  }
+
+  /** Checks the card presence in the underlying reader and records the result. */
+  private static void probe(CardResourceReaderAdapter readerAdapter) {
+    CardResource cardResource = readerAdapter.getCardResource();
+    if (cardResource == null) {
+      return;
+    }
+    ReaderSpi readerSpi = (ReaderSpi) cardResource.getReaderExtension();
+    CardResourceHealth health = readerAdapter.getHealth();
+    boolean isCardPresent;
+    try {
+      isCardPresent = readerSpi.checkCardPresence();
+    } catch (ReaderIOException e) {
+      recordFailedProbe(readerSpi, health, e);
+      return;
+    } catch (RuntimeException e) {
+      recordFailedProbe(readerSpi, health, e);
+      return;
+    }
+    if (!isCardPresent && health.isCardPresent()) {
+      logger.warn("Card no longer present in reader '{}'", readerSpi.getName());
+    }
+    health.recordLivenessProbe(true, isCardPresent);
+  }
+
+  /** Records a probe that failed with an error of the reader. */
+  private static void recordFailedProbe(
+      ReaderSpi readerSpi, CardResourceHealth health, Exception e) {
+    if (health.isReaderOperational()) {
+      logger.warn("Liveness probe of reader '{}' failed: {}", readerSpi.getName(), e.getMessage());
+    }
+    health.recordLivenessProbe(false, false);
+  }
+}
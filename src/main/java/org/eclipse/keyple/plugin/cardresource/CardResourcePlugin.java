@@ -11,11 +11,197 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.cardresource;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.eclipse.keyple.core.common.KeyplePluginExtension;
+import org.eclipse.keyple.core.plugin.PluginIOException;
 
 /**
  * Card Resource Service specific {@link KeyplePluginExtension}.
  *
  * @since 1.0.0
  */
-public interface CardResourcePlugin extends KeyplePluginExtension {}
+public interface CardResourcePlugin extends KeyplePluginExtension {
+
+  /**
+   * Allocates asynchronously a reader for the provided card resource profile.
+   *
+   * <p>The allocation is performed on the executor configured with {@link
+   * CardResourcePluginFactoryBuilder.Builder#setAllocationExecutor(java.util.concurrent.Executor)}
+   * so that the calling thread is never blocked while the Card Resource Service is looking for an
+   * available card resource.
+   *
+   * <p>The reader provided by the returned future is not managed by the Keyple service and must be
+   * released with {@link #releaseCardResourceReader(CardResourceReader)}. If the future is
+   * cancelled or completed by the caller before the end of the allocation, the allocated reader is
+   * released immediately.
+   *
+   * @param cardResourceProfileName The name of the card resource profile or the reference of a
+   *     virtual reader group.
+   * @return A future completed with the allocated reader, or completed exceptionally with a {@link
+   *     PluginIOException} if the allocation failed.
+   * @since 2.1.0
+   */
+  CompletableFuture<CardResourceReader> allocateReaderAsync(String cardResourceProfileName);
+
+  /**
+   * Allocates a reader for the provided card resource profile, preferably with the card resource
+   * most recently released for the provided affinity key.
+   *
+   * <p>Landing repeatedly on the same card resource for the same client or terminal avoids
+   * re-selections and keeps the session state of the card warm. The preferred card resource can
+   * only be served when it is idle in the reservoir of the profile (see {@link
+   * CardResourcePluginFactoryBuilder.Builder#setReservoir(String, int, int)}); otherwise (busy
+   * card resource, profile without reservoir, unknown key), a regular allocation is performed.
+   *
+   * <p>The returned reader is not managed by the Keyple service and must be released with {@link
+   * #releaseCardResourceReader(CardResourceReader)}.
+   *
+   * @param cardResourceProfileName The name of the card resource profile or the reference of a
+   *     virtual reader group.
+   * @param affinityKey The affinity key identifying the caller (e.g. a terminal identifier).
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the affinity key is null or empty.
+   * @throws PluginIOException If the allocation failed.
+   * @since 2.1.0
+   */
+  CardResourceReader allocateReader(String cardResourceProfileName, String affinityKey)
+      throws PluginIOException;
+
+  /**
+   * Allocates a reader for the provided card resource profile with the provided priority class.
+   *
+   * <p>When the allocation has to wait for a card resource (see {@link
+   * CardResourcePluginFactoryBuilder.Builder#setMaxWaitTime(String, int)}), the released card
+   * resources are handed over to the waiting allocations of the highest class first. The
+   * allocation may also be served by the card resources reserved to its class or to a lower class
+   * (see {@link CardResourcePluginFactoryBuilder.Builder#setReservedCapacity(String,
+   * AllocationPriority, int)}). The other allocations have the {@link AllocationPriority#NORMAL}
+   * priority.
+   *
+   * <p>The returned reader is not managed by the Keyple service and must be released with {@link
+   * #releaseCardResourceReader(CardResourceReader)}.
+   *
+   * @param cardResourceProfileName The name of the card resource profile or the reference of a
+   *     virtual reader group.
+   * @param priority The priority class of the allocation.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the priority is null.
+   * @throws PluginIOException If the allocation failed.
+   * @since 2.1.0
+   */
+  CardResourceReader allocateReader(String cardResourceProfileName, AllocationPriority priority)
+      throws PluginIOException;
+
+  /**
+   * Allocates atomically one reader per provided card resource profile: either all the readers are
+   * allocated, or none.
+   *
+   * <p>The readers are allocated in the alphabetical order of the profile names, whatever the
+   * order of the list, so that concurrent bulk allocations do not each hold part of what the
+   * other needs. If an allocation fails, the readers already allocated are released immediately.
+   *
+   * <p>The returned readers are not managed by the Keyple service and must be released with {@link
+   * #releaseCardResourceReader(CardResourceReader)}.
+   *
+   * @param cardResourceProfileNames The names of the card resource profiles or references of
+   *     virtual reader groups, a name appearing several times leading to the allocation of several
+   *     readers of the same profile.
+   * @return A not null list containing the allocated readers, in the order of the provided profile
+   *     names.
+   * @throws IllegalArgumentException If the list is null or empty.
+   * @throws PluginIOException If one of the allocations failed.
+   * @since 2.1.0
+   */
+  List<CardResourceReader> allocateReaders(List<String> cardResourceProfileNames)
+      throws PluginIOException;
+
+  /**
+   * Releases a reader previously allocated with {@link #allocateReaderAsync(String)}, {@link
+   * #allocateReader(String, String)}, {@link #allocateReader(String, AllocationPriority)} or {@link
+   * #allocateReaders(List)} and gives back its card resource.
+   *
+   * <p>The reader is invalidated: its card resource becomes null and its APDU exchanges fail with a
+   * {@link org.eclipse.keyple.core.plugin.ReaderIOException}.
+   *
+   * @param cardResourceReader The reader to release.
+   * @throws IllegalArgumentException If the provided reader is null or has not been allocated by
+   *     this plugin.
+   * @since 2.1.0
+   */
+  void releaseCardResourceReader(CardResourceReader cardResourceReader);
+
+  /**
+   * Returns the live allocation statistics of the provided profile.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return A not null reference.
+   * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin.
+   * @since 2.1.0
+   */
+  AllocationStatistics getAllocationStatistics(String cardResourceProfileName);
+
+  /**
+   * Returns the live allocation statistics of all the profiles of the plugin.
+   *
+   * <p>The failures due to a profile unknown to the plugin ({@link
+   * AllocationFailureCause#UNAUTHORIZED_PROFILE}) are only counted in these statistics, as well as
+   * the failed allocations of a virtual reader group, which are counted once for the whole group.
+   *
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  AllocationStatistics getGlobalAllocationStatistics();
+
+  /**
+   * Returns the number of readers currently allocated by the plugin and not yet released.
+   *
+   * @return A positive or null number.
+   * @since 2.1.0
+   */
+  int getLeaseCount();
+
+  /**
+   * Returns a snapshot of the readers currently allocated by the plugin and not yet released,
+   * whether they have been allocated through the Keyple service or through this interface.
+   *
+   * <p>The readers still allocated when the plugin is unregistered are released automatically.
+   *
+   * @return A not null list, empty if no reader is allocated.
+   * @since 2.1.0
+   */
+  List<CardResourceLease> getLeases();
+
+  /**
+   * Adds a listener of the allocation events of the plugin.
+   *
+   * <p>The events are buffered without blocking by the allocating and releasing threads and
+   * delivered asynchronously by a dedicated thread of the plugin, so that a slow listener never
+   * delays the allocations (see {@link AllocationEventListener}).
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException If the listener is null.
+   * @since 2.1.0
+   */
+  void addAllocationEventListener(AllocationEventListener listener);
+
+  /**
+   * Removes a listener previously added with {@link
+   * #addAllocationEventListener(AllocationEventListener)}.
+   *
+   * @param listener The listener to remove.
+   * @throws IllegalArgumentException If the listener is null.
+   * @since 2.1.0
+   */
+  void removeAllocationEventListener(AllocationEventListener listener);
+
+  /**
+   * Returns the number of allocation events dropped because the buffer of the events not yet
+   * delivered was full.
+   *
+   * @return A positive or null number.
+   * @see CardResourcePluginFactoryBuilder.Builder#setAllocationEventBufferCapacity(int)
+   * @since 2.1.0
+   */
+  long getDroppedAllocationEventCount();
+}
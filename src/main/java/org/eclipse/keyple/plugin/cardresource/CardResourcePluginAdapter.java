@@ -11,16 +11,36 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.cardresource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.plugin.PluginIOException;
 import org.eclipse.keyple.core.plugin.spi.PoolPluginSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.PoolReaderSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
 import org.eclipse.keyple.core.service.resource.CardResource;
 import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.eclipse.keyple.core.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Adapter of {@link CardResourcePlugin} and {@link PoolPluginSpi}.
@@ -29,9 +49,34 @@
  */
 final class CardResourcePluginAdapter implements CardResourcePlugin, PoolPluginSpi {
 
+  private static final Logger logger = LoggerFactory.getLogger(CardResourcePluginAdapter.class);
+
+  private static final long MIN_REAPING_PERIOD_MILLIS = 10;
+  private static final long MAX_REAPING_PERIOD_MILLIS = 1000;
+  private static final int MAX_RELEASE_THREADS = 16;
+  private static final long RELEASE_TIMEOUT_SECONDS = 30;
+
   private final String pluginName;
   private final Collection<String> cardResourceProfileNames;
   private final CardResourceService cardResourceService;
+  private final Executor allocationExecutor;
+  private final ExecutorService ownedAllocationExecutor;
+  private final ScheduledExecutorService scheduler;
+  private final Map<String, ProfileContext> profileContexts;
+  private final Map<String, List<String>> readerGroups;
+  private final AllocationStatisticsAdapter globalAllocationStatistics;
+  private final ConcurrentMap<String, ApduStatisticsAdapter> readerApduStatistics;
+  private final ConcurrentMap<String, CardResourceHealth> readerHealths;
+  private final ConcurrentMap<CardResource, ProfileContext> quarantinedCardResources;
+  private final ConcurrentMap<CardResourceReaderAdapter, CardResource> leases;
+  private final long maxHoldTimeNanos;
+  private final long idleTimeoutNanos;
+  private final int allocationSiteSamplingInterval;
+  private final int maxConsecutiveFailures;
+  private final byte[] healthProbeApdu;
+  private final AllocationEventDispatcher eventDispatcher;
+  private final ApduExchangeRecorder apduExchangeRecorder;
+  private final CardResourceLivenessProber livenessProber;
 
   /**
    * Constructor.
@@ -40,15 +85,193 @@ final class CardResourcePluginAdapter implements CardResourcePlugin, PoolPluginS
    * @param cardResourceService The card resource service.
    * @param cardResourceProfileNames A collection of card resource profile names that represent the
    *     resources managed by the plugin adapter.
+   * @param configuration The optional settings of the plugin.
    * @since 1.0.0
    */
   CardResourcePluginAdapter(
       String pluginName,
       CardResourceService cardResourceService,
-      Collection<String> cardResourceProfileNames) {
+      Collection<String> cardResourceProfileNames,
+      CardResourcePluginConfiguration configuration) {
     this.pluginName = pluginName;
     this.cardResourceService = cardResourceService;
     this.cardResourceProfileNames = new ArrayList<String>(cardResourceProfileNames);
+    this.apduExchangeRecorder = createApduExchangeRecorder(configuration);
+    if (configuration.getAllocationExecutor() != null) {
+      this.allocationExecutor = configuration.getAllocationExecutor();
+      this.ownedAllocationExecutor = null;
+    } else {
+      this.ownedAllocationExecutor = AllocationExecutors.newDefaultAllocationExecutor(pluginName);
+      this.allocationExecutor = ownedAllocationExecutor;
+    }
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            new DaemonThreadFactory(pluginName, "maintenance"));
+    this.eventDispatcher =
+        new AllocationEventDispatcher(
+            pluginName, configuration.getAllocationEventBufferCapacity());
+    this.globalAllocationStatistics = new AllocationStatisticsAdapter(null);
+    this.readerApduStatistics = new ConcurrentHashMap<String, ApduStatisticsAdapter>();
+    this.readerHealths = new ConcurrentHashMap<String, CardResourceHealth>();
+    this.quarantinedCardResources = new ConcurrentHashMap<CardResource, ProfileContext>();
+    this.profileContexts = new HashMap<String, ProfileContext>();
+    for (String cardResourceProfileName : this.cardResourceProfileNames) {
+      profileContexts.put(
+          cardResourceProfileName, createProfileContext(cardResourceProfileName, configuration));
+    }
+    this.readerGroups = new HashMap<String, List<String>>(configuration.getReaderGroups());
+    this.leases = new ConcurrentHashMap<CardResourceReaderAdapter, CardResource>();
+    this.maxHoldTimeNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getMaxHoldTimeMillis());
+    this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getIdleTimeoutMillis());
+    this.allocationSiteSamplingInterval = configuration.getAllocationSiteSamplingInterval();
+    if (maxHoldTimeNanos > 0 || idleTimeoutNanos > 0) {
+      scheduleLeaseReaper(configuration);
+    }
+    this.maxConsecutiveFailures = configuration.getMaxConsecutiveFailures();
+    this.healthProbeApdu = configuration.getHealthProbeApdu();
+    if (maxConsecutiveFailures > 0) {
+      scheduler.scheduleWithFixedDelay(
+          new Runnable() {
+            @Override
+            public void run() {
+              probeQuarantinedCardResources();
+            }
+          },
+          configuration.getQuarantineProbePeriodMillis(),
+          configuration.getQuarantineProbePeriodMillis(),
+          TimeUnit.MILLISECONDS);
+    }
+    if (configuration.getLivenessProbePeriodMillis() > 0) {
+      this.livenessProber =
+          new CardResourceLivenessProber(
+              pluginName, configuration.getMaxConcurrentLivenessProbes());
+      scheduler.scheduleWithFixedDelay(
+          new Runnable() {
+            @Override
+            public void run() {
+              probeLiveness();
+            }
+          },
+          configuration.getLivenessProbePeriodMillis(),
+          configuration.getLivenessProbePeriodMillis(),
+          TimeUnit.MILLISECONDS);
+    } else {
+      this.livenessProber = null;
+    }
+  }
+
+  /** Creates the recorder of the APDU exchanges if the recording is enabled. */
+  private static ApduExchangeRecorder createApduExchangeRecorder(
+      CardResourcePluginConfiguration configuration) {
+    if (configuration.getApduRecordingFilePath() == null) {
+      return null;
+    }
+    try {
+      return new ApduExchangeRecorder(
+          configuration.getApduRecordingFilePath(), configuration.getApduRecordingCapacity());
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          "Unable to create the APDU exchange log "
+              + configuration.getApduRecordingFilePath()
+              + ": "
+              + e.getMessage(),
+          e);
+    }
+  }
+
+  /** Schedules the periodic reclamation of the expired leases, at a quarter of the timeouts. */
+  private void scheduleLeaseReaper(CardResourcePluginConfiguration configuration) {
+    long shortestTimeoutMillis = Long.MAX_VALUE;
+    if (configuration.getMaxHoldTimeMillis() > 0) {
+      shortestTimeoutMillis = configuration.getMaxHoldTimeMillis();
+    }
+    if (configuration.getIdleTimeoutMillis() > 0) {
+      shortestTimeoutMillis = Math.min(shortestTimeoutMillis, configuration.getIdleTimeoutMillis());
+    }
+    long periodMillis =
+        Math.max(
+            MIN_REAPING_PERIOD_MILLIS,
+            Math.min(MAX_REAPING_PERIOD_MILLIS, shortestTimeoutMillis / 4));
+    scheduler.scheduleWithFixedDelay(
+        new Runnable() {
+          @Override
+          public void run() {
+            reclaimExpiredLeases();
+          }
+        },
+        periodMillis,
+        periodMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Creates the runtime state of a profile according to the configuration. */
+  private ProfileContext createProfileContext(
+      String cardResourceProfileName, CardResourcePluginConfiguration configuration) {
+    CardResourceReaderAdapterFactory readerAdapterFactory =
+        new CardResourceReaderAdapterFactory(
+            cardResourceProfileName,
+            readerApduStatistics,
+            readerHealths,
+            TimeUnit.MILLISECONDS.toNanos(configuration.getLatencyOutlierThresholdMillis()),
+            configuration.getApduCachePolicy(),
+            apduExchangeRecorder);
+    CardResourceWaitQueue waitQueue = null;
+    int maxWaitTimeMillis = configuration.getMaxWaitTimeMillis(cardResourceProfileName);
+    if (maxWaitTimeMillis > 0) {
+      waitQueue =
+          new CardResourceWaitQueue(
+              cardResourceService,
+              cardResourceProfileName,
+              maxWaitTimeMillis,
+              configuration.getMaxWaiters(cardResourceProfileName));
+    }
+    LatencyAwareReaderSelector readerSelector = null;
+    int explorationPercent = configuration.getExplorationPercent(cardResourceProfileName);
+    if (explorationPercent >= 0) {
+      readerSelector = new LatencyAwareReaderSelector(explorationPercent);
+    }
+    CardResourceReservoir reservoir = null;
+    int highWaterMark = configuration.getReservoirHighWaterMark(cardResourceProfileName);
+    if (highWaterMark > 0) {
+      reservoir =
+          new CardResourceReservoir(
+              cardResourceService,
+              readerAdapterFactory,
+              configuration.getReservoirLowWaterMark(cardResourceProfileName),
+              highWaterMark,
+              scheduler,
+              waitQueue,
+              AllocationPriority.LOW,
+              readerSelector);
+      reservoir.start();
+    }
+    CardResourceReservoir[] reserves =
+        new CardResourceReservoir[AllocationPriority.values().length];
+    for (AllocationPriority priority : AllocationPriority.values()) {
+      int capacity = configuration.getReservedCapacity(cardResourceProfileName, priority);
+      if (capacity > 0) {
+        CardResourceReservoir reserve =
+            new CardResourceReservoir(
+                cardResourceService,
+                readerAdapterFactory,
+                capacity,
+                capacity,
+                scheduler,
+                waitQueue,
+                priority,
+                readerSelector);
+        reserve.start();
+        reserves[priority.ordinal()] = reserve;
+      }
+    }
+    return new ProfileContext(
+        readerAdapterFactory,
+        waitQueue,
+        reservoir,
+        reserves,
+        new AllocationStatisticsAdapter(globalAllocationStatistics),
+        new CardResourceAffinityMap(configuration.getAffinityMapCapacity()),
+        configuration.getMaxConcurrentAllocations(cardResourceProfileName));
   }
 
   /**
@@ -68,7 +291,9 @@ public String getName() {
    */
   @Override
   public SortedSet<String> getReaderGroupReferences() {
-    return new TreeSet<String>(cardResourceProfileNames);
+    SortedSet<String> readerGroupReferences = new TreeSet<String>(cardResourceProfileNames);
+    readerGroupReferences.addAll(readerGroups.keySet());
+    return readerGroupReferences;
   }
 
   /**
@@ -78,43 +303,751 @@ public SortedSet<String> getReaderGroupReferences() {
    */
   @Override
   public PoolReaderSpi allocateReader(String cardResourceProfileName) throws PluginIOException {
-    if (!cardResourceProfileNames.contains(cardResourceProfileName)) {
+    return allocate(cardResourceProfileName, null, AllocationPriority.NORMAL);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public CardResourceReader allocateReader(String cardResourceProfileName, String affinityKey)
+      throws PluginIOException {
+    Assert.getInstance().notEmpty(affinityKey, "affinityKey");
+    return allocate(cardResourceProfileName, affinityKey, AllocationPriority.NORMAL);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public CardResourceReader allocateReader(
+      String cardResourceProfileName, AllocationPriority priority) throws PluginIOException {
+    Assert.getInstance().notNull(priority, "priority");
+    return allocate(cardResourceProfileName, null, priority);
+  }
+
+  /**
+   * Allocates a reader with the provided priority for the provided profile or virtual reader group,
+   * preferably with the card resource associated with the affinity key if provided.
+   *
+   * <p>The profiles of a virtual reader group are tried in order, the wait time of the allocation
+   * covering all of them and a failed group allocation being recorded only once, in the global
+   * statistics, under the reference of the group.
+   */
+  private CardResourceReaderAdapter allocate(
+      String readerGroupReference, String affinityKey, AllocationPriority priority)
+      throws PluginIOException {
+    long startNanos = System.nanoTime();
+    List<String> groupProfileNames = readerGroups.get(readerGroupReference);
+    if (groupProfileNames == null) {
+      CardResourceReaderAdapter readerAdapter =
+          tryAllocate(readerGroupReference, affinityKey, priority, startNanos, true);
+      if (readerAdapter == null) {
+        throw new PluginIOException(
+            "No card resource available for profile " + readerGroupReference);
+      }
+      return readerAdapter;
+    }
+    boolean rejected = false;
+    for (String cardResourceProfileName : groupProfileNames) {
+      try {
+        CardResourceReaderAdapter readerAdapter =
+            tryAllocate(cardResourceProfileName, affinityKey, priority, startNanos, false);
+        if (readerAdapter != null) {
+          return readerAdapter;
+        }
+      } catch (AllocationRejectedException e) {
+        rejected = true;
+      }
+    }
+    onAllocationFailure(
+        globalAllocationStatistics,
+        readerGroupReference,
+        rejected
+            ? AllocationFailureCause.REJECTED
+            : AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE);
+    if (rejected) {
+      throw new AllocationRejectedException(
+          "Allocation rejected for reader group " + readerGroupReference + " " + groupProfileNames);
+    }
+    throw new PluginIOException(
+        "No card resource available for reader group "
+            + readerGroupReference
+            + " "
+            + groupProfileNames);
+  }
+
+  /**
+   * Allocates a reader with the provided priority for the provided profile, preferably with the
+   * card resource associated with the affinity key if provided.
+   *
+   * @param startNanos The {@link System#nanoTime()} value at the start of the allocation.
+   * @param recordsUnavailability False if the rejections and the lack of card resource are
+   *     recorded by the caller, the profile being one of the profiles of a virtual reader group.
+   * @return Null if no card resource is available.
+   */
+  private CardResourceReaderAdapter tryAllocate(
+      String cardResourceProfileName,
+      String affinityKey,
+      AllocationPriority priority,
+      long startNanos,
+      boolean recordsUnavailability)
+      throws PluginIOException {
+    ProfileContext profileContext = profileContexts.get(cardResourceProfileName);
+    if (profileContext == null) {
+      onAllocationFailure(
+          globalAllocationStatistics,
+          cardResourceProfileName,
+          AllocationFailureCause.UNAUTHORIZED_PROFILE);
       throw new PluginIOException("Unauthorized card resource profile: " + cardResourceProfileName);
     }
-    CardResource cardResource;
+    AllocationStatisticsAdapter allocationStatistics = profileContext.getAllocationStatistics();
+    if (!profileContext.tryAdmitAllocation()) {
+      if (recordsUnavailability) {
+        onAllocationFailure(
+            allocationStatistics, cardResourceProfileName, AllocationFailureCause.REJECTED);
+      }
+      throw new AllocationRejectedException(
+          "Too many concurrent allocations for profile " + cardResourceProfileName);
+    }
+    CardResourceReaderAdapter readerAdapter;
     try {
-      cardResource = cardResourceService.getCardResource(cardResourceProfileName);
-      if (cardResource == null) {
-        throw new PluginIOException(
-            "No card resource available for profile " + cardResourceProfileName);
+      readerAdapter = getReader(profileContext, affinityKey, priority);
+    } catch (AllocationRejectedException e) {
+      if (recordsUnavailability) {
+        onAllocationFailure(
+            allocationStatistics, cardResourceProfileName, AllocationFailureCause.REJECTED);
       }
+      throw e;
+    } catch (PluginIOException e) {
+      // the wait queue has been closed by the unregistration of the plugin
+      onAllocationFailure(
+          allocationStatistics,
+          cardResourceProfileName,
+          AllocationFailureCause.PLUGIN_UNREGISTERED);
+      throw e;
     } catch (IllegalArgumentException e) {
+      onAllocationFailure(
+          allocationStatistics,
+          cardResourceProfileName,
+          AllocationFailureCause.NOT_CONFIGURED_PROFILE);
       throw new PluginIOException(
           "Not configured card resource profile: " + cardResourceProfileName);
     } catch (IllegalStateException e) {
+      onAllocationFailure(
+          allocationStatistics,
+          cardResourceProfileName,
+          AllocationFailureCause.SERVICE_NOT_STARTED);
       throw new PluginIOException("Card Resource Service not started");
+    } catch (InterruptedException e) {
+      onAllocationFailure(
+          allocationStatistics, cardResourceProfileName, AllocationFailureCause.INTERRUPTED);
+      Thread.currentThread().interrupt();
+      throw new PluginIOException(
+          "Interrupted while waiting for a card resource of profile " + cardResourceProfileName,
+          e);
+    } finally {
+      profileContext.onAllocationCompleted();
+    }
+    if (readerAdapter == null) {
+      if (recordsUnavailability) {
+        onAllocationFailure(
+            allocationStatistics,
+            cardResourceProfileName,
+            AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE);
+      }
+      return null;
     }
-    return new CardResourceReaderAdapter(cardResource);
+    long allocationNanos = System.nanoTime();
+    readerAdapter.onAllocation(allocationNanos, captureAllocationSite(), affinityKey);
+    leases.put(readerAdapter, readerAdapter.getCardResource());
+    allocationStatistics.recordAllocation(allocationNanos - startNanos);
+    eventDispatcher.publish(
+        AllocationEventType.ALLOCATION,
+        cardResourceProfileName,
+        readerAdapter.getName(),
+        null,
+        allocationNanos - startNanos);
+    return readerAdapter;
+  }
+
+  /** Records a failed allocation and publishes the corresponding event. */
+  private void onAllocationFailure(
+      AllocationStatisticsAdapter allocationStatistics,
+      String cardResourceProfileName,
+      AllocationFailureCause cause) {
+    allocationStatistics.recordFailure(cause);
+    eventDispatcher.publish(
+        cause == AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE
+            ? AllocationEventType.EXHAUSTION
+            : AllocationEventType.FAILURE,
+        cardResourceProfileName,
+        null,
+        cause,
+        0);
+  }
+
+  /** Captures the stack trace of the current allocation if it is part of the sample. */
+  private Throwable captureAllocationSite() {
+    if (allocationSiteSamplingInterval == 0
+        || (maxHoldTimeNanos == 0 && idleTimeoutNanos == 0)
+        || ThreadLocalRandom.current().nextInt(allocationSiteSamplingInterval) != 0) {
+      return null;
+    }
+    return new Throwable("Allocation site");
+  }
+
+  /**
+   * Gets a reader from the reservoir of the profile if any, preferably the one of the card
+   * resource associated with the affinity key, otherwise from the reserves of the profile the
+   * priority class is entitled to, otherwise from the Card Resource Service, waiting in the queue
+   * of the profile if needed.
+   *
+   * @return Null if no card resource is available.
+   */
+  private CardResourceReaderAdapter getReader(
+      ProfileContext profileContext, String affinityKey, AllocationPriority priority)
+      throws InterruptedException, PluginIOException {
+    CardResourceReservoir reservoir = profileContext.getReservoir();
+    if (reservoir != null) {
+      CardResourceReaderAdapter readerAdapter = null;
+      if (affinityKey != null) {
+        CardResource cardResource = profileContext.getAffinityMap().get(affinityKey);
+        if (cardResource != null) {
+          readerAdapter = reservoir.poll(cardResource);
+        }
+      }
+      if (readerAdapter == null) {
+        readerAdapter = reservoir.poll();
+      }
+      if (readerAdapter != null) {
+        return readerAdapter;
+      }
+    }
+    AllocationPriority[] priorities = AllocationPriority.values();
+    for (int i = priority.ordinal(); i < priorities.length; i++) {
+      CardResourceReservoir reserve = profileContext.getReserve(priorities[i]);
+      CardResourceReaderAdapter readerAdapter = reserve != null ? reserve.poll() : null;
+      if (readerAdapter != null) {
+        return readerAdapter;
+      }
+    }
+    CardResourceWaitQueue waitQueue = profileContext.getWaitQueue();
+    CardResource cardResource =
+        waitQueue != null
+            ? waitQueue.acquire(priority)
+            : cardResourceService.getCardResource(profileContext.getCardResourceProfileName());
+    return cardResource != null
+        ? profileContext.getReaderAdapterFactory().createReaderAdapter(cardResource)
+        : null;
   }
 
   /**
    * {@inheritDoc}
    *
+   * <p>The card resource is handed over directly to the first caller of the highest priority class
+   * waiting for the same profile, if any, the reserves of the profile being refilled before
+   * serving the lower classes. Otherwise it is put back into the reservoir of the profile if it is
+   * not full, otherwise it is given back to the Card Resource Service.
+   *
    * @since 1.0.0
    */
   @Override
   public void releaseReader(ReaderSpi readerSpi) {
-    CardResource cardResource = ((CardResourceReaderAdapter) readerSpi).getCardResource();
-    cardResourceService.releaseCardResource(cardResource);
+    CardResourceReaderAdapter readerAdapter = (CardResourceReaderAdapter) readerSpi;
+    CardResource cardResource = leases.remove(readerAdapter);
+    if (cardResource == null) {
+      // already released or reclaimed
+      return;
+    }
+    ProfileContext profileContext =
+        profileContexts.get(readerAdapter.getCardResourceProfileName());
+    long holdTimeNanos = System.nanoTime() - readerAdapter.getAllocationTimeNanos();
+    profileContext.getAllocationStatistics().recordRelease(holdTimeNanos);
+    eventDispatcher.publish(
+        AllocationEventType.RELEASE,
+        profileContext.getCardResourceProfileName(),
+        readerAdapter.getName(),
+        null,
+        holdTimeNanos);
+    readerAdapter.clearApduResponseCache();
+    if (readerAdapter.getAffinityKey() != null) {
+      profileContext.getAffinityMap().put(readerAdapter.getAffinityKey(), cardResource);
+    }
+    recycleCardResource(profileContext, readerAdapter, cardResource);
+  }
+
+  /**
+   * Quarantines the card resource of the provided reader if its last APDU exchanges failed,
+   * otherwise gives it back.
+   */
+  private void recycleCardResource(
+      ProfileContext profileContext,
+      CardResourceReaderAdapter readerAdapter,
+      CardResource cardResource) {
+    int consecutiveFailureCount = readerAdapter.getHealth().getConsecutiveFailureCount();
+    if (maxConsecutiveFailures == 0 || consecutiveFailureCount < maxConsecutiveFailures) {
+      returnCardResource(profileContext, cardResource);
+      return;
+    }
+    quarantinedCardResources.put(cardResource, profileContext);
+    profileContext.getAllocationStatistics().recordQuarantine();
+    logger.warn(
+        "Quarantining the card resource of reader '{}' of profile '{}' after {} consecutive"
+            + " failed APDU exchanges",
+        readerAdapter.getName(),
+        profileContext.getCardResourceProfileName(),
+        consecutiveFailureCount);
+  }
+
+  /**
+   * Probes the liveness of the idle card resources of the reservoirs and reserves, the allocated
+   * ones being left to their holder.
+   */
+  private void probeLiveness() {
+    for (ProfileContext profileContext : profileContexts.values()) {
+      if (profileContext.getReservoir() != null) {
+        probeLiveness(profileContext.getReservoir());
+      }
+      for (AllocationPriority priority : AllocationPriority.values()) {
+        if (profileContext.getReserve(priority) != null) {
+          probeLiveness(profileContext.getReserve(priority));
+        }
+      }
+    }
+  }
+
+  /** Probes the liveness of the card resources of the provided reservoir. */
+  private void probeLiveness(CardResourceReservoir reservoir) {
+    for (CardResourceReaderAdapter readerAdapter : reservoir.getReaders()) {
+      livenessProber.probe(readerAdapter, reservoir);
+    }
+  }
+
+  /** Probes the quarantined card resources and gives back the ones that are healthy again. */
+  private void probeQuarantinedCardResources() {
+    for (Map.Entry<CardResource, ProfileContext> entry : quarantinedCardResources.entrySet()) {
+      CardResource cardResource = entry.getKey();
+      ReaderSpi readerSpi = (ReaderSpi) cardResource.getReaderExtension();
+      if (!probe(readerSpi) || quarantinedCardResources.remove(cardResource) == null) {
+        continue;
+      }
+      CardResourceHealth health = readerHealths.get(readerSpi.getName());
+      if (health != null) {
+        health.reset();
+        health.recordLivenessProbe(true, true);
+      }
+      logger.info(
+          "Bringing back the card resource of reader '{}' of profile '{}' after a successful probe",
+          readerSpi.getName(),
+          entry.getValue().getCardResourceProfileName());
+      try {
+        returnCardResource(entry.getValue(), cardResource);
+      } catch (RuntimeException e) {
+        logger.error(
+            "Unable to give back the card resource of reader '{}': {}",
+            readerSpi.getName(),
+            e.getMessage(),
+            e);
+      }
+    }
+  }
+
+  /**
+   * Checks the card presence, or transmits the health probe APDU if configured and expects a
+   * successful status word.
+   */
+  private boolean probe(ReaderSpi readerSpi) {
+    try {
+      if (healthProbeApdu == null) {
+        return readerSpi.checkCardPresence();
+      }
+      byte[] apduResponse = readerSpi.transmitApdu(healthProbeApdu);
+      return apduResponse.length >= 2
+          && apduResponse[apduResponse.length - 2] == (byte) 0x90
+          && apduResponse[apduResponse.length - 1] == 0;
+    } catch (Exception e) {
+      logger.debug("Probe of reader '{}' failed: {}", readerSpi.getName(), e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * Gives back a card resource no longer used, by decreasing priority class to the first caller
+   * waiting for the profile or to the reserve of the class if not full, otherwise to the reservoir
+   * of the profile if not full, otherwise to the Card Resource Service.
+   */
+  private void returnCardResource(ProfileContext profileContext, CardResource cardResource) {
+    CardResourceWaitQueue waitQueue = profileContext.getWaitQueue();
+    for (AllocationPriority priority : AllocationPriority.values()) {
+      if (waitQueue != null && waitQueue.handOver(cardResource, priority)) {
+        return;
+      }
+      CardResourceReservoir reserve = profileContext.getReserve(priority);
+      if (reserve != null && reserve.offer(cardResource)) {
+        return;
+      }
+    }
+    CardResourceReservoir reservoir = profileContext.getReservoir();
+    if (reservoir == null || !reservoir.offer(cardResource)) {
+      cardResourceService.releaseCardResource(cardResource);
+    }
+  }
+
+  /**
+   * Reclaims the card resources of the readers whose maximum hold time or idle timeout has expired
+   * and invalidates these readers.
+   */
+  private void reclaimExpiredLeases() {
+    long now = System.nanoTime();
+    for (CardResourceReaderAdapter readerAdapter : leases.keySet()) {
+      long holdTimeNanos = now - readerAdapter.getAllocationTimeNanos();
+      long idleTimeNanos = now - readerAdapter.getLastActivityNanos();
+      if ((maxHoldTimeNanos > 0 && holdTimeNanos > maxHoldTimeNanos)
+          || (idleTimeoutNanos > 0 && idleTimeNanos > idleTimeoutNanos)) {
+        reclaimLease(readerAdapter, holdTimeNanos, idleTimeNanos);
+      }
+    }
+  }
+
+  /** Reclaims the card resource of the provided reader, unless it has been released meanwhile. */
+  private void reclaimLease(
+      CardResourceReaderAdapter readerAdapter, long holdTimeNanos, long idleTimeNanos) {
+    CardResource cardResource = leases.remove(readerAdapter);
+    if (cardResource == null) {
+      return;
+    }
+    readerAdapter.onUnregister();
+    ProfileContext profileContext =
+        profileContexts.get(readerAdapter.getCardResourceProfileName());
+    profileContext.getAllocationStatistics().recordReclamation();
+    eventDispatcher.publish(
+        AllocationEventType.RECLAMATION,
+        profileContext.getCardResourceProfileName(),
+        readerAdapter.getName(),
+        null,
+        holdTimeNanos);
+    logger.warn(
+        "Reclaiming the card resource of the expired reader '{}' of profile '{}'"
+            + " (held for {} ms, idle for {} ms){}",
+        readerAdapter.getName(),
+        readerAdapter.getCardResourceProfileName(),
+        TimeUnit.NANOSECONDS.toMillis(holdTimeNanos),
+        TimeUnit.NANOSECONDS.toMillis(idleTimeNanos),
+        readerAdapter.getAllocationSite() != null ? ", allocated at:" : "",
+        readerAdapter.getAllocationSite());
+    try {
+      recycleCardResource(profileContext, readerAdapter, cardResource);
+    } catch (RuntimeException e) {
+      logger.error(
+          "Unable to give back the card resource of the expired reader '{}': {}",
+          readerAdapter.getName(),
+          e.getMessage(),
+          e);
+    }
   }
 
   /**
    * {@inheritDoc}
    *
+   * <p>Fails the allocations waiting for a card resource, gives back to the Card Resource Service
+   * the card resources of the readers still allocated, in parallel, as well as the card resources
+   * of the reservoirs, of the reserves and the quarantined card resources, then shuts down the
+   * internal threads of the plugin. The readers still allocated are invalidated.
+   *
    * @since 1.0.0
    */
   @Override
   public void onUnregister() {
-    // NOP
+    for (ProfileContext profileContext : profileContexts.values()) {
+      if (profileContext.getWaitQueue() != null) {
+        profileContext.getWaitQueue().close();
+      }
+    }
+    scheduler.shutdown();
+    if (livenessProber != null) {
+      livenessProber.close();
+    }
+    releaseOutstandingLeases();
+    for (ProfileContext profileContext : profileContexts.values()) {
+      if (profileContext.getReservoir() != null) {
+        profileContext.getReservoir().close();
+      }
+      for (AllocationPriority priority : AllocationPriority.values()) {
+        if (profileContext.getReserve(priority) != null) {
+          profileContext.getReserve(priority).close();
+        }
+      }
+    }
+    for (CardResource cardResource : quarantinedCardResources.keySet()) {
+      if (quarantinedCardResources.remove(cardResource) != null) {
+        cardResourceService.releaseCardResource(cardResource);
+      }
+    }
+    if (ownedAllocationExecutor != null) {
+      ownedAllocationExecutor.shutdown();
+    }
+    eventDispatcher.close();
+    if (apduExchangeRecorder != null) {
+      apduExchangeRecorder.close();
+      if (apduExchangeRecorder.getDroppedRecordCount() > 0) {
+        logger.warn(
+            "{} APDU exchanges not recorded because the APDU exchange log was full",
+            apduExchangeRecorder.getDroppedRecordCount());
+      }
+    }
+  }
+
+  /**
+   * Gives back in parallel to the Card Resource Service the card resources of the readers still
+   * allocated, waiting for the releases to complete within a time limit.
+   */
+  private void releaseOutstandingLeases() {
+    Map<CardResourceReaderAdapter, CardResource> outstandingLeases =
+        new HashMap<CardResourceReaderAdapter, CardResource>();
+    for (CardResourceReaderAdapter readerAdapter : leases.keySet()) {
+      CardResource cardResource = leases.remove(readerAdapter);
+      if (cardResource != null) {
+        outstandingLeases.put(readerAdapter, cardResource);
+      }
+    }
+    if (outstandingLeases.isEmpty()) {
+      return;
+    }
+    logger.warn(
+        "Releasing {} reader(s) still allocated at the unregistration of plugin '{}'",
+        outstandingLeases.size(),
+        pluginName);
+    ExecutorService releaseExecutor =
+        Executors.newFixedThreadPool(
+            Math.min(outstandingLeases.size(), MAX_RELEASE_THREADS),
+            new DaemonThreadFactory(pluginName, "release"));
+    for (final Map.Entry<CardResourceReaderAdapter, CardResource> outstandingLease :
+        outstandingLeases.entrySet()) {
+      releaseExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              releaseOutstandingLease(outstandingLease.getKey(), outstandingLease.getValue());
+            }
+          });
+    }
+    releaseExecutor.shutdown();
+    try {
+      if (!releaseExecutor.awaitTermination(RELEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.error(
+            "Readers still allocated not all released after {} s at the unregistration of"
+                + " plugin '{}'",
+            RELEASE_TIMEOUT_SECONDS,
+            pluginName);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Invalidates a reader still allocated and gives back the card resource it was leased. */
+  private void releaseOutstandingLease(
+      CardResourceReaderAdapter readerAdapter, CardResource cardResource) {
+    readerAdapter.onUnregister();
+    ProfileContext profileContext =
+        profileContexts.get(readerAdapter.getCardResourceProfileName());
+    long holdTimeNanos = System.nanoTime() - readerAdapter.getAllocationTimeNanos();
+    profileContext.getAllocationStatistics().recordRelease(holdTimeNanos);
+    eventDispatcher.publish(
+        AllocationEventType.RELEASE,
+        profileContext.getCardResourceProfileName(),
+        readerAdapter.getName(),
+        null,
+        holdTimeNanos);
+    try {
+      cardResourceService.releaseCardResource(cardResource);
+    } catch (RuntimeException e) {
+      logger.error(
+          "Unable to give back the card resource of the reader '{}': {}",
+          readerAdapter.getName(),
+          e.getMessage(),
+          e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public CompletableFuture<CardResourceReader> allocateReaderAsync(
+      final String cardResourceProfileName) {
+    final CompletableFuture<CardResourceReader> future =
+        new CompletableFuture<CardResourceReader>();
+    try {
+      allocationExecutor.execute(
+          new Runnable() {
+            @Override
+            public void run() {
+              try {
+                CardResourceReaderAdapter readerAdapter =
+                    (CardResourceReaderAdapter) allocateReader(cardResourceProfileName);
+                if (!future.complete(readerAdapter)) {
+                  // cancelled or completed by the caller meanwhile, nobody will release the reader
+                  releaseAndInvalidateReader(readerAdapter);
+                }
+              } catch (Exception e) {
+                future.completeExceptionally(e);
+              }
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(
+          new PluginIOException(
+              "Allocation request rejected for profile " + cardResourceProfileName, e));
+    }
+    return future;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public List<CardResourceReader> allocateReaders(final List<String> cardResourceProfileNames)
+      throws PluginIOException {
+    Assert.getInstance().notEmpty(cardResourceProfileNames, "cardResourceProfileNames");
+    // allocation in a global order to prevent concurrent bulk allocations from starving each other
+    Integer[] allocationOrder = new Integer[cardResourceProfileNames.size()];
+    for (int i = 0; i < allocationOrder.length; i++) {
+      allocationOrder[i] = i;
+    }
+    Arrays.sort(
+        allocationOrder,
+        new Comparator<Integer>() {
+          @Override
+          public int compare(Integer i1, Integer i2) {
+            return cardResourceProfileNames.get(i1).compareTo(cardResourceProfileNames.get(i2));
+          }
+        });
+    CardResourceReader[] readers = new CardResourceReader[allocationOrder.length];
+    int allocatedCount = 0;
+    try {
+      for (; allocatedCount < allocationOrder.length; allocatedCount++) {
+        int index = allocationOrder[allocatedCount];
+        readers[index] =
+            allocate(cardResourceProfileNames.get(index), null, AllocationPriority.NORMAL);
+      }
+    } finally {
+      if (allocatedCount < allocationOrder.length) {
+        for (int i = allocatedCount - 1; i >= 0; i--) {
+          releaseAndInvalidateReader((CardResourceReaderAdapter) readers[allocationOrder[i]]);
+        }
+      }
+    }
+    return Arrays.asList(readers);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void releaseCardResourceReader(CardResourceReader cardResourceReader) {
+    Assert.getInstance()
+        .notNull(cardResourceReader, "cardResourceReader")
+        .isTrue(cardResourceReader instanceof CardResourceReaderAdapter, "cardResourceReader");
+    releaseAndInvalidateReader((CardResourceReaderAdapter) cardResourceReader);
+  }
+
+  /**
+   * Releases the provided reader and invalidates it, as done by the Keyple service for the readers
+   * it allocated.
+   */
+  private void releaseAndInvalidateReader(CardResourceReaderAdapter readerAdapter) {
+    releaseReader(readerAdapter);
+    readerAdapter.onUnregister();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public AllocationStatistics getAllocationStatistics(String cardResourceProfileName) {
+    ProfileContext profileContext = profileContexts.get(cardResourceProfileName);
+    Assert.getInstance().notNull(profileContext, "cardResourceProfileName");
+    return profileContext.getAllocationStatistics();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public AllocationStatistics getGlobalAllocationStatistics() {
+    return globalAllocationStatistics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public int getLeaseCount() {
+    return leases.size();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public List<CardResourceLease> getLeases() {
+    long nowNanos = System.nanoTime();
+    List<CardResourceLease> snapshot = new ArrayList<CardResourceLease>();
+    for (CardResourceReaderAdapter readerAdapter : leases.keySet()) {
+      snapshot.add(new CardResourceLeaseAdapter(readerAdapter, nowNanos));
+    }
+    return snapshot;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void addAllocationEventListener(AllocationEventListener listener) {
+    Assert.getInstance().notNull(listener, "listener");
+    eventDispatcher.addListener(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void removeAllocationEventListener(AllocationEventListener listener) {
+    Assert.getInstance().notNull(listener, "listener");
+    eventDispatcher.removeListener(listener);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getDroppedAllocationEventCount() {
+    return eventDispatcher.getDroppedEventCount();
   }
 }
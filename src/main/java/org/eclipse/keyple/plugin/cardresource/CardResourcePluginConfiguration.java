@@ -0,0 +1,489 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Optional settings of the plugin, collected by {@link CardResourcePluginFactoryBuilder.Builder}
+ * and used by {@link CardResourcePluginAdapter}.
+ *
+ * <p>All settings have a default value preserving the behavior of the plugin when nothing is
+ * configured.
+ *
+ * @since 2.1.0
+ */
+final class CardResourcePluginConfiguration {
+
+  private Executor allocationExecutor;
+  private int maxHoldTimeMillis;
+  private int idleTimeoutMillis;
+  private int allocationSiteSamplingInterval = 100;
+  private int affinityMapCapacity = 1024;
+  private int allocationEventBufferCapacity = 1024;
+  private int maxConsecutiveFailures;
+  private int quarantineProbePeriodMillis;
+  private int livenessProbePeriodMillis;
+  private int maxConcurrentLivenessProbes;
+  private int latencyOutlierThresholdMillis;
+  private byte[] healthProbeApdu;
+  private ApduCachePolicy apduCachePolicy;
+  private String apduRecordingFilePath;
+  private int apduRecordingCapacity;
+  private final Map<String, Integer> maxWaitTimesMillis = new HashMap<String, Integer>();
+  private final Map<String, Integer> reservoirLowWaterMarks = new HashMap<String, Integer>();
+  private final Map<String, Integer> reservoirHighWaterMarks = new HashMap<String, Integer>();
+  private final Map<String, Integer> explorationPercents = new HashMap<String, Integer>();
+  private final Map<String, Integer> maxConcurrentAllocations = new HashMap<String, Integer>();
+  private final Map<String, Integer> maxWaiterCounts = new HashMap<String, Integer>();
+  private final Map<String, int[]> reservedCapacities = new HashMap<String, int[]>();
+  private final Map<String, List<String>> readerGroups = new HashMap<String, List<String>>();
+
+  /**
+   * Constructs a configuration with the default settings.
+   *
+   * @since 2.1.0
+   */
+  CardResourcePluginConfiguration() {}
+
+  /**
+   * Constructs a deep copy of the provided configuration, so that the copy is not affected by the
+   * later changes of the original.
+   *
+   * @param configuration The configuration to copy.
+   * @since 2.1.0
+   */
+  CardResourcePluginConfiguration(CardResourcePluginConfiguration configuration) {
+    this.allocationExecutor = configuration.allocationExecutor;
+    this.maxHoldTimeMillis = configuration.maxHoldTimeMillis;
+    this.idleTimeoutMillis = configuration.idleTimeoutMillis;
+    this.allocationSiteSamplingInterval = configuration.allocationSiteSamplingInterval;
+    this.affinityMapCapacity = configuration.affinityMapCapacity;
+    this.allocationEventBufferCapacity = configuration.allocationEventBufferCapacity;
+    this.maxConsecutiveFailures = configuration.maxConsecutiveFailures;
+    this.quarantineProbePeriodMillis = configuration.quarantineProbePeriodMillis;
+    this.livenessProbePeriodMillis = configuration.livenessProbePeriodMillis;
+    this.maxConcurrentLivenessProbes = configuration.maxConcurrentLivenessProbes;
+    this.latencyOutlierThresholdMillis = configuration.latencyOutlierThresholdMillis;
+    this.healthProbeApdu =
+        configuration.healthProbeApdu != null ? configuration.healthProbeApdu.clone() : null;
+    this.apduCachePolicy = configuration.apduCachePolicy;
+    this.apduRecordingFilePath = configuration.apduRecordingFilePath;
+    this.apduRecordingCapacity = configuration.apduRecordingCapacity;
+    this.maxWaitTimesMillis.putAll(configuration.maxWaitTimesMillis);
+    this.reservoirLowWaterMarks.putAll(configuration.reservoirLowWaterMarks);
+    this.reservoirHighWaterMarks.putAll(configuration.reservoirHighWaterMarks);
+    this.explorationPercents.putAll(configuration.explorationPercents);
+    this.maxConcurrentAllocations.putAll(configuration.maxConcurrentAllocations);
+    this.maxWaiterCounts.putAll(configuration.maxWaiterCounts);
+    for (Map.Entry<String, int[]> entry : configuration.reservedCapacities.entrySet()) {
+      this.reservedCapacities.put(entry.getKey(), entry.getValue().clone());
+    }
+    for (Map.Entry<String, List<String>> entry : configuration.readerGroups.entrySet()) {
+      this.readerGroups.put(entry.getKey(), new ArrayList<String>(entry.getValue()));
+    }
+  }
+
+  /**
+   * @return The executor to use for asynchronous allocations, or null if the plugin must create
+   *     its own.
+   * @since 2.1.0
+   */
+  Executor getAllocationExecutor() {
+    return allocationExecutor;
+  }
+
+  /**
+   * @param allocationExecutor The executor to use for asynchronous allocations.
+   * @since 2.1.0
+   */
+  void setAllocationExecutor(Executor allocationExecutor) {
+    this.allocationExecutor = allocationExecutor;
+  }
+
+  /**
+   * @return The maximum time in milliseconds a reader can be held before being reclaimed, 0 if
+   *     unlimited.
+   * @since 2.1.0
+   */
+  int getMaxHoldTimeMillis() {
+    return maxHoldTimeMillis;
+  }
+
+  /**
+   * @param maxHoldTimeMillis The maximum hold time in milliseconds, 0 if unlimited.
+   * @since 2.1.0
+   */
+  void setMaxHoldTimeMillis(int maxHoldTimeMillis) {
+    this.maxHoldTimeMillis = maxHoldTimeMillis;
+  }
+
+  /**
+   * @return The maximum time in milliseconds a reader can stay without APDU exchange before being
+   *     reclaimed, 0 if unlimited.
+   * @since 2.1.0
+   */
+  int getIdleTimeoutMillis() {
+    return idleTimeoutMillis;
+  }
+
+  /**
+   * @param idleTimeoutMillis The idle timeout in milliseconds, 0 if unlimited.
+   * @since 2.1.0
+   */
+  void setIdleTimeoutMillis(int idleTimeoutMillis) {
+    this.idleTimeoutMillis = idleTimeoutMillis;
+  }
+
+  /**
+   * @return The average number of allocations between two captures of the allocation site, 0 if
+   *     the allocation sites are never captured.
+   * @since 2.1.0
+   */
+  int getAllocationSiteSamplingInterval() {
+    return allocationSiteSamplingInterval;
+  }
+
+  /**
+   * @param allocationSiteSamplingInterval The average number of allocations between two captures
+   *     of the allocation site, 0 to disable the captures.
+   * @since 2.1.0
+   */
+  void setAllocationSiteSamplingInterval(int allocationSiteSamplingInterval) {
+    this.allocationSiteSamplingInterval = allocationSiteSamplingInterval;
+  }
+
+  /**
+   * @return The maximum number of affinity keys remembered per profile.
+   * @since 2.1.0
+   */
+  int getAffinityMapCapacity() {
+    return affinityMapCapacity;
+  }
+
+  /**
+   * @param affinityMapCapacity The maximum number of affinity keys remembered per profile.
+   * @since 2.1.0
+   */
+  void setAffinityMapCapacity(int affinityMapCapacity) {
+    this.affinityMapCapacity = affinityMapCapacity;
+  }
+
+  /**
+   * @return The capacity of the buffer of the allocation events not yet delivered to the
+   *     listeners.
+   * @since 2.1.0
+   */
+  int getAllocationEventBufferCapacity() {
+    return allocationEventBufferCapacity;
+  }
+
+  /**
+   * @param allocationEventBufferCapacity The capacity of the buffer of the allocation events.
+   * @since 2.1.0
+   */
+  void setAllocationEventBufferCapacity(int allocationEventBufferCapacity) {
+    this.allocationEventBufferCapacity = allocationEventBufferCapacity;
+  }
+
+  /**
+   * @return The number of consecutive failed or slow APDU exchanges leading to the quarantine of a
+   *     card resource, 0 if the quarantine is disabled.
+   * @since 2.1.0
+   */
+  int getMaxConsecutiveFailures() {
+    return maxConsecutiveFailures;
+  }
+
+  /**
+   * @return The period in milliseconds of the probing of the quarantined card resources.
+   * @since 2.1.0
+   */
+  int getQuarantineProbePeriodMillis() {
+    return quarantineProbePeriodMillis;
+  }
+
+  /**
+   * @param maxConsecutiveFailures The number of consecutive failed or slow APDU exchanges leading
+   *     to the quarantine of a card resource.
+   * @param probePeriodMillis The period in milliseconds of the probing of the quarantined card
+   *     resources.
+   * @since 2.1.0
+   */
+  void setQuarantine(int maxConsecutiveFailures, int probePeriodMillis) {
+    this.maxConsecutiveFailures = maxConsecutiveFailures;
+    this.quarantineProbePeriodMillis = probePeriodMillis;
+  }
+
+  /**
+   * @return The period in milliseconds of the liveness probes of the card resources, 0 if
+   *     disabled.
+   * @since 2.1.0
+   */
+  int getLivenessProbePeriodMillis() {
+    return livenessProbePeriodMillis;
+  }
+
+  /**
+   * @return The maximum number of liveness probes running concurrently.
+   * @since 2.1.0
+   */
+  int getMaxConcurrentLivenessProbes() {
+    return maxConcurrentLivenessProbes;
+  }
+
+  /**
+   * @param probePeriodMillis The period in milliseconds of the liveness probes.
+   * @param maxConcurrentProbes The maximum number of liveness probes running concurrently.
+   * @since 2.1.0
+   */
+  void setLivenessProbe(int probePeriodMillis, int maxConcurrentProbes) {
+    this.livenessProbePeriodMillis = probePeriodMillis;
+    this.maxConcurrentLivenessProbes = maxConcurrentProbes;
+  }
+
+  /**
+   * @return The latency in milliseconds above which an APDU exchange is counted as a failure, 0 if
+   *     disabled.
+   * @since 2.1.0
+   */
+  int getLatencyOutlierThresholdMillis() {
+    return latencyOutlierThresholdMillis;
+  }
+
+  /**
+   * @param latencyOutlierThresholdMillis The latency in milliseconds above which an APDU exchange
+   *     is counted as a failure.
+   * @since 2.1.0
+   */
+  void setLatencyOutlierThresholdMillis(int latencyOutlierThresholdMillis) {
+    this.latencyOutlierThresholdMillis = latencyOutlierThresholdMillis;
+  }
+
+  /**
+   * @return The APDU command used to probe the quarantined card resources, null to check the card
+   *     presence only.
+   * @since 2.1.0
+   */
+  byte[] getHealthProbeApdu() {
+    return healthProbeApdu;
+  }
+
+  /**
+   * @param healthProbeApdu The APDU command used to probe the quarantined card resources.
+   * @since 2.1.0
+   */
+  void setHealthProbeApdu(byte[] healthProbeApdu) {
+    this.healthProbeApdu = healthProbeApdu;
+  }
+
+  /**
+   * @return The policy of the APDU response caches, null if disabled.
+   * @since 2.1.0
+   */
+  ApduCachePolicy getApduCachePolicy() {
+    return apduCachePolicy;
+  }
+
+  /**
+   * @param apduCachePolicy The policy of the APDU response caches.
+   * @since 2.1.0
+   */
+  void setApduCachePolicy(ApduCachePolicy apduCachePolicy) {
+    this.apduCachePolicy = apduCachePolicy;
+  }
+
+  /**
+   * @return The path of the APDU exchange log, null if the recording is disabled.
+   * @since 2.1.0
+   */
+  String getApduRecordingFilePath() {
+    return apduRecordingFilePath;
+  }
+
+  /**
+   * @return The size of the APDU exchange log in bytes.
+   * @since 2.1.0
+   */
+  int getApduRecordingCapacity() {
+    return apduRecordingCapacity;
+  }
+
+  /**
+   * @param apduRecordingFilePath The path of the APDU exchange log.
+   * @param apduRecordingCapacity The size of the APDU exchange log in bytes.
+   * @since 2.1.0
+   */
+  void setApduRecording(String apduRecordingFilePath, int apduRecordingCapacity) {
+    this.apduRecordingFilePath = apduRecordingFilePath;
+    this.apduRecordingCapacity = apduRecordingCapacity;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The maximum time in milliseconds to wait for a card resource of the profile, 0 if the
+   *     allocation must fail immediately when no card resource is available.
+   * @since 2.1.0
+   */
+  int getMaxWaitTimeMillis(String cardResourceProfileName) {
+    Integer maxWaitTimeMillis = maxWaitTimesMillis.get(cardResourceProfileName);
+    return maxWaitTimeMillis != null ? maxWaitTimeMillis : 0;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param maxWaitTimeMillis The maximum time in milliseconds to wait for a card resource.
+   * @since 2.1.0
+   */
+  void setMaxWaitTimeMillis(String cardResourceProfileName, int maxWaitTimeMillis) {
+    maxWaitTimesMillis.put(cardResourceProfileName, maxWaitTimeMillis);
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The size below which the reservoir of the profile is refilled, 0 if the profile has no
+   *     reservoir.
+   * @since 2.1.0
+   */
+  int getReservoirLowWaterMark(String cardResourceProfileName) {
+    Integer lowWaterMark = reservoirLowWaterMarks.get(cardResourceProfileName);
+    return lowWaterMark != null ? lowWaterMark : 0;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The maximum size of the reservoir of the profile, 0 if the profile has no reservoir.
+   * @since 2.1.0
+   */
+  int getReservoirHighWaterMark(String cardResourceProfileName) {
+    Integer highWaterMark = reservoirHighWaterMarks.get(cardResourceProfileName);
+    return highWaterMark != null ? highWaterMark : 0;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param lowWaterMark The size below which the reservoir is refilled.
+   * @param highWaterMark The maximum size of the reservoir.
+   * @since 2.1.0
+   */
+  void setReservoir(String cardResourceProfileName, int lowWaterMark, int highWaterMark) {
+    reservoirLowWaterMarks.put(cardResourceProfileName, lowWaterMark);
+    reservoirHighWaterMarks.put(cardResourceProfileName, highWaterMark);
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The percentage of the latency-aware selections of the profile picking a reader at
+   *     random, -1 if the selection of the profile is not latency-aware.
+   * @since 2.1.0
+   */
+  int getExplorationPercent(String cardResourceProfileName) {
+    Integer explorationPercent = explorationPercents.get(cardResourceProfileName);
+    return explorationPercent != null ? explorationPercent : -1;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param explorationPercent The percentage of the selections picking a reader at random.
+   * @since 2.1.0
+   */
+  void setLatencyAwareSelection(String cardResourceProfileName, int explorationPercent) {
+    explorationPercents.put(cardResourceProfileName, explorationPercent);
+  }
+
+  /**
+   * @return The virtual reader groups, associating each reference with its ordered list of card
+   *     resource profile names.
+   * @since 2.1.0
+   */
+  Map<String, List<String>> getReaderGroups() {
+    return readerGroups;
+  }
+
+  /**
+   * @param readerGroupReference The reference of the virtual reader group.
+   * @param cardResourceProfileNames The names of the card resource profiles, by order of priority.
+   * @since 2.1.0
+   */
+  void setReaderGroup(String readerGroupReference, List<String> cardResourceProfileNames) {
+    readerGroups.put(readerGroupReference, new ArrayList<String>(cardResourceProfileNames));
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The maximum number of concurrent allocations, {@link Integer#MAX_VALUE} if unlimited.
+   * @since 2.1.0
+   */
+  int getMaxConcurrentAllocations(String cardResourceProfileName) {
+    Integer max = maxConcurrentAllocations.get(cardResourceProfileName);
+    return max != null ? max : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param max The maximum number of concurrent allocations.
+   * @since 2.1.0
+   */
+  void setMaxConcurrentAllocations(String cardResourceProfileName, int max) {
+    maxConcurrentAllocations.put(cardResourceProfileName, max);
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @return The maximum number of waiting callers, {@link Integer#MAX_VALUE} if unlimited.
+   * @since 2.1.0
+   */
+  int getMaxWaiters(String cardResourceProfileName) {
+    Integer max = maxWaiterCounts.get(cardResourceProfileName);
+    return max != null ? max : Integer.MAX_VALUE;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param max The maximum number of waiting callers.
+   * @since 2.1.0
+   */
+  void setMaxWaiters(String cardResourceProfileName, int max) {
+    maxWaiterCounts.put(cardResourceProfileName, max);
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param priority The priority class.
+   * @return The number of card resources of the profile reserved to the provided class, 0 if none.
+   * @since 2.1.0
+   */
+  int getReservedCapacity(String cardResourceProfileName, AllocationPriority priority) {
+    int[] capacities = reservedCapacities.get(cardResourceProfileName);
+    return capacities != null ? capacities[priority.ordinal()] : 0;
+  }
+
+  /**
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param priority The priority class.
+   * @param capacity The number of card resources reserved to the class.
+   * @since 2.1.0
+   */
+  void setReservedCapacity(
+      String cardResourceProfileName, AllocationPriority priority, int capacity) {
+    int[] capacities = reservedCapacities.get(cardResourceProfileName);
+    if (capacities == null) {
+      capacities = new int[AllocationPriority.values().length];
+      reservedCapacities.put(cardResourceProfileName, capacities);
+    }
+    capacities[priority.ordinal()] = capacity;
+  }
+}
@@ -29,6 +29,7 @@
   private final String pluginName;
   private final CardResourceService cardResourceService;
   private final Collection<String> cardResourceProfileNames;
+  private final CardResourcePluginConfiguration configuration;
 
   /**
    * Constructor.
@@ -37,15 +38,18 @@
    * @param cardResourceService The card resource service.
    * @param cardResourceProfileNames A collection of card resource profile names to be used by the
    *     plugin.
+   * @param configuration The optional settings of the plugin.
    * @since 1.0.0
    */
   CardResourcePluginFactoryAdapter(
       String pluginName,
       CardResourceService cardResourceService,
-      Collection<String> cardResourceProfileNames) {
+      Collection<String> cardResourceProfileNames,
+      CardResourcePluginConfiguration configuration) {
     this.pluginName = pluginName;
     this.cardResourceService = cardResourceService;
     this.cardResourceProfileNames = cardResourceProfileNames;
+    this.configuration = configuration;
   }
 
   /**
@@ -85,6 +89,7 @@ public String getPoolPluginName() {
    */
   @Override
   public PoolPluginSpi getPoolPlugin() {
-    return new CardResourcePluginAdapter(pluginName, cardResourceService, cardResourceProfileNames);
+    return new CardResourcePluginAdapter(
+        pluginName, cardResourceService, cardResourceProfileNames, configuration);
   }
 }
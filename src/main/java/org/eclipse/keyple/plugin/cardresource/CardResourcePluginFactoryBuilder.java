@@ -12,8 +12,11 @@
 package org.eclipse.keyple.plugin.cardresource;
 
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.service.resource.CardResourceService;
 import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.HexUtil;
 
 /**
  * Builds instances of {@link CardResourcePluginFactory}.
@@ -78,6 +81,8 @@ public static class Builder {
     private final String pluginName;
     private final CardResourceService cardResourceService;
     private final Collection<String> cardResourceProfileNames;
+    private final CardResourcePluginConfiguration configuration =
+        new CardResourcePluginConfiguration();
 
     /** Constructs a Builder with the factory parameters. */
     private Builder(
@@ -89,6 +94,465 @@ private Builder(
       this.cardResourceProfileNames = cardResourceProfileNames;
     }
 
+    /**
+     * Sets the executor used to perform the allocations requested with {@link
+     * CardResourcePlugin#allocateReaderAsync(String)}.
+     *
+     * <p>By default, the plugin uses its own executor, which is shut down when the plugin is
+     * unregistered: a pool of daemon threads, or one virtual thread per allocation on Java 21 and
+     * later. A provided executor is never shut down by the plugin.
+     *
+     * @param allocationExecutor The executor to use.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the provided executor is null.
+     * @since 2.1.0
+     */
+    public Builder setAllocationExecutor(Executor allocationExecutor) {
+      Assert.getInstance().notNull(allocationExecutor, "allocationExecutor");
+      configuration.setAllocationExecutor(allocationExecutor);
+      return this;
+    }
+
+    /**
+     * Sets the maximum time a reader can be held before its card resource is forcibly reclaimed by
+     * the plugin.
+     *
+     * <p>A reclaimed reader is invalidated: its APDU exchanges fail and its release is ignored. By
+     * default, the hold time is unlimited.
+     *
+     * @param maxHoldTimeMillis The maximum hold time in milliseconds, 0 for unlimited.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the hold time is negative.
+     * @since 2.1.0
+     */
+    public Builder setMaxHoldTime(int maxHoldTimeMillis) {
+      Assert.getInstance().greaterOrEqual(maxHoldTimeMillis, 0, "maxHoldTimeMillis");
+      configuration.setMaxHoldTimeMillis(maxHoldTimeMillis);
+      return this;
+    }
+
+    /**
+     * Sets the maximum time a reader can stay without any APDU exchange before its card resource is
+     * forcibly reclaimed by the plugin.
+     *
+     * <p>A reclaimed reader is invalidated: its APDU exchanges fail and its release is ignored. By
+     * default, the idle time is unlimited.
+     *
+     * @param idleTimeoutMillis The idle timeout in milliseconds, 0 for unlimited.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the timeout is negative.
+     * @since 2.1.0
+     */
+    public Builder setIdleTimeout(int idleTimeoutMillis) {
+      Assert.getInstance().greaterOrEqual(idleTimeoutMillis, 0, "idleTimeoutMillis");
+      configuration.setIdleTimeoutMillis(idleTimeoutMillis);
+      return this;
+    }
+
+    /**
+     * Sets how often the stack trace of an allocation is captured, in order to log the allocation
+     * site of the readers reclaimed because of {@link #setMaxHoldTime(int)} or {@link
+     * #setIdleTimeout(int)}.
+     *
+     * <p>By default, the allocation site is captured on average once every 100 allocations.
+     *
+     * @param samplingInterval The average number of allocations between two captures, 1 to capture
+     *     all the allocation sites, 0 to disable the captures.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the interval is negative.
+     * @since 2.1.0
+     */
+    public Builder setAllocationSiteSamplingInterval(int samplingInterval) {
+      Assert.getInstance().greaterOrEqual(samplingInterval, 0, "samplingInterval");
+      configuration.setAllocationSiteSamplingInterval(samplingInterval);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of affinity keys remembered per profile for the allocations performed
+     * with {@link CardResourcePlugin#allocateReader(String, String)}, the least recently used keys
+     * being forgotten first.
+     *
+     * <p>By default, 1024 keys are remembered per profile.
+     *
+     * @param capacity The maximum number of affinity keys per profile.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the capacity is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setAffinityMapCapacity(int capacity) {
+      Assert.getInstance().greaterOrEqual(capacity, 1, "capacity");
+      configuration.setAffinityMapCapacity(capacity);
+      return this;
+    }
+
+    /**
+     * Sets the capacity of the buffer holding the allocation events not yet delivered to the
+     * listeners added with {@link
+     * CardResourcePlugin#addAllocationEventListener(AllocationEventListener)}.
+     *
+     * <p>The events published while the buffer is full are dropped and counted. By default, the
+     * buffer holds 1024 events; the capacity is rounded up to a power of two.
+     *
+     * @param capacity The minimum number of buffered events.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the capacity is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setAllocationEventBufferCapacity(int capacity) {
+      Assert.getInstance().greaterOrEqual(capacity, 1, "capacity");
+      configuration.setAllocationEventBufferCapacity(capacity);
+      return this;
+    }
+
+    /**
+     * Enables the quarantine of the card resources whose APDU exchanges fail repeatedly.
+     *
+     * <p>A card resource whose last exchanges all failed with an I/O error (or were slower than
+     * the threshold set with {@link #setLatencyOutlierThreshold(int)}) is not given back when its
+     * reader is released, but kept out of rotation and probed periodically in the background. It is
+     * given back as soon as a probe succeeds.
+     *
+     * <p>By default, the card resources are never quarantined.
+     *
+     * @param maxConsecutiveFailures The number of consecutive failed exchanges leading to the
+     *     quarantine.
+     * @param probePeriodMillis The period in milliseconds of the probing of the quarantined card
+     *     resources.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If a value is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setQuarantine(int maxConsecutiveFailures, int probePeriodMillis) {
+      Assert.getInstance()
+          .greaterOrEqual(maxConsecutiveFailures, 1, "maxConsecutiveFailures")
+          .greaterOrEqual(probePeriodMillis, 1, "probePeriodMillis");
+      configuration.setQuarantine(maxConsecutiveFailures, probePeriodMillis);
+      return this;
+    }
+
+    /**
+     * Enables the background liveness probing of the idle card resources held by the reservoirs
+     * and reserves of the plugin (see {@link #setReservoir(String, int, int)}).
+     *
+     * <p>The presence of the card in each idle underlying reader is checked periodically and the
+     * result is cached, so that {@code isPhysicalChannelOpen} and {@code checkCardPresence} of the
+     * readers return it without accessing the underlying reader, including once allocated. A
+     * reader is never probed while allocated, the underlying readers not being expected to support
+     * concurrent accesses, and at most {@code maxConcurrentProbes} probes run at the same time.
+     *
+     * <p>By default, the card resources are not probed and the readers always report an open
+     * physical channel and a present card.
+     *
+     * @param probePeriodMillis The period in milliseconds of the probing of each card resource.
+     * @param maxConcurrentProbes The maximum number of probes running concurrently.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If a value is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setLivenessProbe(int probePeriodMillis, int maxConcurrentProbes) {
+      Assert.getInstance()
+          .greaterOrEqual(probePeriodMillis, 1, "probePeriodMillis")
+          .greaterOrEqual(maxConcurrentProbes, 1, "maxConcurrentProbes");
+      configuration.setLivenessProbe(probePeriodMillis, maxConcurrentProbes);
+      return this;
+    }
+
+    /**
+     * Sets the latency above which a successful APDU exchange is counted as a failure for the
+     * quarantine (see {@link #setQuarantine(int, int)}).
+     *
+     * <p>By default, only the exchanges failed with an I/O error are counted.
+     *
+     * @param thresholdMillis The latency threshold in milliseconds.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the threshold is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setLatencyOutlierThreshold(int thresholdMillis) {
+      Assert.getInstance().greaterOrEqual(thresholdMillis, 1, "thresholdMillis");
+      configuration.setLatencyOutlierThresholdMillis(thresholdMillis);
+      return this;
+    }
+
+    /**
+     * Sets the APDU command transmitted to probe the quarantined card resources (see {@link
+     * #setQuarantine(int, int)}), the probe succeeding if the status word of the response is 9000h.
+     *
+     * <p>By default, the probe only checks the presence of the card.
+     *
+     * @param apduCommand The APDU command.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the command is null or empty.
+     * @since 2.1.0
+     */
+    public Builder setHealthProbeApdu(byte[] apduCommand) {
+      Assert.getInstance().notEmpty(apduCommand, "apduCommand");
+      configuration.setHealthProbeApdu(apduCommand.clone());
+      return this;
+    }
+
+    /**
+     * Enables the caching of the responses to the idempotent APDU commands, such as the reading of
+     * the SAM parameters or of a serial number.
+     *
+     * <p>The successful responses (status word 9000h) to the commands starting with one of the
+     * provided prefixes are cached per allocated reader, so that the same command transmitted
+     * again through the reader is answered without any exchange with the card. The cache of a
+     * reader is bounded, evicts the least recently used responses first and is cleared when the
+     * reader is released.
+     *
+     * <p>By default, no response is cached.
+     *
+     * @param cacheableApduPrefixes The hexadecimal prefixes of the cacheable APDU commands (e.g.
+     *     "80CA" for a GET DATA command with class byte 80h).
+     * @param capacity The maximum number of responses cached per reader.
+     * @param timeToLiveMillis The time to live of a cached response in milliseconds.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the list is null, empty or contains an invalid
+     *     hexadecimal string, or if a value is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setApduResponseCache(
+        List<String> cacheableApduPrefixes, int capacity, int timeToLiveMillis) {
+      Assert.getInstance()
+          .notEmpty(cacheableApduPrefixes, "cacheableApduPrefixes")
+          .greaterOrEqual(capacity, 1, "capacity")
+          .greaterOrEqual(timeToLiveMillis, 1, "timeToLiveMillis");
+      List<byte[]> prefixes = new ArrayList<byte[]>(cacheableApduPrefixes.size());
+      for (String cacheableApduPrefix : cacheableApduPrefixes) {
+        Assert.getInstance()
+            .notEmpty(cacheableApduPrefix, "cacheableApduPrefix")
+            .isHexString(cacheableApduPrefix, "cacheableApduPrefix");
+        prefixes.add(HexUtil.toByteArray(cacheableApduPrefix));
+      }
+      configuration.setApduCachePolicy(
+          new ApduCachePolicy(
+              prefixes, capacity, TimeUnit.MILLISECONDS.toNanos(timeToLiveMillis)));
+      return this;
+    }
+
+    /**
+     * Enables the recording of all the APDU exchanges performed through the allocated readers into
+     * an append-only binary log mapped in memory, to be replayed with {@link ApduReplayReaderSpi}.
+     *
+     * <p>Each record holds the timestamp, the name of the underlying reader, the command, the
+     * response (or the kind of I/O error) and the latency of an exchange. Recording never blocks
+     * nor allocates; once the log is full, the next exchanges are no longer recorded. The
+     * responses served from the APDU response cache are not recorded. The log is created (or
+     * replaced) when the plugin is registered and flushed when it is unregistered.
+     *
+     * <p>By default, the exchanges are not recorded.
+     *
+     * @param logFilePath The path of the log file.
+     * @param capacity The size of the log file in bytes, at most 2 GB.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the path is null or empty, or if the capacity is lower
+     *     than 1024.
+     * @since 2.1.0
+     */
+    public Builder setApduRecording(String logFilePath, int capacity) {
+      Assert.getInstance()
+          .notEmpty(logFilePath, "logFilePath")
+          .greaterOrEqual(capacity, 1024, "capacity");
+      configuration.setApduRecording(logFilePath, capacity);
+      return this;
+    }
+
+    /**
+     * Sets the maximum time to wait for a card resource of the provided profile when none is
+     * available at the time of the allocation.
+     *
+     * <p>The waiting callers are served in FIFO order, the card resources released through the
+     * plugin being handed over directly to the first waiter. The waiting callers are parked with
+     * {@code java.util.concurrent} locks, so that waiting virtual threads never pin their carrier
+     * thread. By default, the allocation fails immediately if no card resource is available.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param maxWaitTimeMillis The maximum wait time in milliseconds, 0 to fail immediately.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin or
+     *     if the wait time is negative.
+     * @since 2.1.0
+     */
+    public Builder setMaxWaitTime(String cardResourceProfileName, int maxWaitTimeMillis) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance().greaterOrEqual(maxWaitTimeMillis, 0, "maxWaitTimeMillis");
+      configuration.setMaxWaitTimeMillis(cardResourceProfileName, maxWaitTimeMillis);
+      return this;
+    }
+
+    /**
+     * Enables the reservoir mode for the provided profile.
+     *
+     * <p>In this mode, the plugin keeps up to {@code highWaterMark} card resources taken in advance
+     * from the Card Resource Service, so that an allocation is served without requesting the
+     * service. The reservoir is refilled in the background as soon as the number of available card
+     * resources falls below {@code lowWaterMark}. The released card resources return to the
+     * reservoir while it is not full.
+     *
+     * <p>Note that the card resources held by the reservoir are not available to the other users of
+     * the Card Resource Service.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param lowWaterMark The number of available card resources below which the reservoir is
+     *     refilled, in range [1..highWaterMark].
+     * @param highWaterMark The maximum number of card resources held by the reservoir.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin or
+     *     if a water mark is out of range.
+     * @since 2.1.0
+     */
+    public Builder setReservoir(
+        String cardResourceProfileName, int lowWaterMark, int highWaterMark) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance()
+          .greaterOrEqual(highWaterMark, 1, "highWaterMark")
+          .isInRange(lowWaterMark, 1, highWaterMark, "lowWaterMark");
+      configuration.setReservoir(cardResourceProfileName, lowWaterMark, highWaterMark);
+      return this;
+    }
+
+    /**
+     * Enables the latency-aware selection of the card resources of the provided profile.
+     *
+     * <p>The plugin keeps per underlying reader a moving average of the latency of the APDU
+     * exchanges, and the allocations served by the reservoir and the reserves of the profile (see
+     * {@link #setReservoir(String, int, int)}) take the available card resource whose reader has
+     * the lowest average latency, so that the slow readers (USB hubs, network-attached readers)
+     * are used only when the faster ones are busy. {@code explorationPercent} percent of the
+     * allocations take an available card resource at random instead, so that a reader whose
+     * latency recovers earns traffic back.
+     *
+     * <p>The allocations served directly by the Card Resource Service are not affected. By
+     * default, the available card resources are allocated in FIFO order.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param explorationPercent The percentage of the allocations taking a card resource at
+     *     random, in range [0..100].
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin or
+     *     if the percentage is out of range.
+     * @since 2.1.0
+     */
+    public Builder setLatencyAwareSelection(
+        String cardResourceProfileName, int explorationPercent) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance().isInRange(explorationPercent, 0, 100, "explorationPercent");
+      configuration.setLatencyAwareSelection(cardResourceProfileName, explorationPercent);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of allocations of the provided profile processed concurrently,
+     * including the ones waiting for a card resource.
+     *
+     * <p>The allocations exceeding the limit are rejected immediately with an {@link
+     * AllocationRejectedException}, without requesting the Card Resource Service. By default, the
+     * number of concurrent allocations is unlimited.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param maxConcurrentAllocations The maximum number of concurrent allocations.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin or
+     *     if the maximum is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setMaxConcurrentAllocations(
+        String cardResourceProfileName, int maxConcurrentAllocations) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance().greaterOrEqual(maxConcurrentAllocations, 1, "maxConcurrentAllocations");
+      configuration.setMaxConcurrentAllocations(cardResourceProfileName, maxConcurrentAllocations);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of callers waiting for a card resource of the provided profile (see
+     * {@link #setMaxWaitTime(String, int)}).
+     *
+     * <p>The allocations that would exceed the limit are rejected immediately with an {@link
+     * AllocationRejectedException} instead of waiting. By default, the number of waiting callers is
+     * unlimited.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param maxWaiters The maximum number of waiting callers, 0 to reject any allocation that
+     *     would wait.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin or
+     *     if the maximum is negative.
+     * @since 2.1.0
+     */
+    public Builder setMaxWaiters(String cardResourceProfileName, int maxWaiters) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance().greaterOrEqual(maxWaiters, 0, "maxWaiters");
+      configuration.setMaxWaiters(cardResourceProfileName, maxWaiters);
+      return this;
+    }
+
+    /**
+     * Reserves card resources of the provided profile to the allocations of the provided priority
+     * class or of a higher one (see {@link CardResourcePlugin#allocateReader(String,
+     * AllocationPriority)}).
+     *
+     * <p>The plugin keeps up to {@code capacity} card resources taken in advance from the Card
+     * Resource Service, which are used only when no card resource is available otherwise, and
+     * never by the allocations of a lower class. The released card resources refill the reserve
+     * before being handed over to the waiting allocations of the lower classes, so that the
+     * allocation latency of the class stays bounded whatever the load of the lower classes.
+     *
+     * <p>Note that the reserved card resources are not available to the other users of the Card
+     * Resource Service.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param priority The priority class.
+     * @param capacity The number of card resources reserved to the class.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the profile is not one of the profiles of the plugin, if
+     *     the priority is null or if the capacity is lower than 1.
+     * @since 2.1.0
+     */
+    public Builder setReservedCapacity(
+        String cardResourceProfileName, AllocationPriority priority, int capacity) {
+      checkProfileName(cardResourceProfileName);
+      Assert.getInstance().notNull(priority, "priority").greaterOrEqual(capacity, 1, "capacity");
+      configuration.setReservedCapacity(cardResourceProfileName, priority, capacity);
+      return this;
+    }
+
+    /**
+     * Defines a virtual reader group, exposed as a reader group reference of the plugin, whose
+     * allocations are served by the first of the provided card resource profiles having a card
+     * resource available.
+     *
+     * <p>The profiles are tried in the order of the list, each one according to its own settings
+     * (wait time, reservoir). The misses on the first profiles do not raise any exception, a
+     * {@link org.eclipse.keyple.core.plugin.PluginIOException} being raised only when no profile of
+     * the group has a card resource available.
+     *
+     * @param readerGroupReference The reference of the virtual reader group, distinct from the card
+     *     resource profile names.
+     * @param cardResourceProfileNames The names of the card resource profiles, by order of
+     *     priority.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the reference is null, empty or equal to a card resource
+     *     profile name, or if the list is null, empty or contains an unknown card resource profile
+     *     name.
+     * @since 2.1.0
+     */
+    public Builder setReaderGroup(
+        String readerGroupReference, List<String> cardResourceProfileNames) {
+      Assert.getInstance()
+          .notEmpty(readerGroupReference, "readerGroupReference")
+          .isTrue(
+              !this.cardResourceProfileNames.contains(readerGroupReference), "readerGroupReference")
+          .notEmpty(cardResourceProfileNames, "cardResourceProfileNames");
+      for (String cardResourceProfileName : cardResourceProfileNames) {
+        checkProfileName(cardResourceProfileName);
+      }
+      configuration.setReaderGroup(readerGroupReference, cardResourceProfileNames);
+      return this;
+    }
+
     /**
      * Returns an instance of {@link CardResourcePluginFactory} created from the fields set on this
      * builder.
@@ -97,8 +561,21 @@ private Builder(
      * @since 1.0.0
      */
     public CardResourcePluginFactory build() {
+      // copied so that the factory is not affected by the later calls to the builder
       return new CardResourcePluginFactoryAdapter(
-          pluginName, cardResourceService, cardResourceProfileNames);
+          pluginName,
+          cardResourceService,
+          cardResourceProfileNames,
+          new CardResourcePluginConfiguration(configuration));
+    }
+
+    /** Checks that the provided name is one of the profile names of the plugin. */
+    private void checkProfileName(String cardResourceProfileName) {
+      Assert.getInstance()
+          .notEmpty(cardResourceProfileName, "cardResourceProfileName")
+          .isTrue(
+              cardResourceProfileNames.contains(cardResourceProfileName),
+              "cardResourceProfileName");
     }
   }
 }
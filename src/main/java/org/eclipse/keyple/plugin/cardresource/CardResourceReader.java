@@ -11,11 +11,120 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.cardresource;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.service.resource.CardResource;
 
 /**
  * Card Resource Service specific {@link KeypleReaderExtension}.
  *
  * @since 1.0.0
  */
-public interface CardResourceReader extends KeypleReaderExtension {}
+public interface CardResourceReader extends KeypleReaderExtension {
+
+  /**
+   * Returns the card resource currently held by this reader.
+   *
+   * @return Null if the reader has been released or unregistered.
+   * @since 2.1.0
+   */
+  CardResource getCardResource();
+
+  /**
+   * Returns the live statistics of the APDU exchanges performed through the underlying reader of
+   * the card resource, accumulated over all the allocations of the plugin.
+   *
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  ApduStatistics getApduStatistics();
+
+  /**
+   * Returns the live statistics of the APDU exchanges performed through all the readers allocated
+   * for the same card resource profile as this reader.
+   *
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  ApduStatistics getProfileApduStatistics();
+
+  /**
+   * Transmits in order the provided APDU commands to the card and returns all the responses.
+   *
+   * <p>The commands are sent back-to-back directly to the underlying reader, without going through
+   * the Keyple service for each of them.
+   *
+   * @param apduCommands The ordered list of APDU commands.
+   * @return The list of the APDU responses, in the order of the commands.
+   * @throws IllegalArgumentException If the list is null, empty, or contains null or empty
+   *     commands.
+   * @throws ReaderIOException If a communication error with the reader occurred, in which case the
+   *     responses already received are lost.
+   * @throws CardIOException If a communication error with the card occurred, in which case the
+   *     responses already received are lost.
+   * @since 2.1.0
+   */
+  List<byte[]> transmitApdus(List<byte[]> apduCommands) throws ReaderIOException, CardIOException;
+
+  /**
+   * Transmits in order the provided APDU commands to the card until a response has a status word
+   * not listed in the provided successful status words.
+   *
+   * <p>The commands are sent back-to-back directly to the underlying reader, without going through
+   * the Keyple service for each of them.
+   *
+   * @param apduCommands The ordered list of APDU commands.
+   * @param successfulStatusWords The status words (e.g. {@code 0x9000}) allowing to continue with
+   *     the next command.
+   * @return The list of the APDU responses, in the order of the commands. Its last element is the
+   *     unsuccessful response if the transmission has been stopped.
+   * @throws IllegalArgumentException If the list is null, empty, or contains null or empty
+   *     commands, or if the status word set is null or empty.
+   * @throws ReaderIOException If a communication error with the reader occurred, in which case the
+   *     responses already received are lost.
+   * @throws CardIOException If a communication error with the card occurred, in which case the
+   *     responses already received are lost.
+   * @since 2.1.0
+   */
+  List<byte[]> transmitApdus(List<byte[]> apduCommands, Set<Integer> successfulStatusWords)
+      throws ReaderIOException, CardIOException;
+
+  /**
+   * Transmits the APDU command contained in the provided buffer and writes the APDU response into
+   * the provided response buffer.
+   *
+   * <p>The command is read from the current position to the limit of the command buffer, whose
+   * position is advanced accordingly. The response is written at the current position of the
+   * response buffer, whose position is advanced accordingly.
+   *
+   * <p>The response buffer must have room for the longest short APDU response (258 bytes), which
+   * is checked before transmitting the command. A longer response to an extended command that does
+   * not fit in the response buffer is not lost either: it is carried by the raised {@link
+   * ApduResponseOverflowException}, the response buffer being left unchanged.
+   *
+   * <p>The command buffers passed to the underlying reader are pooled per length by this reader, so
+   * that the exchange does not allocate any command array in steady state. This method is however
+   * not allocation-free: since the underlying readers only support byte arrays, the response array
+   * allocated by the underlying reader is copied into the response buffer.
+   *
+   * <p>As the other exchange methods, this method must not be called concurrently on the same
+   * reader.
+   *
+   * @param apduCommand The buffer containing the APDU command.
+   * @param apduResponse The buffer receiving the APDU response.
+   * @return The length of the APDU response.
+   * @throws IllegalArgumentException If a buffer is null, if the command buffer has no remaining
+   *     bytes, or if the response buffer is read-only or has less than 258 remaining bytes.
+   * @throws ApduResponseOverflowException If the response does not fit in the remaining space of
+   *     the response buffer.
+   * @throws ReaderIOException If a communication error with the reader occurred.
+   * @throws CardIOException If a communication error with the card occurred.
+   * @since 2.1.0
+   */
+  int transmitApdu(ByteBuffer apduCommand, ByteBuffer apduResponse)
+      throws ReaderIOException, CardIOException;
+}
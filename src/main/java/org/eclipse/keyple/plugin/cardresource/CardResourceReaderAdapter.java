@@ -11,11 +11,16 @@
  ************************************************************************************** */
 package org.eclipse.keyple.plugin.cardresource;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import org.eclipse.keyple.core.plugin.CardIOException;
 import org.eclipse.keyple.core.plugin.ReaderIOException;
 import org.eclipse.keyple.core.plugin.spi.reader.PoolReaderSpi;
 import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
 import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.util.Assert;
 import org.eclipse.keypop.reader.selection.spi.SmartCard;
 
 /**
@@ -25,31 +30,141 @@
  */
 final class CardResourceReaderAdapter implements CardResourceReader, PoolReaderSpi {
 
-  private CardResource cardResource;
-  private ReaderSpi readerSpi;
+  /** Length of the longest short APDU command (header, Lc, 255 data bytes and Le). */
+  private static final int MAX_POOLED_APDU_COMMAND_LENGTH = 261;
+
+  /** Length of the longest short APDU response (256 data bytes and status word). */
+  private static final int MAX_APDU_RESPONSE_LENGTH = 258;
+
+  private volatile CardResource cardResource;
+  private volatile ReaderSpi readerSpi;
   private SmartCard selectedSmartCard;
   private final String name;
+  private final String cardResourceProfileName;
+  private final ApduStatisticsAdapter readerApduStatistics;
+  private final ApduStatisticsAdapter profileApduStatistics;
+  private final CardResourceHealth health;
+  private final ApduCachePolicy apduCachePolicy;
+  private final ApduExchangeRecorder apduExchangeRecorder;
+  private final byte[] recordedReaderName;
+  private volatile ApduResponseCache apduResponseCache;
+  private volatile long allocationTimeNanos;
+  private volatile long lastActivityNanos;
+  private Throwable allocationSite;
+  private String affinityKey;
+  private byte[][] apduCommandBuffers;
 
   /**
-   * This constructor should only be called by allocateReader from {@link CardResourcePluginAdapter}
+   * This constructor should only be called by {@link CardResourceReaderAdapterFactory}.
    *
+   * @param cardResource The allocated card resource.
+   * @param cardResourceProfileName The name of the profile for which the card resource has been
+   *     allocated.
+   * @param readerApduStatistics The APDU statistics of the underlying reader.
+   * @param profileApduStatistics The APDU statistics of the profile.
+   * @param health The health of the card resource.
+   * @param apduCachePolicy The policy of the APDU response cache, null if disabled.
+   * @param apduExchangeRecorder The recorder of the APDU exchanges, null if disabled.
    * @since 1.0.0
    */
-  CardResourceReaderAdapter(CardResource cardResource) {
+  CardResourceReaderAdapter(
+      CardResource cardResource,
+      String cardResourceProfileName,
+      ApduStatisticsAdapter readerApduStatistics,
+      ApduStatisticsAdapter profileApduStatistics,
+      CardResourceHealth health,
+      ApduCachePolicy apduCachePolicy,
+      ApduExchangeRecorder apduExchangeRecorder) {
     this.cardResource = cardResource;
+    this.cardResourceProfileName = cardResourceProfileName;
+    this.readerApduStatistics = readerApduStatistics;
+    this.profileApduStatistics = profileApduStatistics;
+    this.health = health;
+    this.apduCachePolicy = apduCachePolicy;
     readerSpi = (ReaderSpi) cardResource.getReaderExtension();
     selectedSmartCard = cardResource.getSmartCard();
     name = readerSpi.getName() + " (CardResource)";
+    this.apduExchangeRecorder = apduExchangeRecorder;
+    this.recordedReaderName =
+        apduExchangeRecorder != null
+            ? ApduExchangeRecorder.encodeReaderName(readerSpi.getName())
+            : null;
   }
 
   /**
-   * @return The {@link CardResource} associated with this reader.
+   * {@inheritDoc}
+   *
    * @since 1.0.0
    */
-  CardResource getCardResource() {
+  @Override
+  public CardResource getCardResource() {
     return cardResource;
   }
 
+  /**
+   * @return The name of the profile for which the card resource has been allocated.
+   * @since 2.1.0
+   */
+  String getCardResourceProfileName() {
+    return cardResourceProfileName;
+  }
+
+  /**
+   * Marks the reader as allocated.
+   *
+   * @param allocationTimeNanos The {@link System#nanoTime()} value at the time of the allocation.
+   * @param allocationSite The stack trace of the allocation (optional).
+   * @param affinityKey The affinity key provided with the allocation (optional).
+   * @since 2.1.0
+   */
+  void onAllocation(long allocationTimeNanos, Throwable allocationSite, String affinityKey) {
+    this.allocationSite = allocationSite;
+    this.affinityKey = affinityKey;
+    this.lastActivityNanos = allocationTimeNanos;
+    this.allocationTimeNanos = allocationTimeNanos;
+  }
+
+  /**
+   * @return The {@link System#nanoTime()} value at the time the reader was allocated.
+   * @since 2.1.0
+   */
+  long getAllocationTimeNanos() {
+    return allocationTimeNanos;
+  }
+
+  /**
+   * @return The {@link System#nanoTime()} value at the time of the last APDU exchange, or of the
+   *     allocation if no APDU has been exchanged.
+   * @since 2.1.0
+   */
+  long getLastActivityNanos() {
+    return lastActivityNanos;
+  }
+
+  /**
+   * @return The health of the card resource.
+   * @since 2.1.0
+   */
+  CardResourceHealth getHealth() {
+    return health;
+  }
+
+  /**
+   * @return The affinity key provided with the allocation, null if none.
+   * @since 2.1.0
+   */
+  String getAffinityKey() {
+    return affinityKey;
+  }
+
+  /**
+   * @return The stack trace of the allocation, null if it has not been captured.
+   * @since 2.1.0
+   */
+  Throwable getAllocationSite() {
+    return allocationSite;
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -89,21 +204,29 @@ public void closePhysicalChannel() {
   /**
    * {@inheritDoc}
    *
+   * <p>Returns the status cached by the last liveness probe of the underlying reader if enabled
+   * (see {@link CardResourcePluginFactoryBuilder.Builder#setLivenessProbe(int, int)}), without
+   * accessing the reader; true if the reader has not been probed.
+   *
    * @since 1.0.0
    */
   @Override
   public boolean isPhysicalChannelOpen() {
-    return true;
+    return readerSpi != null && health.isReaderOperational();
   }
 
   /**
    * {@inheritDoc}
    *
+   * <p>Returns the card presence cached by the last liveness probe of the underlying reader if
+   * enabled (see {@link CardResourcePluginFactoryBuilder.Builder#setLivenessProbe(int, int)}),
+   * without accessing the reader; true if the reader has not been probed.
+   *
    * @since 1.0.0
    */
   @Override
   public boolean checkCardPresence() {
-    return true;
+    return health.isCardPresent();
   }
 
   /**
@@ -119,11 +242,91 @@ public String getPowerOnData() {
   /**
    * {@inheritDoc}
    *
+   * <p>The exchange is recorded in the APDU statistics of the underlying reader and of the profile.
+   *
    * @since 1.0.0
    */
   @Override
   public byte[] transmitApdu(byte[] apduIn) throws ReaderIOException, CardIOException {
-    return readerSpi.transmitApdu(apduIn);
+    ReaderSpi underlyingReaderSpi = readerSpi;
+    if (underlyingReaderSpi == null) {
+      throw new ReaderIOException("The reader " + name + " has been released");
+    }
+    if (apduCachePolicy != null && apduCachePolicy.isCacheable(apduIn)) {
+      return transmitCacheableApdu(underlyingReaderSpi, apduIn);
+    }
+    return transmitApdu(underlyingReaderSpi, apduIn);
+  }
+
+  /**
+   * Returns the cached response to the provided command if any, otherwise transmits the command
+   * and caches its response if successful.
+   */
+  private byte[] transmitCacheableApdu(ReaderSpi underlyingReaderSpi, byte[] apduIn)
+      throws ReaderIOException, CardIOException {
+    ApduResponseCache cache = apduResponseCache;
+    if (cache == null) {
+      cache = apduCachePolicy.newCache();
+      apduResponseCache = cache;
+    }
+    byte[] apduOut = cache.get(apduIn);
+    if (apduOut != null) {
+      lastActivityNanos = System.nanoTime();
+      return apduOut.clone();
+    }
+    apduOut = transmitApdu(underlyingReaderSpi, apduIn);
+    if (getStatusWord(apduOut) == 0x9000) {
+      cache.put(apduIn.clone(), apduOut.clone());
+    }
+    return apduOut;
+  }
+
+  /**
+   * Transmits the provided command to the underlying reader and records the exchange in the
+   * statistics, in the health and in the APDU exchange log if enabled.
+   */
+  private byte[] transmitApdu(ReaderSpi underlyingReaderSpi, byte[] apduIn)
+      throws ReaderIOException, CardIOException {
+    long startNanos = System.nanoTime();
+    lastActivityNanos = startNanos;
+    byte[] apduOut;
+    try {
+      apduOut = underlyingReaderSpi.transmitApdu(apduIn);
+    } catch (ReaderIOException e) {
+      readerApduStatistics.recordReaderIOException();
+      profileApduStatistics.recordReaderIOException();
+      health.recordFailure();
+      recordFailedExchange(startNanos, apduIn, ApduExchangeRecorder.READER_IO_ERROR);
+      throw e;
+    } catch (CardIOException e) {
+      readerApduStatistics.recordCardIOException();
+      profileApduStatistics.recordCardIOException();
+      health.recordFailure();
+      recordFailedExchange(startNanos, apduIn, ApduExchangeRecorder.CARD_IO_ERROR);
+      throw e;
+    }
+    long latencyNanos = System.nanoTime() - startNanos;
+    readerApduStatistics.recordExchange(apduIn.length, apduOut.length, latencyNanos);
+    profileApduStatistics.recordExchange(apduIn.length, apduOut.length, latencyNanos);
+    health.recordExchange(latencyNanos);
+    if (apduExchangeRecorder != null) {
+      apduExchangeRecorder.record(
+          recordedReaderName, startNanos, latencyNanos, apduIn, apduOut, 0);
+    }
+    return apduOut;
+  }
+
+  /** Records a failed exchange in the APDU exchange log if enabled. */
+  private void recordFailedExchange(long startNanos, byte[] apduIn, int errorCode) {
+    if (apduExchangeRecorder != null) {
+      apduExchangeRecorder.record(
+          recordedReaderName,
+          startNanos,
+          System.nanoTime() - startNanos,
+          apduIn,
+          null,
+          errorCode);
+    }
   }
 
   /**
@@ -149,6 +352,19 @@ public void onUnregister() {
     cardResource = null;
     readerSpi = null;
     selectedSmartCard = null;
+    clearApduResponseCache();
+  }
+
+  /**
+   * Removes all the cached APDU responses.
+   *
+   * @since 2.1.0
+   */
+  void clearApduResponseCache() {
+    ApduResponseCache cache = apduResponseCache;
+    if (cache != null) {
+      cache.clear();
+    }
   }
 
   /**
@@ -160,4 +376,136 @@ public void onUnregister() {
   public Object getSelectedSmartCard() {
     return selectedSmartCard;
   }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public ApduStatistics getApduStatistics() {
+    return readerApduStatistics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public ApduStatistics getProfileApduStatistics() {
+    return profileApduStatistics;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public int transmitApdu(ByteBuffer apduCommand, ByteBuffer apduResponse)
+      throws ReaderIOException, CardIOException {
+    Assert.getInstance()
+        .notNull(apduCommand, "apduCommand")
+        .notNull(apduResponse, "apduResponse")
+        .isTrue(apduCommand.hasRemaining(), "apduCommand")
+        .isTrue(!apduResponse.isReadOnly(), "apduResponse")
+        .greaterOrEqual(apduResponse.remaining(), MAX_APDU_RESPONSE_LENGTH, "apduResponse");
+    byte[] apduIn;
+    int length = apduCommand.remaining();
+    if (apduCommand.hasArray()
+        && apduCommand.arrayOffset() == 0
+        && apduCommand.position() == 0
+        && length == apduCommand.array().length) {
+      // the backing array is exactly the command
+      apduIn = apduCommand.array();
+      apduCommand.position(apduCommand.limit());
+    } else {
+      apduIn = getApduCommandBuffer(length);
+      apduCommand.get(apduIn);
+    }
+    byte[] apduOut = transmitApdu(apduIn);
+    if (apduOut.length > apduResponse.remaining()) {
+      // extended response, only the room for a short response has been checked
+      throw new ApduResponseOverflowException(apduOut);
+    }
+    apduResponse.put(apduOut);
+    return apduOut.length;
+  }
+
+  /**
+   * Returns a pooled command array of the provided length, or a new one if the length exceeds the
+   * length of a short APDU command.
+   */
+  private byte[] getApduCommandBuffer(int length) {
+    if (length > MAX_POOLED_APDU_COMMAND_LENGTH) {
+      return new byte[length];
+    }
+    if (apduCommandBuffers == null) {
+      apduCommandBuffers = new byte[MAX_POOLED_APDU_COMMAND_LENGTH + 1][];
+    }
+    byte[] buffer = apduCommandBuffers[length];
+    if (buffer == null) {
+      buffer = new byte[length];
+      apduCommandBuffers[length] = buffer;
+    }
+    return buffer;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public List<byte[]> transmitApdus(List<byte[]> apduCommands)
+      throws ReaderIOException, CardIOException {
+    Assert.getInstance().notEmpty(apduCommands, "apduCommands");
+    return transmitApdusUntilUnsuccessful(apduCommands, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public List<byte[]> transmitApdus(List<byte[]> apduCommands, Set<Integer> successfulStatusWords)
+      throws ReaderIOException, CardIOException {
+    Assert.getInstance()
+        .notEmpty(apduCommands, "apduCommands")
+        .notEmpty(successfulStatusWords, "successfulStatusWords");
+    return transmitApdusUntilUnsuccessful(apduCommands, successfulStatusWords);
+  }
+
+  /**
+   * Transmits the commands until a response has a status word not listed in the provided set, if
+   * any.
+   */
+  private List<byte[]> transmitApdusUntilUnsuccessful(
+      List<byte[]> apduCommands, Set<Integer> successfulStatusWords)
+      throws ReaderIOException, CardIOException {
+    for (byte[] apduCommand : apduCommands) {
+      Assert.getInstance().notEmpty(apduCommand, "apduCommand");
+    }
+    List<byte[]> apduResponses = new ArrayList<byte[]>(apduCommands.size());
+    for (byte[] apduCommand : apduCommands) {
+      byte[] apduResponse = transmitApdu(apduCommand);
+      apduResponses.add(apduResponse);
+      if (successfulStatusWords != null
+          && !successfulStatusWords.contains(getStatusWord(apduResponse))) {
+        break;
+      }
+    }
+    return apduResponses;
+  }
+
+  /** Returns the status word of the provided response, -1 if the response is too short. */
+  private static int getStatusWord(byte[] apduResponse) {
+    int length = apduResponse.length;
+    if (length < 2) {
+      return -1;
+    }
+    return ((apduResponse[length - 2] & 0xFF) << 8) | (apduResponse[length - 1] & 0xFF);
+  }
 }
@@ -0,0 +1,114 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+
+/**
+ * Creates the {@link CardResourceReaderAdapter} of a given profile, wiring them with the
+ * statistics of the profile and with the statistics and health of their underlying reader.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceReaderAdapterFactory {
+
+  private final String cardResourceProfileName;
+  private final ApduStatisticsAdapter profileApduStatistics;
+  private final ConcurrentMap<String, ApduStatisticsAdapter> readerApduStatistics;
+  private final ConcurrentMap<String, CardResourceHealth> readerHealths;
+  private final long latencyOutlierThresholdNanos;
+  private final ApduCachePolicy apduCachePolicy;
+  private final ApduExchangeRecorder apduExchangeRecorder;
+
+  /**
+   * Constructor.
+   *
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param readerApduStatistics The APDU statistics of the underlying readers, shared by all the
+   *     profiles of the plugin and indexed by reader name.
+   * @param readerHealths The health of the card resources of the underlying readers, shared by all
+   *     the profiles of the plugin and indexed by reader name.
+   * @param latencyOutlierThresholdNanos The latency above which an exchange is counted as a
+   *     failure in the health of the card resources, 0 to disable.
+   * @param apduCachePolicy The policy of the APDU response caches, null if disabled.
+   * @param apduExchangeRecorder The recorder of the APDU exchanges, null if disabled.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapterFactory(
+      String cardResourceProfileName,
+      ConcurrentMap<String, ApduStatisticsAdapter> readerApduStatistics,
+      ConcurrentMap<String, CardResourceHealth> readerHealths,
+      long latencyOutlierThresholdNanos,
+      ApduCachePolicy apduCachePolicy,
+      ApduExchangeRecorder apduExchangeRecorder) {
+    this.cardResourceProfileName = cardResourceProfileName;
+    this.profileApduStatistics = new ApduStatisticsAdapter();
+    this.readerApduStatistics = readerApduStatistics;
+    this.readerHealths = readerHealths;
+    this.latencyOutlierThresholdNanos = latencyOutlierThresholdNanos;
+    this.apduCachePolicy = apduCachePolicy;
+    this.apduExchangeRecorder = apduExchangeRecorder;
+  }
+
+  /**
+   * Creates a new reader adapter for the provided card resource.
+   *
+   * @param cardResource The card resource.
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapter createReaderAdapter(CardResource cardResource) {
+    String readerName = ((ReaderSpi) cardResource.getReaderExtension()).getName();
+    ApduStatisticsAdapter apduStatistics = readerApduStatistics.get(readerName);
+    if (apduStatistics == null) {
+      ApduStatisticsAdapter newApduStatistics = new ApduStatisticsAdapter();
+      apduStatistics = readerApduStatistics.putIfAbsent(readerName, newApduStatistics);
+      if (apduStatistics == null) {
+        apduStatistics = newApduStatistics;
+      }
+    }
+    CardResourceHealth health = readerHealths.get(readerName);
+    if (health == null) {
+      CardResourceHealth newHealth = new CardResourceHealth(latencyOutlierThresholdNanos);
+      health = readerHealths.putIfAbsent(readerName, newHealth);
+      if (health == null) {
+        health = newHealth;
+      }
+    }
+    return new CardResourceReaderAdapter(
+        cardResource,
+        cardResourceProfileName,
+        apduStatistics,
+        profileApduStatistics,
+        health,
+        apduCachePolicy,
+        apduExchangeRecorder);
+  }
+
+  /**
+   * @return The name of the card resource profile.
+   * @since 2.1.0
+   */
+  String getCardResourceProfileName() {
+    return cardResourceProfileName;
+  }
+
+  /**
+   * @return The APDU statistics of the profile.
+   * @since 2.1.0
+   */
+  ApduStatisticsAdapter getProfileApduStatistics() {
+    return profileApduStatistics;
+  }
+}
@@ -0,0 +1,280 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reservoir of card resources of a given profile taken in advance from the Card Resource Service.
+ *
+ * <p>The card resources are stored as ready-to-use {@link CardResourceReaderAdapter} so that an
+ * allocation is reduced to a queue poll. The reservoir is refilled in the background up to the
+ * high-water mark as soon as its size falls below the low-water mark.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceReservoir {
+
+  private static final Logger logger = LoggerFactory.getLogger(CardResourceReservoir.class);
+
+  private static final long REFILL_RETRY_DELAY_MILLIS = 100;
+  private static final int MAX_SELECTION_ATTEMPTS = 3;
+
+  private final CardResourceService cardResourceService;
+  private final String cardResourceProfileName;
+  private final CardResourceReaderAdapterFactory readerAdapterFactory;
+  private final int lowWaterMark;
+  private final int highWaterMark;
+  private final ScheduledExecutorService scheduler;
+  private final CardResourceWaitQueue waitQueue;
+  private final AllocationPriority lowestServedPriority;
+  private final LatencyAwareReaderSelector readerSelector;
+  private final Queue<CardResourceReaderAdapter> readers =
+      new ConcurrentLinkedQueue<CardResourceReaderAdapter>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean isRefillScheduled = new AtomicBoolean();
+  private final Runnable refillTask =
+      new Runnable() {
+        @Override
+        public void run() {
+          refill();
+        }
+      };
+  private volatile boolean isClosed;
+
+  /**
+   * Constructor.
+   *
+   * @param cardResourceService The card resource service.
+   * @param readerAdapterFactory The reader adapter factory of the profile.
+   * @param lowWaterMark The size below which the reservoir is refilled.
+   * @param highWaterMark The maximum size of the reservoir.
+   * @param scheduler The scheduler executing the refills.
+   * @param waitQueue The wait queue of the profile to serve first when refilling (optional).
+   * @param lowestServedPriority The lowest class of the waiters to serve first when refilling.
+   * @param readerSelector The selector of the reader to take, null to take the readers in FIFO
+   *     order.
+   * @since 2.1.0
+   */
+  CardResourceReservoir(
+      CardResourceService cardResourceService,
+      CardResourceReaderAdapterFactory readerAdapterFactory,
+      int lowWaterMark,
+      int highWaterMark,
+      ScheduledExecutorService scheduler,
+      CardResourceWaitQueue waitQueue,
+      AllocationPriority lowestServedPriority,
+      LatencyAwareReaderSelector readerSelector) {
+    this.cardResourceService = cardResourceService;
+    this.cardResourceProfileName = readerAdapterFactory.getCardResourceProfileName();
+    this.readerAdapterFactory = readerAdapterFactory;
+    this.lowWaterMark = lowWaterMark;
+    this.highWaterMark = highWaterMark;
+    this.scheduler = scheduler;
+    this.waitQueue = waitQueue;
+    this.lowestServedPriority = lowestServedPriority;
+    this.readerSelector = readerSelector;
+  }
+
+  /**
+   * Starts the initial filling of the reservoir in the background.
+   *
+   * @since 2.1.0
+   */
+  void start() {
+    scheduleRefill(0);
+  }
+
+  /**
+   * Takes a reader from the reservoir, chosen by the reader selector if any, and triggers a refill
+   * if the low-water mark is crossed.
+   *
+   * @return Null if the reservoir is empty.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapter poll() {
+    CardResourceReaderAdapter readerAdapter = readerSelector != null ? pollSelected() : null;
+    if (readerAdapter == null) {
+      readerAdapter = readers.poll();
+    }
+    if (readerAdapter != null && size.decrementAndGet() < lowWaterMark) {
+      scheduleRefill(0);
+    }
+    return readerAdapter;
+  }
+
+  /**
+   * Takes from the reservoir the reader of the provided card resource, if available.
+   *
+   * @param cardResource The card resource.
+   * @return Null if the card resource is not in the reservoir.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapter poll(CardResource cardResource) {
+    for (CardResourceReaderAdapter readerAdapter : readers) {
+      if (readerAdapter.getCardResource() == cardResource) {
+        if (readers.remove(readerAdapter)) {
+          if (size.decrementAndGet() < lowWaterMark) {
+            scheduleRefill(0);
+          }
+          return readerAdapter;
+        }
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Puts back a card resource into the reservoir if the high-water mark is not reached.
+   *
+   * @param cardResource The card resource.
+   * @return False if the reservoir is full or closed, in which case the caller remains in charge of
+   *     the card resource.
+   * @since 2.1.0
+   */
+  boolean offer(CardResource cardResource) {
+    if (isClosed) {
+      return false;
+    }
+    if (size.incrementAndGet() > highWaterMark) {
+      size.decrementAndGet();
+      return false;
+    }
+    readers.offer(readerAdapterFactory.createReaderAdapter(cardResource));
+    if (isClosed) {
+      // closed concurrently, the card resource must not stay in the reservoir
+      close();
+    }
+    return true;
+  }
+
+  /**
+   * @return The number of card resources currently available in the reservoir.
+   * @since 2.1.0
+   */
+  int getSize() {
+    return size.get();
+  }
+
+  /**
+   * @return A weakly consistent view of the readers currently available in the reservoir.
+   * @since 2.1.0
+   */
+  Iterable<CardResourceReaderAdapter> getReaders() {
+    return readers;
+  }
+
+  /**
+   * Takes the provided reader out of the reservoir without changing its size, so that it is not
+   * allocated until it is given back with {@link #giveBack(CardResourceReaderAdapter)}.
+   *
+   * @param readerAdapter The reader.
+   * @return False if the reader is no longer in the reservoir.
+   * @since 2.1.0
+   */
+  boolean borrow(CardResourceReaderAdapter readerAdapter) {
+    return readers.remove(readerAdapter);
+  }
+
+  /**
+   * Puts back a reader previously borrowed.
+   *
+   * @param readerAdapter The reader.
+   * @since 2.1.0
+   */
+  void giveBack(CardResourceReaderAdapter readerAdapter) {
+    readers.offer(readerAdapter);
+    if (isClosed) {
+      // closed while borrowed, the card resource must not stay in the reservoir
+      close();
+    }
+  }
+
+  /**
+   * Closes the reservoir and gives back all its card resources to the Card Resource Service.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    isClosed = true;
+    CardResourceReaderAdapter readerAdapter;
+    while ((readerAdapter = readers.poll()) != null) {
+      size.decrementAndGet();
+      cardResourceService.releaseCardResource(readerAdapter.getCardResource());
+    }
+  }
+
+  /**
+   * Takes the reader chosen by the reader selector, null if the reservoir is empty or if the chosen
+   * readers were repeatedly taken concurrently.
+   */
+  private CardResourceReaderAdapter pollSelected() {
+    for (int i = 0; i < MAX_SELECTION_ATTEMPTS; i++) {
+      CardResourceReaderAdapter readerAdapter = readerSelector.select(readers);
+      if (readerAdapter == null || readers.remove(readerAdapter)) {
+        return readerAdapter;
+      }
+    }
+    return null;
+  }
+
+  /** Schedules a refill unless one is already pending. */
+  private void scheduleRefill(long delayMillis) {
+    if (!isClosed && isRefillScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.schedule(refillTask, delayMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        isRefillScheduled.set(false);
+      }
+    }
+  }
+
+  /**
+   * Takes card resources from the Card Resource Service until the high-water mark is reached,
+   * serving first the callers waiting for the profile.
+   */
+  private void refill() {
+    isRefillScheduled.set(false);
+    try {
+      while (!isClosed && size.get() < highWaterMark) {
+        CardResource cardResource = cardResourceService.getCardResource(cardResourceProfileName);
+        if (cardResource == null) {
+          break;
+        }
+        if ((waitQueue == null || !waitQueue.handOver(cardResource, lowestServedPriority))
+            && !offer(cardResource)) {
+          cardResourceService.releaseCardResource(cardResource);
+          break;
+        }
+      }
+    } catch (RuntimeException e) {
+      logger.warn(
+          "Unable to refill the reservoir of profile '{}': {}",
+          cardResourceProfileName,
+          e.getMessage());
+    }
+    if (size.get() < lowWaterMark) {
+      scheduleRefill(REFILL_RETRY_DELAY_MILLIS);
+    }
+  }
+}
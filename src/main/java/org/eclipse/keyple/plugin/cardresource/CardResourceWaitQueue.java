@@ -0,0 +1,348 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+
+/**
+ * Queue of the callers waiting for a card resource of a given profile, FIFO within each {@link
+ * AllocationPriority} class.
+ *
+ * <p>Card resources released through the plugin are handed over directly to the first waiter of
+ * the highest class. This first waiter also polls the Card Resource Service periodically in order
+ * to get the card resources released outside of the plugin.
+ *
+ * @since 2.1.0
+ */
+final class CardResourceWaitQueue {
+
+  private static final long SERVICE_POLLING_CYCLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final CardResourceService cardResourceService;
+  private final String cardResourceProfileName;
+  private final long maxWaitTimeNanos;
+  private final int maxWaiterCount;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final List<Deque<Waiter>> waiters = new ArrayList<Deque<Waiter>>();
+  private final AtomicIntegerArray waiterCounts =
+      new AtomicIntegerArray(AllocationPriority.values().length);
+  private volatile int waiterCount;
+  private volatile boolean isClosed;
+
+  /**
+   * Constructor.
+   *
+   * @param cardResourceService The card resource service.
+   * @param cardResourceProfileName The name of the card resource profile.
+   * @param maxWaitTimeMillis The maximum time in milliseconds to wait for a card resource.
+   * @param maxWaiterCount The maximum number of waiting callers.
+   * @since 2.1.0
+   */
+  CardResourceWaitQueue(
+      CardResourceService cardResourceService,
+      String cardResourceProfileName,
+      int maxWaitTimeMillis,
+      int maxWaiterCount) {
+    this.cardResourceService = cardResourceService;
+    this.cardResourceProfileName = cardResourceProfileName;
+    this.maxWaitTimeNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitTimeMillis);
+    this.maxWaiterCount = maxWaiterCount;
+    for (int i = 0; i < AllocationPriority.values().length; i++) {
+      waiters.add(new ArrayDeque<Waiter>());
+    }
+  }
+
+  /**
+   * Gets a card resource with the {@link AllocationPriority#NORMAL} priority.
+   *
+   * @see #acquire(AllocationPriority)
+   * @since 2.1.0
+   */
+  CardResource acquire() throws InterruptedException, PluginIOException {
+    return acquire(AllocationPriority.NORMAL);
+  }
+
+  /**
+   * Gets a card resource from the Card Resource Service, or waits in the queue until one is handed
+   * over or the maximum wait time has elapsed.
+   *
+   * <p>The Card Resource Service is requested directly only when nobody of the same or a higher
+   * class is waiting, so that the new callers never overtake the waiting ones.
+   *
+   * @param priority The priority class of the caller.
+   * @return Null if no card resource became available in time.
+   * @throws InterruptedException If the current thread has been interrupted while waiting.
+   * @throws AllocationRejectedException If the maximum number of waiting callers is reached.
+   * @throws PluginIOException If the queue is closed before a card resource is handed over.
+   * @throws IllegalArgumentException If the profile is not configured in the service.
+   * @throws IllegalStateException If the service is not started.
+   * @since 2.1.0
+   */
+  CardResource acquire(AllocationPriority priority)
+      throws InterruptedException, PluginIOException {
+    if (!hasWaiter(priority)) {
+      CardResource cardResource = cardResourceService.getCardResource(cardResourceProfileName);
+      if (cardResource != null || maxWaitTimeNanos == 0) {
+        return cardResource;
+      }
+    }
+    long deadline = System.nanoTime() + maxWaitTimeNanos;
+    Waiter waiter = new Waiter(lock.newCondition(), priority);
+    lock.lock();
+    try {
+      checkNotClosed(null);
+      if (waiterCount >= maxWaiterCount) {
+        throw new AllocationRejectedException(
+            "Too many callers waiting for a card resource of profile " + cardResourceProfileName);
+      }
+      waiters.get(priority.ordinal()).addLast(waiter);
+      updateWaiterCounts(priority);
+      while (waiter.cardResource == null) {
+        checkNotClosed(waiter);
+        long remainingNanos = deadline - System.nanoTime();
+        if (remainingNanos <= 0) {
+          break;
+        }
+        try {
+          waiter.condition.awaitNanos(
+              getHead() == waiter
+                  ? Math.min(remainingNanos, SERVICE_POLLING_CYCLE_NANOS)
+                  : remainingNanos);
+        } catch (InterruptedException e) {
+          if (waiter.cardResource == null) {
+            throw e;
+          }
+          Thread.currentThread().interrupt();
+          break;
+        }
+        checkNotClosed(waiter);
+        if (waiter.cardResource == null && getHead() == waiter) {
+          pollService(waiter);
+        }
+      }
+      return waiter.cardResource;
+    } finally {
+      removeWaiter(waiter);
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Hands over the provided card resource to the first waiter of the highest class, if any.
+   *
+   * @param cardResource The released card resource.
+   * @return False if nobody is waiting or if the queue is closed, in which case the caller
+   *     remains in charge of the card resource.
+   * @since 2.1.0
+   */
+  boolean handOver(CardResource cardResource) {
+    return handOver(cardResource, AllocationPriority.LOW);
+  }
+
+  /**
+   * Hands over the provided card resource to the first waiter of the highest class, if any and if
+   * this class is at least the provided one.
+   *
+   * @param cardResource The released card resource.
+   * @param lowestPriority The lowest class of the waiters that may be served.
+   * @return False if nobody of the provided or a higher class is waiting or if the queue is
+   *     closed, in which case the caller remains in charge of the card resource.
+   * @since 2.1.0
+   */
+  boolean handOver(CardResource cardResource, AllocationPriority lowestPriority) {
+    if (isClosed || !hasWaiter(lowestPriority)) {
+      return false;
+    }
+    lock.lock();
+    try {
+      return !isClosed && handOverLocked(cardResource, lowestPriority);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Closes the queue: the waiting callers and the next ones fail, and the card resources are no
+   * longer handed over.
+   *
+   * @since 2.1.0
+   */
+  void close() {
+    lock.lock();
+    try {
+      isClosed = true;
+      for (Deque<Waiter> priorityWaiters : waiters) {
+        for (Waiter waiter : priorityWaiters) {
+          waiter.condition.signalAll();
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return The number of callers currently waiting.
+   * @since 2.1.0
+   */
+  int getWaiterCount() {
+    return waiterCount;
+  }
+
+  /**
+   * @param priority The priority class.
+   * @return The number of callers of the provided class currently waiting.
+   * @since 2.1.0
+   */
+  int getWaiterCount(AllocationPriority priority) {
+    return waiterCounts.get(priority.ordinal());
+  }
+
+  /** Returns true if a caller of the provided or a higher class is waiting. */
+  private boolean hasWaiter(AllocationPriority lowestPriority) {
+    if (waiterCount == 0) {
+      return false;
+    }
+    for (int i = 0; i <= lowestPriority.ordinal(); i++) {
+      if (waiterCounts.get(i) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Must be called with the lock held. Fails if the queue is closed, giving back to the Card
+   * Resource Service the card resource handed over to the provided waiter, if any.
+   */
+  private void checkNotClosed(Waiter waiter) throws PluginIOException {
+    if (!isClosed) {
+      return;
+    }
+    if (waiter != null && waiter.cardResource != null) {
+      cardResourceService.releaseCardResource(waiter.cardResource);
+      waiter.cardResource = null;
+    }
+    throw new PluginIOException(
+        "Plugin unregistered while waiting for a card resource of profile "
+            + cardResourceProfileName);
+  }
+
+  /**
+   * Requests the Card Resource Service on behalf of the provided waiter, without holding the lock
+   * so that the releases are never delayed by the service.
+   */
+  private void pollService(Waiter waiter) {
+    CardResource cardResource = null;
+    RuntimeException failure = null;
+    lock.unlock();
+    try {
+      cardResource = cardResourceService.getCardResource(cardResourceProfileName);
+    } catch (RuntimeException e) {
+      failure = e;
+    } finally {
+      lock.lock();
+    }
+    if (failure != null && waiter.cardResource == null) {
+      throw failure;
+    }
+    if (cardResource == null) {
+      return;
+    }
+    if (isClosed) {
+      cardResourceService.releaseCardResource(cardResource);
+    } else if (waiter.cardResource == null) {
+      waiter.cardResource = cardResource;
+    } else if (!handOverLocked(cardResource, AllocationPriority.LOW)) {
+      // a card resource has been handed over in the meantime
+      cardResourceService.releaseCardResource(cardResource);
+    }
+  }
+
+  /** Must be called with the lock held. */
+  private boolean handOverLocked(CardResource cardResource, AllocationPriority lowestPriority) {
+    for (int i = 0; i <= lowestPriority.ordinal(); i++) {
+      Waiter waiter = waiters.get(i).pollFirst();
+      if (waiter != null) {
+        waiter.cardResource = cardResource;
+        waiter.condition.signal();
+        updateWaiterCounts(waiter.priority);
+        signalHead();
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Must be called with the lock held. */
+  private void removeWaiter(Waiter waiter) {
+    boolean wasHead = getHead() == waiter;
+    if (waiters.get(waiter.priority.ordinal()).remove(waiter)) {
+      updateWaiterCounts(waiter.priority);
+      if (wasHead) {
+        signalHead();
+      }
+    }
+  }
+
+  /** Must be called with the lock held, after a change of the waiters of the provided class. */
+  private void updateWaiterCounts(AllocationPriority priority) {
+    waiterCounts.set(priority.ordinal(), waiters.get(priority.ordinal()).size());
+    int count = 0;
+    for (Deque<Waiter> priorityWaiters : waiters) {
+      count += priorityWaiters.size();
+    }
+    waiterCount = count;
+  }
+
+  /** Must be called with the lock held. Returns the first waiter of the highest class, if any. */
+  private Waiter getHead() {
+    for (Deque<Waiter> priorityWaiters : waiters) {
+      Waiter head = priorityWaiters.peekFirst();
+      if (head != null) {
+        return head;
+      }
+    }
+    return null;
+  }
+
+  /** Wakes up the first waiter so that it takes over the polling of the service. */
+  private void signalHead() {
+    Waiter head = getHead();
+    if (head != null) {
+      head.condition.signal();
+    }
+  }
+
+  /** A caller waiting for a card resource. */
+  private static final class Waiter {
+
+    private final Condition condition;
+    private final AllocationPriority priority;
+    private CardResource cardResource;
+
+    private Waiter(Condition condition, AllocationPriority priority) {
+      this.condition = condition;
+      this.priority = priority;
+    }
+  }
+}
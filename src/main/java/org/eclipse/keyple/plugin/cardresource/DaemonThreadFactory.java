@@ -0,0 +1,50 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ThreadFactory} creating daemon threads named after the plugin, so that the internal
+ * threads of the plugin never prevent the JVM from exiting.
+ *
+ * @since 2.1.0
+ */
+final class DaemonThreadFactory implements ThreadFactory {
+
+  private final String namePrefix;
+  private final AtomicInteger threadCount = new AtomicInteger();
+
+  /**
+   * Constructor.
+   *
+   * @param pluginName The name of the plugin.
+   * @param role The role of the created threads (e.g. "allocator").
+   * @since 2.1.0
+   */
+  DaemonThreadFactory(String pluginName, String role) {
+    this.namePrefix = pluginName + "-" + role + "-";
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public Thread newThread(Runnable runnable) {
+    Thread thread = new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  }
+}
@@ -0,0 +1,71 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+/**
+ * Histogram of durations with fixed power-of-two buckets expressed in microseconds.
+ *
+ * <p>The bucket {@code 0} counts the durations lower than 1 microsecond and the bucket {@code i >
+ * 0} counts the durations in range [2<sup>i-1</sup>..2<sup>i</sup>[ microseconds. The last bucket
+ * also counts all the longer durations.
+ *
+ * <p>The values are updated live, the successive readings are therefore not necessarily consistent
+ * with each other.
+ *
+ * @since 2.1.0
+ */
+public interface DurationHistogram {
+
+  /**
+   * @return The number of recorded durations.
+   * @since 2.1.0
+   */
+  long getCount();
+
+  /**
+   * @return The mean of the recorded durations in microseconds, 0 if nothing has been recorded.
+   * @since 2.1.0
+   */
+  double getMeanMicros();
+
+  /**
+   * @return The longest recorded duration in microseconds.
+   * @since 2.1.0
+   */
+  long getMaxMicros();
+
+  /**
+   * Returns an upper bound of the provided percentile, with the precision of the buckets.
+   *
+   * @param percentile The percentile in range [0..100].
+   * @return The upper bound in microseconds of the bucket containing the percentile, 0 if nothing
+   *     has been recorded.
+   * @throws IllegalArgumentException If the percentile is out of range.
+   * @since 2.1.0
+   */
+  long getPercentileMicros(double percentile);
+
+  /**
+   * @return A copy of the counts of each bucket.
+   * @since 2.1.0
+   */
+  long[] getBucketCounts();
+
+  /**
+   * @param bucketIndex The index of the bucket.
+   * @return The exclusive upper bound of the bucket in microseconds, {@link Long#MAX_VALUE} for the
+   *     last bucket.
+   * @throws IndexOutOfBoundsException If the index is out of range.
+   * @since 2.1.0
+   */
+  long getBucketUpperBoundMicros(int bucketIndex);
+}
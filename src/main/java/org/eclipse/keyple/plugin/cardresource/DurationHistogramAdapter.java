@@ -0,0 +1,152 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adapter of {@link DurationHistogram}.
+ *
+ * <p>The recording is lock-free and, once the striped counters have settled, allocation-free.
+ *
+ * @since 2.1.0
+ */
+final class DurationHistogramAdapter implements DurationHistogram {
+
+  private static final int BUCKET_COUNT = 40;
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+  private final LongAdder totalNanos = new LongAdder();
+  private final AtomicLong maxNanos = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @since 2.1.0
+   */
+  DurationHistogramAdapter() {
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      buckets[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a duration.
+   *
+   * @param durationNanos The duration in nanoseconds.
+   * @since 2.1.0
+   */
+  void record(long durationNanos) {
+    if (durationNanos < 0) {
+      durationNanos = 0;
+    }
+    long micros = durationNanos / 1000;
+    buckets[Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1)].increment();
+    totalNanos.add(durationNanos);
+    long max = maxNanos.get();
+    while (durationNanos > max && !maxNanos.compareAndSet(max, durationNanos)) {
+      max = maxNanos.get();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucket : buckets) {
+      count += bucket.sum();
+    }
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public double getMeanMicros() {
+    long count = getCount();
+    return count == 0 ? 0 : totalNanos.sum() / 1000.0 / count;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getMaxMicros() {
+    return maxNanos.get() / 1000;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getPercentileMicros(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile out of range: " + percentile);
+    }
+    long[] counts = getBucketCounts();
+    long count = 0;
+    for (long bucketCount : counts) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * count);
+    long cumulatedCount = 0;
+    for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+      cumulatedCount += counts[i];
+      if (cumulatedCount >= rank) {
+        return Math.min(getBucketUpperBoundMicros(i), getMaxMicros());
+      }
+    }
+    return getMaxMicros();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long[] getBucketCounts() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      counts[i] = buckets[i].sum();
+    }
+    return counts;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public long getBucketUpperBoundMicros(int bucketIndex) {
+    if (bucketIndex < 0 || bucketIndex >= BUCKET_COUNT) {
+      throw new IndexOutOfBoundsException("Bucket index out of range: " + bucketIndex);
+    }
+    return bucketIndex == BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << bucketIndex;
+  }
+}
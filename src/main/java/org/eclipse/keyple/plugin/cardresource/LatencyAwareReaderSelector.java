@@ -0,0 +1,76 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selector of the reader to allocate among the available readers of a profile, steering the
+ * allocations toward the underlying readers having the lowest moving average APDU latency (see
+ * {@link CardResourceHealth#getAverageLatencyNanos()}).
+ *
+ * <p>A percentage of the selections picks a reader at random instead, so that the slow readers
+ * keep being measured and a recovered reader earns traffic back. The readers never measured are
+ * selected first.
+ *
+ * @since 2.1.0
+ */
+final class LatencyAwareReaderSelector {
+
+  private final int explorationPercent;
+
+  /**
+   * Constructor.
+   *
+   * @param explorationPercent The percentage of the selections picking a reader at random, in
+   *     range [0..100].
+   * @since 2.1.0
+   */
+  LatencyAwareReaderSelector(int explorationPercent) {
+    this.explorationPercent = explorationPercent;
+  }
+
+  /**
+   * Selects a reader among the provided ones, in a single pass.
+   *
+   * @param readers The available readers.
+   * @return Null if there is no reader.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapter select(Iterable<CardResourceReaderAdapter> readers) {
+    Random random = ThreadLocalRandom.current();
+    boolean isExploring = explorationPercent > 0 && random.nextInt(100) < explorationPercent;
+    CardResourceReaderAdapter selectedReader = null;
+    long selectedLatencyNanos = Long.MAX_VALUE;
+    int count = 0;
+    for (CardResourceReaderAdapter readerAdapter : readers) {
+      count++;
+      if (isExploring) {
+        // reservoir sampling: each reader is finally selected with the same probability
+        if (random.nextInt(count) == 0) {
+          selectedReader = readerAdapter;
+        }
+      } else {
+        long latencyNanos = readerAdapter.getHealth().getAverageLatencyNanos();
+        if (latencyNanos < selectedLatencyNanos) {
+          selectedReader = readerAdapter;
+          selectedLatencyNanos = latencyNanos;
+          if (latencyNanos == 0) {
+            break;
+          }
+        }
+      }
+    }
+    return selectedReader;
+  }
+}
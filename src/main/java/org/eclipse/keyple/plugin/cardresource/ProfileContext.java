@@ -0,0 +1,147 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runtime state of the plugin associated with a card resource profile.
+ *
+ * @since 2.1.0
+ */
+final class ProfileContext {
+
+  private final String cardResourceProfileName;
+  private final CardResourceReaderAdapterFactory readerAdapterFactory;
+  private final CardResourceWaitQueue waitQueue;
+  private final CardResourceReservoir reservoir;
+  private final CardResourceReservoir[] reserves;
+  private final AllocationStatisticsAdapter allocationStatistics;
+  private final CardResourceAffinityMap affinityMap;
+  private final int maxConcurrentAllocations;
+  private final AtomicInteger concurrentAllocationCount = new AtomicInteger();
+
+  /**
+   * Constructor.
+   *
+   * @param readerAdapterFactory The reader adapter factory of the profile.
+   * @param waitQueue The wait queue of the profile (optional).
+   * @param reservoir The reservoir of the profile (optional).
+   * @param reserves The reserves of the profile, indexed by priority class (null elements if none).
+   * @param allocationStatistics The allocation statistics of the profile.
+   * @param affinityMap The affinity map of the profile.
+   * @param maxConcurrentAllocations The maximum number of concurrent allocations.
+   * @since 2.1.0
+   */
+  ProfileContext(
+      CardResourceReaderAdapterFactory readerAdapterFactory,
+      CardResourceWaitQueue waitQueue,
+      CardResourceReservoir reservoir,
+      CardResourceReservoir[] reserves,
+      AllocationStatisticsAdapter allocationStatistics,
+      CardResourceAffinityMap affinityMap,
+      int maxConcurrentAllocations) {
+    this.cardResourceProfileName = readerAdapterFactory.getCardResourceProfileName();
+    this.readerAdapterFactory = readerAdapterFactory;
+    this.waitQueue = waitQueue;
+    this.reservoir = reservoir;
+    this.reserves = reserves;
+    this.allocationStatistics = allocationStatistics;
+    this.affinityMap = affinityMap;
+    this.maxConcurrentAllocations = maxConcurrentAllocations;
+  }
+
+  /**
+   * @return The name of the card resource profile.
+   * @since 2.1.0
+   */
+  String getCardResourceProfileName() {
+    return cardResourceProfileName;
+  }
+
+  /**
+   * @return The reader adapter factory of the profile.
+   * @since 2.1.0
+   */
+  CardResourceReaderAdapterFactory getReaderAdapterFactory() {
+    return readerAdapterFactory;
+  }
+
+  /**
+   * @return Null if the allocations of the profile must not wait.
+   * @since 2.1.0
+   */
+  CardResourceWaitQueue getWaitQueue() {
+    return waitQueue;
+  }
+
+  /**
+   * @return Null if the profile is not in reservoir mode.
+   * @since 2.1.0
+   */
+  CardResourceReservoir getReservoir() {
+    return reservoir;
+  }
+
+  /**
+   * @param priority The priority class.
+   * @return Null if no card resource of the profile is reserved to the class.
+   * @since 2.1.0
+   */
+  CardResourceReservoir getReserve(AllocationPriority priority) {
+    return reserves[priority.ordinal()];
+  }
+
+  /**
+   * @return The allocation statistics of the profile.
+   * @since 2.1.0
+   */
+  AllocationStatisticsAdapter getAllocationStatistics() {
+    return allocationStatistics;
+  }
+
+  /**
+   * @return The affinity map of the profile.
+   * @since 2.1.0
+   */
+  CardResourceAffinityMap getAffinityMap() {
+    return affinityMap;
+  }
+
+  /**
+   * Admits a new allocation if the maximum number of concurrent allocations is not reached.
+   *
+   * <p>Each successful admission must be followed by a call to {@link #onAllocationCompleted()}.
+   *
+   * @return False if the allocation must be rejected.
+   * @since 2.1.0
+   */
+  boolean tryAdmitAllocation() {
+    int count;
+    do {
+      count = concurrentAllocationCount.get();
+      if (count >= maxConcurrentAllocations) {
+        return false;
+      }
+    } while (!concurrentAllocationCount.compareAndSet(count, count + 1));
+    return true;
+  }
+
+  /**
+   * Notifies the end of an admitted allocation, successful or not.
+   *
+   * @since 2.1.0
+   */
+  void onAllocationCompleted() {
+    concurrentAllocationCount.decrementAndGet();
+  }
+}
@@ -0,0 +1,208 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.IOException;
+import java.util.Deque;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.spi.PoolPluginSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.PoolReaderSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of {@link PoolPluginSpi} allocating the readers of a {@link CardResourceBroker}
+ * running in another JVM.
+ *
+ * <p>Each allocated reader holds its own connection to the broker. The connections of the released
+ * readers are kept open and reused by the next allocations, the most recently used first.
+ *
+ * @since 2.1.0
+ */
+final class RemoteCardResourcePluginAdapter implements PoolPluginSpi {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(RemoteCardResourcePluginAdapter.class);
+
+  private final String pluginName;
+  private final String host;
+  private final int port;
+  private final int connectTimeoutMillis;
+  private final Deque<CardResourceBrokerConnection> idleConnections =
+      new ConcurrentLinkedDeque<CardResourceBrokerConnection>();
+  private final ConcurrentMap<RemoteCardResourceReaderAdapter, CardResourceBrokerConnection>
+      leases =
+          new ConcurrentHashMap<RemoteCardResourceReaderAdapter, CardResourceBrokerConnection>();
+  private volatile boolean unregistered;
+
+  /**
+   * Constructor.
+   *
+   * @param pluginName The name of the plugin.
+   * @param host The host name or IP address of the broker.
+   * @param port The port of the broker.
+   * @param connectTimeoutMillis The connection timeout, 0 for none.
+   * @since 2.1.0
+   */
+  RemoteCardResourcePluginAdapter(
+      String pluginName, String host, int port, int connectTimeoutMillis) {
+    this.pluginName = pluginName;
+    this.host = host;
+    this.port = port;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getName() {
+    return pluginName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Returns the card resource profiles and virtual reader groups exported by the broker.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public SortedSet<String> getReaderGroupReferences() throws PluginIOException {
+    CardResourceBrokerConnection connection = borrowConnection();
+    try {
+      SortedSet<String> readerGroupReferences = connection.getReaderGroupReferences();
+      giveBackConnection(connection);
+      return readerGroupReferences;
+    } catch (IOException e) {
+      connection.close();
+      throw new PluginIOException(
+          "Unable to get the reader group references from the broker: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The allocation is performed by the broker, with the same semantics as a local allocation
+   * (wait time, reservoir, admission limits, virtual reader groups).
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public PoolReaderSpi allocateReader(String readerGroupReference) throws PluginIOException {
+    CardResourceBrokerConnection connection = borrowConnection();
+    RemoteCardResourceReaderAdapter readerAdapter;
+    try {
+      readerAdapter = connection.allocateReader(readerGroupReference);
+    } catch (PluginIOException e) {
+      giveBackConnection(connection);
+      throw e;
+    } catch (IOException e) {
+      connection.close();
+      throw new PluginIOException(
+          "Unable to allocate a reader for "
+              + readerGroupReference
+              + " from the broker: "
+              + e.getMessage(),
+          e);
+    }
+    leases.put(readerAdapter, connection);
+    return readerAdapter;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The release request is sent without waiting for the broker, and the connection of the
+   * reader is kept for the next allocations.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void releaseReader(ReaderSpi readerSpi) {
+    RemoteCardResourceReaderAdapter readerAdapter = (RemoteCardResourceReaderAdapter) readerSpi;
+    CardResourceBrokerConnection connection = leases.remove(readerAdapter);
+    if (connection == null) {
+      // already released
+      return;
+    }
+    readerAdapter.onUnregister();
+    try {
+      connection.releaseReader();
+      giveBackConnection(connection);
+    } catch (IOException e) {
+      // the broker releases the reader of a closed connection
+      connection.close();
+      logger.warn(
+          "Unable to release the reader '{}' on the broker: {}",
+          readerAdapter.getName(),
+          e.getMessage());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Closes all the connections to the broker, which releases the readers still allocated.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void onUnregister() {
+    unregistered = true;
+    for (Map.Entry<RemoteCardResourceReaderAdapter, CardResourceBrokerConnection> entry :
+        leases.entrySet()) {
+      if (leases.remove(entry.getKey()) != null) {
+        entry.getKey().onUnregister();
+        entry.getValue().close();
+      }
+    }
+    CardResourceBrokerConnection connection;
+    while ((connection = idleConnections.pollFirst()) != null) {
+      connection.close();
+    }
+  }
+
+  /** Takes the most recently used idle connection, or opens a new one. */
+  private CardResourceBrokerConnection borrowConnection() throws PluginIOException {
+    if (unregistered) {
+      throw new PluginIOException("The plugin " + pluginName + " has been unregistered");
+    }
+    CardResourceBrokerConnection connection = idleConnections.pollFirst();
+    if (connection != null) {
+      return connection;
+    }
+    try {
+      return new CardResourceBrokerConnection(host, port, connectTimeoutMillis);
+    } catch (IOException e) {
+      throw new PluginIOException(
+          "Unable to connect to the broker at " + host + ":" + port + ": " + e.getMessage(), e);
+    }
+  }
+
+  /** Keeps the provided connection for the next requests, unless the plugin is unregistered. */
+  private void giveBackConnection(CardResourceBrokerConnection connection) {
+    idleConnections.offerFirst(connection);
+    if (unregistered && idleConnections.remove(connection)) {
+      connection.close();
+    }
+  }
+}
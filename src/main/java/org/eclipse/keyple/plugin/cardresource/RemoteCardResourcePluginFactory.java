@@ -0,0 +1,23 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import org.eclipse.keyple.core.common.KeyplePluginExtensionFactory;
+
+/**
+ * Remote card resource specific {@link KeyplePluginExtensionFactory} to be provided to the Keyple
+ * SmartCard service to register a plugin allocating the readers of a {@link CardResourceBroker},
+ * built by {@link RemoteCardResourcePluginFactoryBuilder}.
+ *
+ * @since 2.1.0
+ */
+public interface RemoteCardResourcePluginFactory extends KeyplePluginExtensionFactory {}
@@ -0,0 +1,88 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import org.eclipse.keyple.core.common.CommonApiProperties;
+import org.eclipse.keyple.core.plugin.PluginApiProperties;
+import org.eclipse.keyple.core.plugin.spi.PoolPluginFactorySpi;
+import org.eclipse.keyple.core.plugin.spi.PoolPluginSpi;
+
+/**
+ * Adapter of {@link RemoteCardResourcePluginFactory} and {@link PoolPluginFactorySpi}.
+ *
+ * @since 2.1.0
+ */
+final class RemoteCardResourcePluginFactoryAdapter
+    implements RemoteCardResourcePluginFactory, PoolPluginFactorySpi {
+
+  private final String pluginName;
+  private final String host;
+  private final int port;
+  private final int connectTimeoutMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param pluginName The name of the plugin.
+   * @param host The host name or IP address of the broker.
+   * @param port The port of the broker.
+   * @param connectTimeoutMillis The connection timeout, 0 for none.
+   * @since 2.1.0
+   */
+  RemoteCardResourcePluginFactoryAdapter(
+      String pluginName, String host, int port, int connectTimeoutMillis) {
+    this.pluginName = pluginName;
+    this.host = host;
+    this.port = port;
+    this.connectTimeoutMillis = connectTimeoutMillis;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getPluginApiVersion() {
+    return PluginApiProperties.VERSION;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getCommonApiVersion() {
+    return CommonApiProperties.VERSION;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getPoolPluginName() {
+    return pluginName;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public PoolPluginSpi getPoolPlugin() {
+    return new RemoteCardResourcePluginAdapter(pluginName, host, port, connectTimeoutMillis);
+  }
+}
@@ -0,0 +1,95 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Builds instances of {@link RemoteCardResourcePluginFactory}.
+ *
+ * @since 2.1.0
+ */
+public final class RemoteCardResourcePluginFactoryBuilder {
+
+  /**
+   * Private constructor to force the use of the static factory method {@link #builder(String,
+   * String, int)}.
+   */
+  private RemoteCardResourcePluginFactoryBuilder() {}
+
+  /**
+   * Creates a builder to build a {@link RemoteCardResourcePluginFactory}.
+   *
+   * @param pluginName The name of the plugin.
+   * @param host The host name or IP address of the {@link CardResourceBroker}.
+   * @param port The port of the broker.
+   * @return A new builder instance.
+   * @throws IllegalArgumentException If the name or the host is null or empty, or if the port is
+   *     out of range.
+   * @since 2.1.0
+   */
+  public static Builder builder(String pluginName, String host, int port) {
+    Assert.getInstance()
+        .notEmpty(pluginName, "pluginName")
+        .notEmpty(host, "host")
+        .isInRange(port, 1, 65535, "port");
+    return new Builder(pluginName, host, port);
+  }
+
+  /**
+   * Builder to build a {@link RemoteCardResourcePluginFactory}.
+   *
+   * @since 2.1.0
+   */
+  public static class Builder {
+
+    private final String pluginName;
+    private final String host;
+    private final int port;
+    private int connectTimeoutMillis = 5000;
+
+    /** Constructs a Builder with the factory parameters. */
+    private Builder(String pluginName, String host, int port) {
+      this.pluginName = pluginName;
+      this.host = host;
+      this.port = port;
+    }
+
+    /**
+     * Sets the timeout of the connections to the broker.
+     *
+     * <p>By default, the timeout is 5 seconds.
+     *
+     * @param connectTimeoutMillis The timeout in milliseconds, 0 for none.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the timeout is negative.
+     * @since 2.1.0
+     */
+    public Builder setConnectTimeout(int connectTimeoutMillis) {
+      Assert.getInstance().greaterOrEqual(connectTimeoutMillis, 0, "connectTimeoutMillis");
+      this.connectTimeoutMillis = connectTimeoutMillis;
+      return this;
+    }
+
+    /**
+     * Returns an instance of {@link RemoteCardResourcePluginFactory} created from the fields set on
+     * this builder.
+     *
+     * @return A {@link RemoteCardResourcePluginFactory}
+     * @since 2.1.0
+     */
+    public RemoteCardResourcePluginFactory build() {
+      return new RemoteCardResourcePluginFactoryAdapter(
+          pluginName, host, port, connectTimeoutMillis);
+    }
+  }
+}
@@ -0,0 +1,44 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.List;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+
+/**
+ * Remote card resource specific {@link KeypleReaderExtension}, for the readers allocated through
+ * a {@link CardResourceBroker}.
+ *
+ * @since 2.1.0
+ */
+public interface RemoteCardResourceReader extends KeypleReaderExtension {
+
+  /**
+   * Transmits in order the provided APDU commands to the card and returns all the responses.
+   *
+   * <p>The commands are pipelined: they are all sent to the broker before the first response is
+   * awaited, saving a network round trip per command.
+   *
+   * @param apduCommands The ordered list of APDU commands.
+   * @return The list of the APDU responses, in the order of the commands.
+   * @throws IllegalArgumentException If the list is null, empty, or contains null or empty
+   *     commands.
+   * @throws ReaderIOException If a communication error with the broker or with the reader
+   *     occurred, in which case the responses already received are lost.
+   * @throws CardIOException If a communication error with the card occurred, in which case the
+   *     responses already received are lost.
+   * @since 2.1.0
+   */
+  List<byte[]> transmitApdus(List<byte[]> apduCommands) throws ReaderIOException, CardIOException;
+}
@@ -0,0 +1,197 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.io.IOException;
+import java.util.List;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.PoolReaderSpi;
+import org.eclipse.keyple.core.util.Assert;
+
+/**
+ * Adapter of {@link RemoteCardResourceReader} and {@link PoolReaderSpi}, forwarding the APDU
+ * exchanges to the reader allocated on the broker for its connection.
+ *
+ * @since 2.1.0
+ */
+final class RemoteCardResourceReaderAdapter implements RemoteCardResourceReader, PoolReaderSpi {
+
+  private volatile CardResourceBrokerConnection connection;
+  private final String name;
+  private final boolean contactless;
+  private final String powerOnData;
+
+  /**
+   * This constructor should only be called by {@link CardResourceBrokerConnection}.
+   *
+   * @param connection The connection for which the reader has been allocated on the broker.
+   * @param name The name of the reader on the broker.
+   * @param contactless True if the reader is contactless.
+   * @param powerOnData The power-on data of the card, null if none.
+   * @since 2.1.0
+   */
+  RemoteCardResourceReaderAdapter(
+      CardResourceBrokerConnection connection,
+      String name,
+      boolean contactless,
+      String powerOnData) {
+    this.connection = connection;
+    this.name = name;
+    this.contactless = contactless;
+    this.powerOnData = powerOnData;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Do nothing since the physical channel opening is implicit through the allocation process of
+   * the broker.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void openPhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Do nothing since the physical channel closing is implicit through the release process of
+   * the broker.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void closePhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isPhysicalChannelOpen() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean checkCardPresence() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getPowerOnData() {
+    return powerOnData;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public byte[] transmitApdu(byte[] apduIn) throws ReaderIOException, CardIOException {
+    try {
+      return getConnection().transmitApdu(apduIn);
+    } catch (IOException e) {
+      throw new ReaderIOException("Connection to the broker lost: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public List<byte[]> transmitApdus(List<byte[]> apduCommands)
+      throws ReaderIOException, CardIOException {
+    Assert.getInstance().notEmpty(apduCommands, "apduCommands");
+    for (byte[] apduCommand : apduCommands) {
+      Assert.getInstance().notEmpty(apduCommand, "apduCommand");
+    }
+    try {
+      return getConnection().transmitApdus(apduCommands);
+    } catch (IOException e) {
+      throw new ReaderIOException("Connection to the broker lost: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isContactless() {
+    return contactless;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Unbinds the reader from its connection, which is released separately by the plugin.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void onUnregister() {
+    connection = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The smart card selected on the broker side cannot be transferred to the client JVM, the
+   * application having to select the card through the reader if needed.
+   *
+   * @return Null.
+   * @since 2.1.0
+   */
+  @Override
+  public Object getSelectedSmartCard() {
+    return null;
+  }
+
+  /** Returns the connection of the reader, checking that the reader is still allocated. */
+  private CardResourceBrokerConnection getConnection() throws ReaderIOException {
+    CardResourceBrokerConnection currentConnection = connection;
+    if (currentConnection == null) {
+      throw new ReaderIOException("The reader " + name + " has been released");
+    }
+    return currentConnection;
+  }
+}
@@ -0,0 +1,38 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the default executor of the asynchronous allocations (Java 21 variant).
+ *
+ * @since 2.1.0
+ */
+final class AllocationExecutors {
+
+  private AllocationExecutors() {}
+
+  /**
+   * Creates the default executor of the asynchronous allocations, running each allocation in its
+   * own virtual thread.
+   *
+   * @param pluginName The name of the plugin.
+   * @return A new executor.
+   * @since 2.1.0
+   */
+  static ExecutorService newDefaultAllocationExecutor(String pluginName) {
+    return Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name(pluginName + "-allocator-", 1).factory());
+  }
+}
@@ -0,0 +1,119 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class AllocationEventDispatcherTest {
+
+  private static final String PLUGIN_NAME = "CardResourcePlugin";
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile1";
+
+  private AllocationEventDispatcher dispatcher;
+
+  @After
+  public void tearDown() {
+    dispatcher.close();
+  }
+
+  @Test
+  public void publish_shouldDeliverEventsInOrder() throws Exception {
+    dispatcher = new AllocationEventDispatcher(PLUGIN_NAME, 4);
+    final BlockingQueue<AllocationEvent> events = new LinkedBlockingQueue<AllocationEvent>();
+    dispatcher.addListener(
+        new AllocationEventListener() {
+          @Override
+          public void onAllocationEvent(AllocationEvent event) {
+            events.add(event);
+          }
+        });
+    for (int i = 0; i < 100; i++) {
+      dispatcher.publish(
+          AllocationEventType.ALLOCATION, CARD_RESOURCE_PROFILE_NAME, "Reader" + i, null, i);
+      // leaves time to the dispatch thread to keep up with the small buffer
+      assertThat(events.poll(1, TimeUnit.SECONDS).getDurationNanos()).isEqualTo(i);
+    }
+    assertThat(dispatcher.getDroppedEventCount()).isZero();
+  }
+
+  @Test
+  public void publish_whenNoListenerIsRegistered_shouldNotCountDroppedEvents() {
+    dispatcher = new AllocationEventDispatcher(PLUGIN_NAME, 1);
+    for (int i = 0; i < 10; i++) {
+      dispatcher.publish(
+          AllocationEventType.RELEASE, CARD_RESOURCE_PROFILE_NAME, "Reader1", null, 0);
+    }
+    assertThat(dispatcher.getDroppedEventCount()).isZero();
+  }
+
+  @Test
+  public void publish_whenListenerIsSlow_shouldDropAndCountEventsWithoutBlocking()
+      throws Exception {
+    dispatcher = new AllocationEventDispatcher(PLUGIN_NAME, 4);
+    final CountDownLatch listenerEntered = new CountDownLatch(1);
+    final CountDownLatch listenerReleased = new CountDownLatch(1);
+    dispatcher.addListener(
+        new AllocationEventListener() {
+          @Override
+          public void onAllocationEvent(AllocationEvent event) {
+            listenerEntered.countDown();
+            try {
+              listenerReleased.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+    dispatcher.publish(
+        AllocationEventType.EXHAUSTION,
+        CARD_RESOURCE_PROFILE_NAME,
+        null,
+        AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE,
+        0);
+    assertThat(listenerEntered.await(1, TimeUnit.SECONDS)).isTrue();
+    for (int i = 0; i < 10; i++) {
+      dispatcher.publish(
+          AllocationEventType.EXHAUSTION,
+          CARD_RESOURCE_PROFILE_NAME,
+          null,
+          AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE,
+          0);
+    }
+    assertThat(dispatcher.getDroppedEventCount()).isEqualTo(6);
+    listenerReleased.countDown();
+  }
+
+  @Test
+  public void publish_whenListenerFails_shouldKeepDeliveringEvents() throws Exception {
+    dispatcher = new AllocationEventDispatcher(PLUGIN_NAME, 4);
+    final BlockingQueue<AllocationEvent> events = new LinkedBlockingQueue<AllocationEvent>();
+    dispatcher.addListener(
+        new AllocationEventListener() {
+          @Override
+          public void onAllocationEvent(AllocationEvent event) {
+            events.add(event);
+            throw new IllegalStateException("listener failure");
+          }
+        });
+    dispatcher.publish(AllocationEventType.RELEASE, CARD_RESOURCE_PROFILE_NAME, "Reader1", null, 0);
+    dispatcher.publish(AllocationEventType.RELEASE, CARD_RESOURCE_PROFILE_NAME, "Reader2", null, 0);
+    assertThat(events.poll(1, TimeUnit.SECONDS).getReaderName()).isEqualTo("Reader1");
+    assertThat(events.poll(1, TimeUnit.SECONDS).getReaderName()).isEqualTo("Reader2");
+  }
+}
@@ -0,0 +1,195 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.util.HexUtil;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ApduReplayReaderSpiTest {
+
+  private static final String READER_NAME_1 = "Reader1";
+  private static final String READER_NAME_2 = "Reader2";
+  private static final byte[] APDU_C_1 = HexUtil.toByteArray("8084000004");
+  private static final byte[] APDU_R_1 = HexUtil.toByteArray("001122339000");
+  private static final byte[] APDU_C_2 = HexUtil.toByteArray("80CA00FE00");
+  private static final byte[] APDU_R_2 = HexUtil.toByteArray("6A82");
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private String logFilePath;
+
+  @Before
+  public void setUp() throws Exception {
+    logFilePath = new File(temporaryFolder.getRoot(), "apdu.log").getPath();
+  }
+
+  @Test
+  public void load_shouldReplayRecordedExchangesOfReaderInOrder() throws Exception {
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 4096);
+    byte[] readerName1 = ApduExchangeRecorder.encodeReaderName(READER_NAME_1);
+    byte[] readerName2 = ApduExchangeRecorder.encodeReaderName(READER_NAME_2);
+    recorder.record(readerName1, System.nanoTime(), 1000, APDU_C_1, APDU_R_1, 0);
+    recorder.record(readerName2, System.nanoTime(), 1000, APDU_C_1, APDU_R_2, 0);
+    recorder.record(readerName1, System.nanoTime(), 1000, APDU_C_2, APDU_R_2, 0);
+    recorder.record(
+        readerName1, System.nanoTime(), 1000, APDU_C_1, null, ApduExchangeRecorder.CARD_IO_ERROR);
+    recorder.close();
+
+    ApduReplayReaderSpi replayReader =
+        ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+
+    assertThat(replayReader.getName()).isEqualTo(READER_NAME_1);
+    assertThat(replayReader.getExchangeCount()).isEqualTo(3);
+    assertThat(replayReader.transmitApdu(APDU_C_1)).isEqualTo(APDU_R_1);
+    assertThat(replayReader.transmitApdu(APDU_C_2)).isEqualTo(APDU_R_2);
+    assertThatThrownBy(() -> replayReader.transmitApdu(APDU_C_1))
+        .isInstanceOf(CardIOException.class);
+    // starts over
+    assertThat(replayReader.transmitApdu(APDU_C_1)).isEqualTo(APDU_R_1);
+  }
+
+  @Test
+  public void transmitApdu_whenCommandIsNotTheRecordedOne_shouldThrowCardIOException()
+      throws Exception {
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 4096);
+    recorder.record(
+        ApduExchangeRecorder.encodeReaderName(READER_NAME_1),
+        System.nanoTime(),
+        1000,
+        APDU_C_1,
+        APDU_R_1,
+        0);
+    recorder.close();
+
+    ApduReplayReaderSpi replayReader =
+        ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+
+    assertThatThrownBy(() -> replayReader.transmitApdu(APDU_C_2))
+        .isInstanceOf(CardIOException.class)
+        .hasMessageContaining("Unexpected APDU command");
+  }
+
+  @Test
+  public void transmitApdu_withOriginalTiming_shouldWaitForRecordedLatency() throws Exception {
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 4096);
+    recorder.record(
+        ApduExchangeRecorder.encodeReaderName(READER_NAME_1),
+        System.nanoTime(),
+        TimeUnit.MILLISECONDS.toNanos(50),
+        APDU_C_1,
+        APDU_R_1,
+        0);
+    recorder.close();
+
+    ApduReplayReaderSpi replayReader = ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, true);
+
+    long startNanos = System.nanoTime();
+    replayReader.transmitApdu(APDU_C_1);
+    assertThat(System.nanoTime() - startNanos)
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+  }
+
+  @Test
+  public void load_whenRecordIsNotCommitted_shouldSkipItAndLoadTheFollowingOnes() throws Exception {
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 4096);
+    byte[] readerName = ApduExchangeRecorder.encodeReaderName(READER_NAME_1);
+    recorder.record(readerName, System.nanoTime(), 1000, APDU_C_1, APDU_R_1, 0);
+    recorder.record(readerName, System.nanoTime(), 1000, APDU_C_2, APDU_R_2, 0);
+    recorder.close();
+    // simulates a first record whose writing was not completed
+    RandomAccessFile file = new RandomAccessFile(logFilePath, "rw");
+    try {
+      file.seek(ApduExchangeRecorder.HEADER_LENGTH + 4);
+      file.writeInt(0);
+    } finally {
+      file.close();
+    }
+
+    ApduReplayReaderSpi replayReader =
+        ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+
+    assertThat(replayReader.getExchangeCount()).isEqualTo(1);
+    assertThat(replayReader.transmitApdu(APDU_C_2)).isEqualTo(APDU_R_2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void load_whenReaderIsNotRecorded_shouldThrowIAE() throws Exception {
+    new ApduExchangeRecorder(logFilePath, 4096).close();
+    ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+  }
+
+  @Test
+  public void record_whenLogIsFull_shouldDropAndCountRecords() throws Exception {
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 1024);
+    byte[] readerName = ApduExchangeRecorder.encodeReaderName(READER_NAME_1);
+    for (int i = 0; i < 100; i++) {
+      recorder.record(readerName, System.nanoTime(), 1000, APDU_C_1, APDU_R_1, 0);
+    }
+    recorder.close();
+
+    ApduReplayReaderSpi replayReader =
+        ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+
+    assertThat(replayReader.getExchangeCount() + recorder.getDroppedRecordCount())
+        .isEqualTo(100);
+    assertThat(recorder.getDroppedRecordCount()).isPositive();
+  }
+
+  @Test
+  public void transmitApdu_ofReaderAdapterWithRecorder_shouldRecordExchanges() throws Exception {
+    ReaderSpi readerExtension = mock(CardResourcePluginAdapterTest.ReaderExtension.class);
+    when(readerExtension.getName()).thenReturn(READER_NAME_1);
+    when(readerExtension.transmitApdu(APDU_C_1)).thenReturn(APDU_R_1);
+    when(readerExtension.transmitApdu(APDU_C_2)).thenThrow(new ReaderIOException("Unplugged"));
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResource.getReaderExtension()).thenReturn((KeypleReaderExtension) readerExtension);
+    ApduExchangeRecorder recorder = new ApduExchangeRecorder(logFilePath, 4096);
+    CardResourceReaderAdapter readerAdapter =
+        new CardResourceReaderAdapter(
+            cardResource,
+            "profile1",
+            new ApduStatisticsAdapter(),
+            new ApduStatisticsAdapter(),
+            new CardResourceHealth(0),
+            null,
+            recorder);
+    readerAdapter.transmitApdu(APDU_C_1);
+    try {
+      readerAdapter.transmitApdu(APDU_C_2);
+    } catch (ReaderIOException e) {
+      // expected
+    }
+    recorder.close();
+
+    ApduReplayReaderSpi replayReader =
+        ApduReplayReaderSpi.load(logFilePath, READER_NAME_1, false);
+
+    assertThat(replayReader.getExchangeCount()).isEqualTo(2);
+    assertThat(replayReader.transmitApdu(APDU_C_1)).isEqualTo(APDU_R_1);
+    assertThatThrownBy(() -> replayReader.transmitApdu(APDU_C_2))
+        .isInstanceOf(ReaderIOException.class);
+  }
+}
@@ -0,0 +1,62 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class ApduResponseCacheTest {
+
+  private static final byte[] APDU_C_1 = new byte[] {(byte) 0x80, (byte) 0xCA, 0x00, 0x01, 0x00};
+  private static final byte[] APDU_C_2 = new byte[] {(byte) 0x80, (byte) 0xCA, 0x00, 0x02, 0x00};
+  private static final byte[] APDU_C_3 = new byte[] {(byte) 0x80, (byte) 0xCA, 0x00, 0x03, 0x00};
+  private static final byte[] APDU_R = new byte[] {0x01, (byte) 0x90, 0x00};
+
+  @Test
+  public void get_shouldMatchCommandByContent() {
+    ApduResponseCache cache = new ApduResponseCache(2, TimeUnit.MINUTES.toNanos(1));
+    cache.put(APDU_C_1.clone(), APDU_R);
+    assertThat(cache.get(APDU_C_1.clone())).isEqualTo(APDU_R);
+    assertThat(cache.get(APDU_C_2)).isNull();
+  }
+
+  @Test
+  public void put_whenCapacityIsReached_shouldEvictLeastRecentlyUsedResponse() {
+    ApduResponseCache cache = new ApduResponseCache(2, TimeUnit.MINUTES.toNanos(1));
+    cache.put(APDU_C_1, APDU_R);
+    cache.put(APDU_C_2, APDU_R);
+    cache.get(APDU_C_1);
+    cache.put(APDU_C_3, APDU_R);
+    assertThat(cache.get(APDU_C_1)).isNotNull();
+    assertThat(cache.get(APDU_C_2)).isNull();
+    assertThat(cache.get(APDU_C_3)).isNotNull();
+  }
+
+  @Test
+  public void get_whenTimeToLiveIsElapsed_shouldReturnNull() throws Exception {
+    ApduResponseCache cache = new ApduResponseCache(2, TimeUnit.MILLISECONDS.toNanos(10));
+    cache.put(APDU_C_1, APDU_R);
+    Thread.sleep(20);
+    assertThat(cache.get(APDU_C_1)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void clear_shouldRemoveAllResponses() {
+    ApduResponseCache cache = new ApduResponseCache(2, TimeUnit.MINUTES.toNanos(1));
+    cache.put(APDU_C_1, APDU_R);
+    cache.clear();
+    assertThat(cache.size()).isZero();
+  }
+}
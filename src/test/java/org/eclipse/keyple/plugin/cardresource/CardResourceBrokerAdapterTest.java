@@ -0,0 +1,163 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.PoolReaderSpi;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CardResourceBrokerAdapterTest {
+
+  interface ReaderExtension extends KeypleReaderExtension, ReaderSpi {}
+
+  private static final String PLUGIN_NAME = "CardResourcePlugin";
+  private static final String REMOTE_PLUGIN_NAME = "RemoteCardResourcePlugin";
+  private static final String READER_NAME = "Reader1";
+  private static final String CARD_RESOURCE_PROFILE_NAME_1 = "profile1";
+  private static final String CARD_RESOURCE_PROFILE_NAME_2 = "profile2";
+  private static final String POWER_ON_DATA = "3B8F8001804F0CA000000306030001000000006A";
+  private static final byte[] APDU_C_1 = new byte[] {(byte) 0x80, (byte) 0xCA, 0x00, 0x01, 0x00};
+  private static final byte[] APDU_C_2 = new byte[] {(byte) 0x80, (byte) 0xCA, 0x00, 0x02, 0x00};
+  private static final byte[] APDU_R_1 = new byte[] {0x01, (byte) 0x90, 0x00};
+  private static final byte[] APDU_R_2 = new byte[] {0x02, (byte) 0x90, 0x00};
+
+  private ReaderExtension readerExtension;
+  private CardResource cardResource;
+  private CardResourceService cardResourceService;
+  private CardResourcePluginAdapter pluginAdapter;
+  private CardResourceBroker broker;
+  private RemoteCardResourcePluginAdapter remotePluginAdapter;
+
+  @Before
+  public void setUp() throws Exception {
+    readerExtension = mock(ReaderExtension.class);
+    when(readerExtension.getName()).thenReturn(READER_NAME);
+    when(readerExtension.transmitApdu(APDU_C_1)).thenReturn(APDU_R_1);
+    when(readerExtension.transmitApdu(APDU_C_2)).thenReturn(APDU_R_2);
+    SmartCard smartCard = mock(SmartCard.class);
+    when(smartCard.getPowerOnData()).thenReturn(POWER_ON_DATA);
+    cardResource = mock(CardResource.class);
+    when(cardResource.getReaderExtension()).thenReturn(readerExtension);
+    when(cardResource.getSmartCard()).thenReturn(smartCard);
+    cardResourceService = mock(CardResourceService.class);
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_1))
+        .thenReturn(cardResource);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME,
+            cardResourceService,
+            Arrays.asList(CARD_RESOURCE_PROFILE_NAME_1, CARD_RESOURCE_PROFILE_NAME_2),
+            new CardResourcePluginConfiguration());
+    broker = CardResourceBrokerBuilder.builder(pluginAdapter).build();
+    broker.start();
+    remotePluginAdapter =
+        new RemoteCardResourcePluginAdapter(
+            REMOTE_PLUGIN_NAME, "127.0.0.1", broker.getPort(), 1000);
+  }
+
+  @After
+  public void tearDown() {
+    remotePluginAdapter.onUnregister();
+    broker.stop();
+    pluginAdapter.onUnregister();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void builder_whenPluginIsNull_shouldThrowIAE() {
+    CardResourceBrokerBuilder.builder(null);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void start_whenAlreadyStarted_shouldThrowISE() {
+    broker.start();
+  }
+
+  @Test
+  public void getReaderGroupReferences_shouldReturnProfilesExportedByBroker() throws Exception {
+    assertThat(remotePluginAdapter.getReaderGroupReferences())
+        .containsExactly(CARD_RESOURCE_PROFILE_NAME_1, CARD_RESOURCE_PROFILE_NAME_2);
+  }
+
+  @Test
+  public void allocateReader_shouldForwardApdusToBrokerReader() throws Exception {
+    PoolReaderSpi remoteReader = remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(remoteReader.getName()).isEqualTo(READER_NAME + " (CardResource)");
+    assertThat(remoteReader.getPowerOnData()).isEqualTo(POWER_ON_DATA);
+    assertThat(remoteReader.transmitApdu(APDU_C_1)).isEqualTo(APDU_R_1);
+  }
+
+  @Test
+  public void transmitApdus_shouldReturnPipelinedResponsesInOrder() throws Exception {
+    RemoteCardResourceReader remoteReader =
+        (RemoteCardResourceReader)
+            remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    List<byte[]> apduResponses = remoteReader.transmitApdus(Arrays.asList(APDU_C_1, APDU_C_2));
+    assertThat(apduResponses).containsExactly(APDU_R_1, APDU_R_2);
+  }
+
+  @Test
+  public void transmitApdu_whenCardIsMute_shouldThrowCardIOException() throws Exception {
+    when(readerExtension.transmitApdu(APDU_C_1)).thenThrow(new CardIOException("Mute"));
+    PoolReaderSpi remoteReader = remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThatThrownBy(() -> remoteReader.transmitApdu(APDU_C_1))
+        .isInstanceOf(CardIOException.class)
+        .hasMessage("Mute");
+    // the connection remains usable
+    assertThat(remoteReader.transmitApdu(APDU_C_2)).isEqualTo(APDU_R_2);
+  }
+
+  @Test
+  public void allocateReader_whenNoCardResourceIsAvailable_shouldThrowPluginIOException() {
+    assertThatThrownBy(() -> remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2))
+        .isInstanceOf(PluginIOException.class)
+        .hasMessageContaining(CARD_RESOURCE_PROFILE_NAME_2);
+  }
+
+  @Test
+  public void releaseReader_shouldReleaseCardResourceOnBroker() throws Exception {
+    PoolReaderSpi remoteReader = remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    remotePluginAdapter.releaseReader(remoteReader);
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+    assertThatThrownBy(() -> remoteReader.transmitApdu(APDU_C_1))
+        .isInstanceOf(ReaderIOException.class);
+  }
+
+  @Test
+  public void onUnregister_whenReaderIsAllocated_shouldReleaseCardResourceOnBroker()
+      throws Exception {
+    remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    remotePluginAdapter.onUnregister();
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+  }
+
+  @Test
+  public void stop_shouldReleaseCardResourcesOfConnections() throws Exception {
+    remotePluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    broker.stop();
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+    assertThat(broker.isStarted()).isFalse();
+  }
+}
@@ -14,13 +14,24 @@
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
 import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
 import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
 import org.eclipse.keyple.core.service.resource.*;
 import org.eclipse.keypop.reader.CardReader;
@@ -41,11 +52,13 @@ interface ReaderExtension extends KeypleReaderExtension, ReaderSpi {}
   private static final String CARD_RESOURCE_PROFILE_NAME_3 = "profile3";
   private static final String CARD_RESOURCE_PROFILE_NAME_4 = "profile4";
   private static final String CARD_RESOURCE_PROFILE_NAME_5 = "profile5";
+  private static final String READER_GROUP_REFERENCE = "group";
   private final Set<String> cardResourceProfileNames =
       new HashSet<String>(
           Arrays.asList(CARD_RESOURCE_PROFILE_NAME_1, CARD_RESOURCE_PROFILE_NAME_2));
   private CardResourceService cardResourceService;
   private CardResource cardResource;
+  private CardResourcePluginConfiguration configuration;
   private CardResourcePluginAdapter pluginAdapter;
 
   @Before
@@ -69,8 +82,10 @@ public void setUp() {
     when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_4))
         .thenThrow(IllegalStateException.class);
     when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_5)).thenReturn(null);
+    configuration = new CardResourcePluginConfiguration();
     pluginAdapter =
-        new CardResourcePluginAdapter(PLUGIN_NAME, cardResourceService, cardResourceProfileNames);
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
   }
 
   @After
@@ -102,6 +117,78 @@ public void AllocateReader_whenReaderExists_shouldReturnReader() throws Exceptio
     assertThat(allocatedReader.getName()).isEqualTo(CONTACT_READER_NAME + " (CardResource)");
   }
 
+  @Test
+  public void GetReaderGroupReferences_shouldIncludeVirtualReaderGroups() {
+    configuration.setReaderGroup(
+        READER_GROUP_REFERENCE,
+        Arrays.asList(CARD_RESOURCE_PROFILE_NAME_2, CARD_RESOURCE_PROFILE_NAME_1));
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    assertThat(pluginAdapter.getReaderGroupReferences())
+        .containsExactly(
+            READER_GROUP_REFERENCE, CARD_RESOURCE_PROFILE_NAME_1, CARD_RESOURCE_PROFILE_NAME_2);
+  }
+
+  @Test
+  public void AllocateReader_whenReaderGroupIsVirtual_shouldFallBackToNextProfile()
+      throws Exception {
+    configuration.setReaderGroup(
+        READER_GROUP_REFERENCE,
+        Arrays.asList(CARD_RESOURCE_PROFILE_NAME_2, CARD_RESOURCE_PROFILE_NAME_1));
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CardResourceReaderAdapter allocatedReader =
+        (CardResourceReaderAdapter) pluginAdapter.allocateReader(READER_GROUP_REFERENCE);
+    assertThat(allocatedReader.getCardResource()).isSameAs(cardResource);
+    assertThat(allocatedReader.getCardResourceProfileName())
+        .isEqualTo(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(
+            pluginAdapter
+                .getGlobalAllocationStatistics()
+                .getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isZero();
+    assertThat(pluginAdapter.getGlobalAllocationStatistics().getAllocationCount()).isEqualTo(1);
+    pluginAdapter.releaseReader(allocatedReader);
+    verify(cardResourceService).releaseCardResource(cardResource);
+  }
+
+  @Test(expected = PluginIOException.class)
+  public void AllocateReader_whenVirtualReaderGroupIsExhausted_shouldThrowPluginIOException()
+      throws Exception {
+    configuration.setReaderGroup(
+        READER_GROUP_REFERENCE, Collections.singletonList(CARD_RESOURCE_PROFILE_NAME_2));
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    pluginAdapter.allocateReader(READER_GROUP_REFERENCE);
+  }
+
+  @Test
+  public void AllocateReader_whenVirtualReaderGroupIsExhausted_shouldRecordFailureOnce()
+      throws Exception {
+    configuration.setReaderGroup(
+        READER_GROUP_REFERENCE,
+        Arrays.asList(CARD_RESOURCE_PROFILE_NAME_2, CARD_RESOURCE_PROFILE_NAME_5));
+    cardResourceProfileNames.add(CARD_RESOURCE_PROFILE_NAME_5);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    assertThatThrownBy(() -> pluginAdapter.allocateReader(READER_GROUP_REFERENCE))
+        .isInstanceOf(PluginIOException.class);
+    assertThat(
+            pluginAdapter
+                .getGlobalAllocationStatistics()
+                .getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isEqualTo(1);
+    assertThat(
+            pluginAdapter
+                .getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_2)
+                .getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isZero();
+  }
+
   @Test(expected = PluginIOException.class)
   public void AllocateReader_whenProfileIsNotConfigured_shouldThrowPluginIOException()
       throws PluginIOException {
@@ -120,6 +207,98 @@ public void AllocateReader_whenNoCardResourceIsAvailable_shouldThrowPluginIOExce
     pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_5);
   }
 
+  @Test
+  public void AllocateReader_whenMaxWaitTimeElapses_shouldThrowPluginIOException() {
+    configuration.setMaxWaitTimeMillis(CARD_RESOURCE_PROFILE_NAME_2, 50);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    long start = System.currentTimeMillis();
+    assertThatThrownBy(() -> pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2))
+        .isInstanceOf(PluginIOException.class);
+    assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(50);
+  }
+
+  @Test
+  public void AllocateReader_whenMaxConcurrentAllocationsIsReached_shouldRejectAllocation()
+      throws Exception {
+    configuration.setMaxWaitTimeMillis(CARD_RESOURCE_PROFILE_NAME_2, 5000);
+    configuration.setMaxConcurrentAllocations(CARD_RESOURCE_PROFILE_NAME_2, 1);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CompletableFuture<CardResourceReader> pendingAllocation =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_2);
+    verify(cardResourceService, timeout(1000)).getCardResource(CARD_RESOURCE_PROFILE_NAME_2);
+    assertThatThrownBy(() -> pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2))
+        .isInstanceOf(AllocationRejectedException.class);
+    assertThat(
+            pluginAdapter
+                .getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_2)
+                .getFailureCount(AllocationFailureCause.REJECTED))
+        .isEqualTo(1);
+    pluginAdapter.onUnregister();
+    assertThatThrownBy(() -> pendingAllocation.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(PluginIOException.class);
+    assertThat(
+            pluginAdapter
+                .getGlobalAllocationStatistics()
+                .getFailureCount(AllocationFailureCause.PLUGIN_UNREGISTERED))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void GetAllocationStatistics_shouldCountAllocationsReleasesAndFailures() throws Exception {
+    ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    pluginAdapter.releaseReader(allocatedReader);
+    try {
+      pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2);
+    } catch (PluginIOException e) {
+      // expected
+    }
+    try {
+      pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_3);
+    } catch (PluginIOException e) {
+      // expected
+    }
+    AllocationStatistics statistics1 =
+        pluginAdapter.getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(statistics1.getAllocationCount()).isEqualTo(1);
+    assertThat(statistics1.getReleaseCount()).isEqualTo(1);
+    assertThat(statistics1.getWaitTimeHistogram().getCount()).isEqualTo(1);
+    assertThat(statistics1.getHoldTimeHistogram().getCount()).isEqualTo(1);
+    AllocationStatistics statistics2 =
+        pluginAdapter.getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_2);
+    assertThat(statistics2.getAllocationCount()).isZero();
+    assertThat(statistics2.getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isEqualTo(1);
+    AllocationStatistics globalStatistics = pluginAdapter.getGlobalAllocationStatistics();
+    assertThat(globalStatistics.getAllocationCount()).isEqualTo(1);
+    assertThat(globalStatistics.getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isEqualTo(1);
+    assertThat(globalStatistics.getFailureCount(AllocationFailureCause.UNAUTHORIZED_PROFILE))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void AllocateReader_shouldShareApduStatisticsOfUnderlyingReaderAcrossAllocations()
+      throws Exception {
+    CardResourceReader reader1 =
+        (CardResourceReader) pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    pluginAdapter.releaseReader((ReaderSpi) reader1);
+    CardResourceReader reader2 =
+        (CardResourceReader) pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(reader2).isNotSameAs(reader1);
+    assertThat(reader2.getApduStatistics()).isSameAs(reader1.getApduStatistics());
+    assertThat(reader2.getProfileApduStatistics()).isSameAs(reader1.getProfileApduStatistics());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void GetAllocationStatistics_whenProfileIsUnknown_shouldThrowIAE() {
+    pluginAdapter.getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_3);
+  }
+
   @Test
   public void ReleaseReader_whenReaderExists_shouldNullifyCardResource() throws Exception {
     ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
@@ -131,11 +310,386 @@ public void ReleaseReader_whenReaderExists_shouldNullifyCardResource() throws Ex
   }
 
   @Test
-  public void OnUnregister_shouldNotInteractWithCardResourceService() throws Exception {
+  public void ReleaseReader_whenCalledTwice_shouldReleaseCardResourceOnce() throws Exception {
+    ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    pluginAdapter.releaseReader(allocatedReader);
+    pluginAdapter.releaseReader(allocatedReader);
+    verify(cardResourceService).releaseCardResource(cardResource);
+  }
+
+  @Test
+  public void AllocateReader_whenMaxHoldTimeExpires_shouldReclaimCardResource() throws Exception {
+    configuration.setMaxHoldTimeMillis(50);
+    configuration.setAllocationSiteSamplingInterval(1);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CardResourceReaderAdapter allocatedReader =
+        (CardResourceReaderAdapter) pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(allocatedReader.getAllocationSite()).isNotNull();
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+    assertThat(allocatedReader.getCardResource()).isNull();
+    assertThat(
+            pluginAdapter
+                .getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_1)
+                .getReclamationCount())
+        .isEqualTo(1);
+    pluginAdapter.releaseReader(allocatedReader);
+    verify(cardResourceService).releaseCardResource(cardResource);
+    pluginAdapter.onUnregister();
+  }
+
+  @Test
+  public void AllocateReader_whenIdleTimeoutExpires_shouldReclaimCardResource() throws Exception {
+    configuration.setIdleTimeoutMillis(50);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CardResourceReaderAdapter allocatedReader =
+        (CardResourceReaderAdapter) pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+    assertThatThrownBy(() -> allocatedReader.transmitApdu(new byte[] {0x00, (byte) 0xA4}))
+        .isInstanceOf(ReaderIOException.class);
+    pluginAdapter.onUnregister();
+  }
+
+  @Test
+  public void ReleaseReader_whenExchangesFailedRepeatedly_shouldQuarantineCardResource()
+      throws Exception {
+    ReaderExtension readerExtension = (ReaderExtension) cardResource.getReaderExtension();
+    when(readerExtension.transmitApdu(any(byte[].class))).thenThrow(new CardIOException("Mute"));
+    configuration.setQuarantine(2, 10);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CardResourceReaderAdapter allocatedReader =
+        (CardResourceReaderAdapter) pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> allocatedReader.transmitApdu(new byte[] {0x00, (byte) 0x84}))
+          .isInstanceOf(CardIOException.class);
+    }
+    pluginAdapter.releaseReader(allocatedReader);
+    verify(readerExtension, timeout(1000).atLeastOnce()).checkCardPresence();
+    verify(cardResourceService, never()).releaseCardResource(cardResource);
+    assertThat(
+            pluginAdapter
+                .getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_1)
+                .getQuarantineCount())
+        .isEqualTo(1);
+    when(readerExtension.checkCardPresence()).thenReturn(true);
+    verify(cardResourceService, timeout(1000)).releaseCardResource(cardResource);
+    assertThat(allocatedReader.getHealth().getConsecutiveFailureCount()).isZero();
+    pluginAdapter.onUnregister();
+  }
+
+  @Test
+  public void AllocateReader_whenLivenessProbeEnabled_shouldCacheCardPresence() throws Exception {
+    ReaderExtension readerExtension = (ReaderExtension) cardResource.getReaderExtension();
+    when(readerExtension.checkCardPresence()).thenThrow(new ReaderIOException("Unplugged"));
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_1))
+        .thenReturn(cardResource, (CardResource) null);
+    configuration.setReservoir(CARD_RESOURCE_PROFILE_NAME_1, 1, 1);
+    configuration.setLivenessProbe(10, 1);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    verify(readerExtension, timeout(1000).atLeastOnce()).checkCardPresence();
+    CardResourceReaderAdapter allocatedReader = null;
+    long deadline = System.currentTimeMillis() + 1000;
+    while (allocatedReader == null && System.currentTimeMillis() < deadline) {
+      try {
+        allocatedReader =
+            (CardResourceReaderAdapter)
+                pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+      } catch (PluginIOException e) {
+        // the reader is taken out of the reservoir while probed
+        Thread.sleep(1);
+      }
+    }
+    assertThat(allocatedReader).isNotNull();
+    assertThat(allocatedReader.getCardResource()).isSameAs(cardResource);
+    assertThat(allocatedReader.isPhysicalChannelOpen()).isFalse();
+    assertThat(allocatedReader.checkCardPresence()).isFalse();
+    clearInvocations(readerExtension);
+    Thread.sleep(50);
+    verify(readerExtension, never()).checkCardPresence();
+    pluginAdapter.onUnregister();
+  }
+
+  @Test
+  public void OnUnregister_whenNoReaderIsAllocated_shouldNotInteractWithCardResourceService() {
+    pluginAdapter.onUnregister();
+    verifyNoMoreInteractions(cardResourceService);
+  }
+
+  @Test
+  public void OnUnregister_whenReaderIsAllocated_shouldReleaseCardResourceOnce() throws Exception {
     ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
     assertThat(((CardResourceReaderAdapter) allocatedReader).getCardResource()).isNotNull();
     pluginAdapter.onUnregister();
     verify(cardResourceService).getCardResource(CARD_RESOURCE_PROFILE_NAME_1);
+    verify(cardResourceService, times(1)).releaseCardResource(cardResource);
     verifyNoMoreInteractions(cardResourceService);
   }
+
+  @Test
+  public void OnUnregister_whenAllocatedReaderIsInvalidated_shouldReleaseLeasedCardResource()
+      throws Exception {
+    ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    ((CardResourceReaderAdapter) allocatedReader).onUnregister();
+    pluginAdapter.onUnregister();
+    verify(cardResourceService, times(1)).releaseCardResource(cardResource);
+    verify(cardResourceService, never()).releaseCardResource(isNull());
+  }
+
+  @Test
+  public void AllocateReaderAsync_whenReaderExists_shouldCompleteWithReader() throws Exception {
+    CompletableFuture<CardResourceReader> future =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(future.get().getCardResource()).isSameAs(cardResource);
+  }
+
+  @Test
+  public void AllocateReaderAsync_whenNoCardResourceIsAvailable_shouldCompleteExceptionally() {
+    CompletableFuture<CardResourceReader> future =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_5);
+    assertThatThrownBy(future::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(PluginIOException.class);
+  }
+
+  @Test
+  public void AllocateReaderAsync_whenExecutorIsProvided_shouldUseIt() throws Exception {
+    Executor executor = spy(new DirectExecutor());
+    configuration.setAllocationExecutor(executor);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CompletableFuture<CardResourceReader> future =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_1);
+    verify(executor).execute(any(Runnable.class));
+    assertThat(future).isCompleted();
+  }
+
+  @Test
+  public void ReleaseCardResourceReader_shouldReleaseCardResource() throws Exception {
+    CardResourceReader reader =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_1).get();
+    pluginAdapter.releaseCardResourceReader(reader);
+    verify(cardResourceService).releaseCardResource(cardResource);
+  }
+
+  @Test
+  public void ReleaseCardResourceReader_shouldInvalidateReader() throws Exception {
+    CardResourceReader reader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1, "t1");
+    pluginAdapter.releaseCardResourceReader(reader);
+    assertThat(reader.getCardResource()).isNull();
+    assertThatThrownBy(
+            () -> reader.transmitApdus(Collections.singletonList(new byte[] {0, 0, 0, 0})))
+        .isInstanceOf(ReaderIOException.class);
+  }
+
+  @Test
+  public void AllocateReaderAsync_whenFutureIsCancelledBeforeCompletion_shouldReleaseReader() {
+    List<Runnable> allocationTasks = new ArrayList<Runnable>();
+    configuration.setAllocationExecutor(allocationTasks::add);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CompletableFuture<CardResourceReader> future =
+        pluginAdapter.allocateReaderAsync(CARD_RESOURCE_PROFILE_NAME_1);
+    future.cancel(false);
+    allocationTasks.get(0).run();
+    verify(cardResourceService).releaseCardResource(cardResource);
+    assertThat(pluginAdapter.getLeaseCount()).isZero();
+  }
+
+  @Test
+  public void AllocateReader_withAffinityKey_shouldReuseCardResourceFromReservoir()
+      throws Exception {
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_2))
+        .thenReturn(mockCardResource("Reader2"), mockCardResource("Reader3"), null);
+    configuration.setReservoir(CARD_RESOURCE_PROFILE_NAME_2, 1, 2);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    CardResourceReader reader1 = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2, "t1");
+    CardResourceReader reader2 = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2, "t2");
+    CardResource cardResource1 = reader1.getCardResource();
+    assertThat(reader2.getCardResource()).isNotSameAs(cardResource1);
+    pluginAdapter.releaseCardResourceReader(reader2);
+    pluginAdapter.releaseCardResourceReader(reader1);
+    CardResourceReader reader3 = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2, "t1");
+    assertThat(reader3.getCardResource()).isSameAs(cardResource1);
+    pluginAdapter.onUnregister();
+  }
+
+  @Test
+  public void AllocateReader_withReservedCapacity_shouldServeOnlyEntitledPriorities()
+      throws Exception {
+    CardResource cardResource2 = mockCardResource("Reader2");
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_2))
+        .thenReturn(cardResource2, (CardResource) null);
+    configuration.setReservedCapacity(CARD_RESOURCE_PROFILE_NAME_2, AllocationPriority.HIGH, 1);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    verify(cardResourceService, timeout(1000).times(2))
+        .getCardResource(CARD_RESOURCE_PROFILE_NAME_2);
+    assertThatThrownBy(
+            () ->
+                pluginAdapter.allocateReader(
+                    CARD_RESOURCE_PROFILE_NAME_2, AllocationPriority.NORMAL))
+        .isInstanceOf(PluginIOException.class);
+    CardResourceReader reader =
+        pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2, AllocationPriority.HIGH);
+    assertThat(reader.getCardResource()).isSameAs(cardResource2);
+    pluginAdapter.releaseCardResourceReader(reader);
+    verify(cardResourceService, never()).releaseCardResource(cardResource2);
+    assertThat(
+            pluginAdapter
+                .allocateReader(CARD_RESOURCE_PROFILE_NAME_2, AllocationPriority.HIGH)
+                .getCardResource())
+        .isSameAs(cardResource2);
+    pluginAdapter.onUnregister();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void AllocateReader_whenPriorityIsNull_shouldThrowIAE() throws Exception {
+    pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1, (AllocationPriority) null);
+  }
+
+  @Test
+  public void GetLeases_shouldDescribeReadersNotYetReleased() throws Exception {
+    assertThat(pluginAdapter.getLeases()).isEmpty();
+    CardResourceReader reader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1, "t1");
+    assertThat(pluginAdapter.getLeaseCount()).isEqualTo(1);
+    List<CardResourceLease> leases = pluginAdapter.getLeases();
+    assertThat(leases).hasSize(1);
+    CardResourceLease lease = leases.get(0);
+    assertThat(lease.getCardResourceReader()).isSameAs(reader);
+    assertThat(lease.getReaderName()).isEqualTo(CONTACT_READER_NAME + " (CardResource)");
+    assertThat(lease.getCardResourceProfileName()).isEqualTo(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(lease.getAffinityKey()).isEqualTo("t1");
+    assertThat(lease.getAgeMillis()).isGreaterThanOrEqualTo(0);
+    pluginAdapter.releaseCardResourceReader(reader);
+    assertThat(pluginAdapter.getLeaseCount()).isZero();
+  }
+
+  @Test
+  public void OnUnregister_shouldReleaseReadersStillAllocated() throws Exception {
+    CardResource cardResource2 = mockCardResource("Reader2");
+    CardResource cardResource3 = mockCardResource("Reader3");
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_2))
+        .thenReturn(cardResource2, cardResource3);
+    ReaderSpi reader1 = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2);
+    pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2);
+    pluginAdapter.onUnregister();
+    verify(cardResourceService).releaseCardResource(cardResource);
+    verify(cardResourceService).releaseCardResource(cardResource2);
+    verify(cardResourceService).releaseCardResource(cardResource3);
+    assertThat(pluginAdapter.getLeaseCount()).isZero();
+    assertThat(((CardResourceReaderAdapter) reader1).getCardResource()).isNull();
+    pluginAdapter.releaseReader(reader1);
+    verify(cardResourceService, times(1)).releaseCardResource(cardResource);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void AllocateReader_whenAffinityKeyIsEmpty_shouldThrowIAE() throws Exception {
+    pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1, "");
+  }
+
+  @Test
+  public void AllocateReaders_shouldReturnReadersInRequestOrder() throws Exception {
+    CardResource cardResource2 = mockCardResource("Reader2");
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME_2))
+        .thenReturn(cardResource2);
+    List<CardResourceReader> readers =
+        pluginAdapter.allocateReaders(
+            Arrays.asList(CARD_RESOURCE_PROFILE_NAME_2, CARD_RESOURCE_PROFILE_NAME_1));
+    assertThat(readers).hasSize(2);
+    assertThat(readers.get(0).getCardResource()).isSameAs(cardResource2);
+    assertThat(readers.get(1).getCardResource()).isSameAs(cardResource);
+  }
+
+  @Test
+  public void AllocateReaders_whenOneAllocationFails_shouldReleaseAllocatedReaders()
+      throws Exception {
+    cardResourceProfileNames.add(CARD_RESOURCE_PROFILE_NAME_5);
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, cardResourceProfileNames, configuration);
+    assertThatThrownBy(
+            () ->
+                pluginAdapter.allocateReaders(
+                    Arrays.asList(CARD_RESOURCE_PROFILE_NAME_5, CARD_RESOURCE_PROFILE_NAME_1)))
+        .isInstanceOf(PluginIOException.class);
+    verify(cardResourceService).releaseCardResource(cardResource);
+    assertThat(
+            pluginAdapter.getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME_1).getReleaseCount())
+        .isEqualTo(1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void AllocateReaders_whenListIsEmpty_shouldThrowIAE() throws Exception {
+    pluginAdapter.allocateReaders(Collections.<String>emptyList());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ReleaseCardResourceReader_whenReaderIsNull_shouldThrowIAE() {
+    pluginAdapter.releaseCardResourceReader(null);
+  }
+
+  @Test
+  public void AddAllocationEventListener_shouldDeliverAllocationEvents() throws Exception {
+    final BlockingQueue<AllocationEvent> events = new LinkedBlockingQueue<AllocationEvent>();
+    pluginAdapter.addAllocationEventListener(
+        new AllocationEventListener() {
+          @Override
+          public void onAllocationEvent(AllocationEvent event) {
+            events.add(event);
+          }
+        });
+    ReaderSpi allocatedReader = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_1);
+    pluginAdapter.releaseReader(allocatedReader);
+    try {
+      pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME_2);
+    } catch (PluginIOException e) {
+      // expected
+    }
+    AllocationEvent event = events.poll(1, TimeUnit.SECONDS);
+    assertThat(event.getType()).isEqualTo(AllocationEventType.ALLOCATION);
+    assertThat(event.getCardResourceProfileName()).isEqualTo(CARD_RESOURCE_PROFILE_NAME_1);
+    assertThat(event.getReaderName()).isEqualTo(allocatedReader.getName());
+    event = events.poll(1, TimeUnit.SECONDS);
+    assertThat(event.getType()).isEqualTo(AllocationEventType.RELEASE);
+    assertThat(event.getReaderName()).isEqualTo(allocatedReader.getName());
+    event = events.poll(1, TimeUnit.SECONDS);
+    assertThat(event.getType()).isEqualTo(AllocationEventType.EXHAUSTION);
+    assertThat(event.getCardResourceProfileName()).isEqualTo(CARD_RESOURCE_PROFILE_NAME_2);
+    assertThat(event.getFailureCause())
+        .isEqualTo(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE);
+    pluginAdapter.onUnregister();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void AddAllocationEventListener_whenListenerIsNull_shouldThrowIAE() {
+    pluginAdapter.addAllocationEventListener(null);
+  }
+
+  private static CardResource mockCardResource(String readerName) {
+    ReaderExtension readerExtension = mock(ReaderExtension.class);
+    when(readerExtension.getName()).thenReturn(readerName);
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResource.getReaderExtension()).thenReturn(readerExtension);
+    return cardResource;
+  }
+
+  static class DirectExecutor implements Executor {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  }
 }
@@ -56,6 +56,20 @@ public void build_whenPluginNameAndProfileNamesAreSet_thenPluginContainsNameAndP
         .containsExactlyInAnyOrderElementsOf(profileNames);
   }
 
+  @Test
+  public void build_whenBuilderIsChangedAfterBuild_thenFactoryIsNotAffected() throws Exception {
+    CardResourcePluginFactoryBuilder.Builder builder =
+        CardResourcePluginFactoryBuilder.builder(
+            PLUGIN_NAME, cardResourceService, Arrays.asList("profile1", "profile2"));
+    CardResourcePluginFactoryAdapter factory = (CardResourcePluginFactoryAdapter) builder.build();
+    builder.setReaderGroup("group1", Arrays.asList("profile2", "profile1"));
+    assertThat(factory.getPoolPlugin().getReaderGroupReferences())
+        .containsExactlyInAnyOrder("profile1", "profile2");
+    CardResourcePluginFactoryAdapter newFactory =
+        (CardResourcePluginFactoryAdapter) builder.build();
+    assertThat(newFactory.getPoolPlugin().getReaderGroupReferences()).contains("group1");
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void build_whenNullPluginName_thenThrowIAE() {
     Collection<String> profileNames = Collections.singletonList("profile1");
@@ -91,4 +105,23 @@ public void builder_whenNullProfileName_thenThrowIAE() {
     Collection<String> profileNames = Arrays.asList("profile1", null, "profile2");
     CardResourcePluginFactoryBuilder.builder(PLUGIN_NAME, cardResourceService, profileNames);
   }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setAllocationExecutor_whenNull_thenThrowIAE() {
+    CardResourcePluginFactoryBuilder.builder(PLUGIN_NAME, cardResourceService, "profile1")
+        .setAllocationExecutor(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setReaderGroup_whenReferenceIsAProfileName_thenThrowIAE() {
+    CardResourcePluginFactoryBuilder.builder(
+            PLUGIN_NAME, cardResourceService, Arrays.asList("profile1", "profile2"))
+        .setReaderGroup("profile1", Arrays.asList("profile1", "profile2"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void setReaderGroup_whenProfileNameIsUnknown_thenThrowIAE() {
+    CardResourcePluginFactoryBuilder.builder(PLUGIN_NAME, cardResourceService, "profile1")
+        .setReaderGroup("group", Arrays.asList("profile1", "profile2"));
+  }
 }
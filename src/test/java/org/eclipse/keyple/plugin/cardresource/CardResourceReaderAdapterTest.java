@@ -12,10 +12,15 @@
 package org.eclipse.keyple.plugin.cardresource;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.keyple.core.common.KeypleReaderExtension;
 import org.eclipse.keyple.core.plugin.CardIOException;
 import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
@@ -25,20 +30,26 @@
 import org.eclipse.keypop.reader.selection.spi.SmartCard;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
 
 public class CardResourceReaderAdapterTest {
   private static final String CONTACT_READER_NAME = "ContactReader";
   private static final String CONTACTLESS_READER_NAME = "ContactlessReader";
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile1";
   static final String APDU_C = "8084000004";
   static final String UNKNOWN_APDU_C = "8084000008";
   static final String APDU_R = "001122339000";
+  static final String FAILING_APDU_C = "00B2010C00";
+  static final String FAILING_APDU_R = "6A82";
   static final String POWER_ON_DATA = "3B8880010000000000718100F9";
   private CardResource cardResource;
   private CardResourceReaderAdapter readerAdapter;
   private SmartCard smartCard;
   private CardReader reader;
   private ReaderSpi readerExtension;
+  private ApduStatisticsAdapter readerApduStatistics;
+  private ApduStatisticsAdapter profileApduStatistics;
 
   @Before
   public void setUp() throws Exception {
@@ -69,7 +80,17 @@ public boolean matches(byte[] arg) {
     when(cardResource.getReaderExtension()).thenReturn((KeypleReaderExtension) readerExtension);
     when(cardResource.getSmartCard()).thenReturn(smartCard);
 
-    readerAdapter = new CardResourceReaderAdapter(cardResource);
+    readerApduStatistics = new ApduStatisticsAdapter();
+    profileApduStatistics = new ApduStatisticsAdapter();
+    readerAdapter =
+        new CardResourceReaderAdapter(
+            cardResource,
+            CARD_RESOURCE_PROFILE_NAME,
+            readerApduStatistics,
+            profileApduStatistics,
+            new CardResourceHealth(0),
+            null,
+            null);
   }
 
   @Test
@@ -83,6 +104,11 @@ public void getCardResource_shouldReturnCardResource() {
     assertThat(readerAdapter.getCardResource()).isEqualTo(cardResource);
   }
 
+  @Test
+  public void getCardResourceProfileName_shouldReturnProfileName() {
+    assertThat(readerAdapter.getCardResourceProfileName()).isEqualTo(CARD_RESOURCE_PROFILE_NAME);
+  }
+
   @Test
   public void openPhysicalChannel_hasNoInteraction() {
     readerAdapter.openPhysicalChannel();
@@ -111,6 +137,20 @@ public void checkCardPresence_shouldReturnTrue() {
     assertThat(readerAdapter.checkCardPresence()).isTrue();
   }
 
+  @Test
+  public void checkCardPresence_whenLivenessProbeFailed_shouldReturnFalse() {
+    readerAdapter.getHealth().recordLivenessProbe(false, false);
+    assertThat(readerAdapter.checkCardPresence()).isFalse();
+    assertThat(readerAdapter.isPhysicalChannelOpen()).isFalse();
+  }
+
+  @Test
+  public void checkCardPresence_whenCardRemoved_shouldReturnFalseWithOpenChannel() {
+    readerAdapter.getHealth().recordLivenessProbe(true, false);
+    assertThat(readerAdapter.checkCardPresence()).isFalse();
+    assertThat(readerAdapter.isPhysicalChannelOpen()).isTrue();
+  }
+
   @Test
   public void getPowerOnData_shouldReturnCardPowerOnData() {
     String expectedPowerOnData = cardResource.getSmartCard().getPowerOnData();
@@ -136,7 +176,15 @@ public void isContactless_whenReaderIsContactless_shouldReturnTrue() {
     when(contactCardResource.getReaderExtension()).thenReturn(readerExtension);
     when(contactCardResource.getSmartCard()).thenReturn(smartCard);
 
-    CardResourceReaderAdapter contactAdapter = new CardResourceReaderAdapter(contactCardResource);
+    CardResourceReaderAdapter contactAdapter =
+        new CardResourceReaderAdapter(
+            contactCardResource,
+            CARD_RESOURCE_PROFILE_NAME,
+            new ApduStatisticsAdapter(),
+            new ApduStatisticsAdapter(),
+            new CardResourceHealth(0),
+            null,
+            null);
     assertThat(contactAdapter.isContactless())
         .isEqualTo(contactCardResource.getReader().isContactless());
     assertThat(contactAdapter.isContactless()).isTrue();
@@ -160,6 +208,215 @@ public void transmitApdu_whenCardIsNotResponding_shouldThrowCardIOException() th
     readerAdapter.transmitApdu(HexUtil.toByteArray(UNKNOWN_APDU_C));
   }
 
+  @Test
+  public void transmitApdu_whenCardIsResponding_shouldRecordExchange() throws Exception {
+    readerAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    for (ApduStatistics apduStatistics :
+        new ApduStatistics[] {
+          readerAdapter.getApduStatistics(), readerAdapter.getProfileApduStatistics()
+        }) {
+      assertThat(apduStatistics.getExchangeCount()).isEqualTo(1);
+      assertThat(apduStatistics.getBytesSentCount()).isEqualTo(5);
+      assertThat(apduStatistics.getBytesReceivedCount()).isEqualTo(6);
+      assertThat(apduStatistics.getLatencyHistogram().getCount()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  public void transmitApdu_whenCardIsNotResponding_shouldRecordCardIOException() {
+    try {
+      readerAdapter.transmitApdu(HexUtil.toByteArray(UNKNOWN_APDU_C));
+    } catch (Exception e) {
+      // expected
+    }
+    assertThat(readerApduStatistics.getCardIOExceptionCount()).isEqualTo(1);
+    assertThat(profileApduStatistics.getCardIOExceptionCount()).isEqualTo(1);
+    assertThat(readerApduStatistics.getExchangeCount()).isZero();
+  }
+
+  @Test
+  public void transmitApdu_shouldTrackConsecutiveFailuresInHealth() throws Exception {
+    for (int i = 0; i < 2; i++) {
+      try {
+        readerAdapter.transmitApdu(HexUtil.toByteArray(UNKNOWN_APDU_C));
+      } catch (CardIOException e) {
+        // expected
+      }
+    }
+    assertThat(readerAdapter.getHealth().getConsecutiveFailureCount()).isEqualTo(2);
+    readerAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    assertThat(readerAdapter.getHealth().getConsecutiveFailureCount()).isZero();
+  }
+
+  @Test
+  public void transmitApdu_whenCommandIsCacheable_shouldTransmitItOnce() throws Exception {
+    CardResourceReaderAdapter cachingReaderAdapter = newCachingReaderAdapter("8084");
+    assertThat(cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C)))
+        .isEqualTo(HexUtil.toByteArray(APDU_R));
+    assertThat(cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C)))
+        .isEqualTo(HexUtil.toByteArray(APDU_R));
+    verify(readerExtension).transmitApdu(HexUtil.toByteArray(APDU_C));
+    assertThat(cachingReaderAdapter.getApduStatistics().getExchangeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void transmitApdu_whenCommandIsNotCacheable_shouldTransmitItEachTime() throws Exception {
+    CardResourceReaderAdapter cachingReaderAdapter = newCachingReaderAdapter("00B2");
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    verify(readerExtension, times(2)).transmitApdu(HexUtil.toByteArray(APDU_C));
+  }
+
+  @Test
+  public void transmitApdu_whenResponseIsUnsuccessful_shouldNotCacheIt() throws Exception {
+    doReturn(HexUtil.toByteArray(FAILING_APDU_R))
+        .when(readerExtension)
+        .transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+    CardResourceReaderAdapter cachingReaderAdapter = newCachingReaderAdapter("00B2");
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+    verify(readerExtension, times(2)).transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+  }
+
+  @Test
+  public void clearApduResponseCache_shouldForceNextTransmission() throws Exception {
+    CardResourceReaderAdapter cachingReaderAdapter = newCachingReaderAdapter("8084");
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    cachingReaderAdapter.clearApduResponseCache();
+    cachingReaderAdapter.transmitApdu(HexUtil.toByteArray(APDU_C));
+    verify(readerExtension, times(2)).transmitApdu(HexUtil.toByteArray(APDU_C));
+  }
+
+  @Test
+  public void transmitApdus_shouldReturnAllResponsesInOrder() throws Exception {
+    doReturn(HexUtil.toByteArray(FAILING_APDU_R))
+        .when(readerExtension)
+        .transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+    List<byte[]> apduResponses =
+        readerAdapter.transmitApdus(
+            Arrays.asList(
+                HexUtil.toByteArray(APDU_C),
+                HexUtil.toByteArray(FAILING_APDU_C),
+                HexUtil.toByteArray(APDU_C)));
+    assertThat(apduResponses)
+        .containsExactly(
+            HexUtil.toByteArray(APDU_R),
+            HexUtil.toByteArray(FAILING_APDU_R),
+            HexUtil.toByteArray(APDU_R));
+    assertThat(readerAdapter.getApduStatistics().getExchangeCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void transmitApdus_whenStatusWordIsUnsuccessful_shouldStop() throws Exception {
+    doReturn(HexUtil.toByteArray(FAILING_APDU_R))
+        .when(readerExtension)
+        .transmitApdu(HexUtil.toByteArray(FAILING_APDU_C));
+    List<byte[]> apduResponses =
+        readerAdapter.transmitApdus(
+            Arrays.asList(
+                HexUtil.toByteArray(APDU_C),
+                HexUtil.toByteArray(FAILING_APDU_C),
+                HexUtil.toByteArray(APDU_C)),
+            Collections.singleton(0x9000));
+    assertThat(apduResponses)
+        .containsExactly(HexUtil.toByteArray(APDU_R), HexUtil.toByteArray(FAILING_APDU_R));
+    assertThat(readerAdapter.getApduStatistics().getExchangeCount()).isEqualTo(2);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void transmitApdus_whenListIsEmpty_shouldThrowIAE() throws Exception {
+    readerAdapter.transmitApdus(Collections.<byte[]>emptyList());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void transmitApdus_whenListContainsNull_shouldThrowIAE() throws Exception {
+    readerAdapter.transmitApdus(Arrays.asList(HexUtil.toByteArray(APDU_C), null));
+  }
+
+  @Test(expected = CardIOException.class)
+  public void transmitApdus_whenCardIsNotResponding_shouldThrowCardIOException()
+      throws Exception {
+    readerAdapter.transmitApdus(
+        Arrays.asList(HexUtil.toByteArray(APDU_C), HexUtil.toByteArray(UNKNOWN_APDU_C)));
+  }
+
+  @Test
+  public void transmitApduByteBuffer_shouldWriteResponseIntoResponseBuffer() throws Exception {
+    ByteBuffer apduCommand = ByteBuffer.allocateDirect(16);
+    apduCommand.put(HexUtil.toByteArray(APDU_C)).flip();
+    ByteBuffer apduResponse = ByteBuffer.allocate(300);
+    apduResponse.put((byte) 0xFF);
+    int length = readerAdapter.transmitApdu(apduCommand, apduResponse);
+    assertThat(length).isEqualTo(6);
+    assertThat(apduCommand.hasRemaining()).isFalse();
+    assertThat(apduResponse.position()).isEqualTo(7);
+    byte[] response = new byte[6];
+    apduResponse.flip();
+    apduResponse.get();
+    apduResponse.get(response);
+    assertThat(response).isEqualTo(HexUtil.toByteArray(APDU_R));
+  }
+
+  @Test
+  public void transmitApduByteBuffer_whenCalledTwice_shouldReuseCommandArray() throws Exception {
+    ByteBuffer apduCommand = ByteBuffer.allocate(16);
+    ByteBuffer apduResponse = ByteBuffer.allocate(258);
+    for (int i = 0; i < 2; i++) {
+      apduCommand.clear();
+      apduCommand.put(HexUtil.toByteArray(APDU_C)).flip();
+      apduResponse.clear();
+      readerAdapter.transmitApdu(apduCommand, apduResponse);
+    }
+    ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+    verify(readerExtension, times(2)).transmitApdu(captor.capture());
+    assertThat(captor.getAllValues().get(0)).isSameAs(captor.getAllValues().get(1));
+  }
+
+  @Test
+  public void transmitApduByteBuffer_whenResponseBufferIsTooSmall_shouldThrowIAE()
+      throws Exception {
+    ByteBuffer apduCommand = ByteBuffer.wrap(HexUtil.toByteArray(APDU_C));
+    assertThatThrownBy(() -> readerAdapter.transmitApdu(apduCommand, ByteBuffer.allocate(257)))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(apduCommand.position()).isZero();
+    verify(readerExtension, never()).transmitApdu(any(byte[].class));
+  }
+
+  @Test
+  public void transmitApduByteBuffer_whenExtendedResponseDoesNotFit_shouldCarryResponse()
+      throws Exception {
+    byte[] extendedResponse = new byte[302];
+    when(readerExtension.transmitApdu(any(byte[].class))).thenReturn(extendedResponse);
+    ByteBuffer apduResponse = ByteBuffer.allocate(300);
+    assertThatThrownBy(
+            () ->
+                readerAdapter.transmitApdu(
+                    ByteBuffer.wrap(new byte[] {0, (byte) 0xB0, 0, 0, 0, 1, 0x2C}), apduResponse))
+        .isInstanceOf(ApduResponseOverflowException.class)
+        .extracting("apduResponse")
+        .isSameAs(extendedResponse);
+    assertThat(apduResponse.position()).isZero();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void transmitApduByteBuffer_whenCommandIsEmpty_shouldThrowIAE() throws Exception {
+    readerAdapter.transmitApdu(ByteBuffer.allocate(0), ByteBuffer.allocate(258));
+  }
+
+  private CardResourceReaderAdapter newCachingReaderAdapter(String cacheableApduPrefix) {
+    return new CardResourceReaderAdapter(
+        cardResource,
+        CARD_RESOURCE_PROFILE_NAME,
+        new ApduStatisticsAdapter(),
+        new ApduStatisticsAdapter(),
+        new CardResourceHealth(0),
+        new ApduCachePolicy(
+            Collections.singletonList(HexUtil.toByteArray(cacheableApduPrefix)),
+            16,
+            TimeUnit.MINUTES.toNanos(1)),
+        null);
+  }
+
   @Test
   public void getSelectedSmartCard_shouldReturnSmartcard() {
     assertThat(readerAdapter.getSelectedSmartCard()).isEqualTo(smartCard);
@@ -0,0 +1,167 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CardResourceReservoirTest {
+
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile1";
+
+  private CardResourceService cardResourceService;
+  private ScheduledExecutorService scheduler;
+
+  @Before
+  public void setUp() {
+    cardResourceService = mock(CardResourceService.class);
+    scheduler = Executors.newSingleThreadScheduledExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void start_shouldFillReservoirUpToHighWaterMark() throws Exception {
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME))
+        .thenReturn(mockCardResource(), mockCardResource(), mockCardResource());
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    reservoir.start();
+    awaitSize(reservoir, 2);
+    verify(cardResourceService, times(2)).getCardResource(CARD_RESOURCE_PROFILE_NAME);
+  }
+
+  @Test
+  public void poll_whenReservoirIsEmpty_shouldReturnNull() {
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    assertThat(reservoir.poll()).isNull();
+  }
+
+  @Test
+  public void poll_whenBelowLowWaterMark_shouldRefillReservoir() throws Exception {
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME))
+        .thenReturn(mockCardResource());
+    CardResourceReservoir reservoir = newReservoir(2, 2);
+    CardResource cardResource = mockCardResource();
+    reservoir.offer(cardResource);
+    reservoir.offer(mockCardResource());
+    CardResourceReaderAdapter readerAdapter = reservoir.poll();
+    assertThat(readerAdapter.getCardResource()).isSameAs(cardResource);
+    assertThat(readerAdapter.getCardResourceProfileName()).isEqualTo(CARD_RESOURCE_PROFILE_NAME);
+    awaitSize(reservoir, 2);
+  }
+
+  @Test
+  public void poll_withCardResource_shouldTakeReaderOfThisCardResource() {
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    CardResource cardResource = mockCardResource();
+    reservoir.offer(mockCardResource());
+    reservoir.offer(cardResource);
+    assertThat(reservoir.poll(cardResource).getCardResource()).isSameAs(cardResource);
+    assertThat(reservoir.poll(cardResource)).isNull();
+    assertThat(reservoir.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void offer_whenHighWaterMarkIsReached_shouldReturnFalse() {
+    CardResourceReservoir reservoir = newReservoir(1, 1);
+    assertThat(reservoir.offer(mockCardResource())).isTrue();
+    assertThat(reservoir.offer(mockCardResource())).isFalse();
+    assertThat(reservoir.getSize()).isEqualTo(1);
+  }
+
+  @Test
+  public void close_shouldReleaseCardResourcesAndRejectOffers() {
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    CardResource cardResource = mockCardResource();
+    reservoir.offer(cardResource);
+    reservoir.close();
+    verify(cardResourceService).releaseCardResource(cardResource);
+    assertThat(reservoir.getSize()).isZero();
+    assertThat(reservoir.offer(mockCardResource())).isFalse();
+  }
+
+  @Test
+  public void borrow_shouldKeepReaderFromBeingPolledUntilGivenBack() {
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    assertThat(reservoir.offer(mockCardResource())).isTrue();
+    CardResourceReaderAdapter readerAdapter = reservoir.getReaders().iterator().next();
+    assertThat(reservoir.borrow(readerAdapter)).isTrue();
+    assertThat(reservoir.borrow(readerAdapter)).isFalse();
+    assertThat(reservoir.getSize()).isEqualTo(1);
+    assertThat(reservoir.poll()).isNull();
+    reservoir.giveBack(readerAdapter);
+    assertThat(reservoir.poll()).isSameAs(readerAdapter);
+  }
+
+  @Test
+  public void giveBack_whenClosedWhileBorrowed_shouldReleaseCardResource() {
+    CardResourceReservoir reservoir = newReservoir(1, 2);
+    CardResource cardResource = mockCardResource();
+    assertThat(reservoir.offer(cardResource)).isTrue();
+    CardResourceReaderAdapter readerAdapter = reservoir.getReaders().iterator().next();
+    assertThat(reservoir.borrow(readerAdapter)).isTrue();
+    reservoir.close();
+    verify(cardResourceService, never()).releaseCardResource(cardResource);
+    reservoir.giveBack(readerAdapter);
+    verify(cardResourceService).releaseCardResource(cardResource);
+    assertThat(reservoir.getSize()).isZero();
+  }
+
+  private CardResourceReservoir newReservoir(int lowWaterMark, int highWaterMark) {
+    return new CardResourceReservoir(
+        cardResourceService,
+        new CardResourceReaderAdapterFactory(
+            CARD_RESOURCE_PROFILE_NAME,
+            new ConcurrentHashMap<String, ApduStatisticsAdapter>(),
+            new ConcurrentHashMap<String, CardResourceHealth>(),
+            0,
+            null,
+            null),
+        lowWaterMark,
+        highWaterMark,
+        scheduler,
+        null,
+        AllocationPriority.LOW,
+        null);
+  }
+
+  private static CardResource mockCardResource() {
+    CardResourcePluginAdapterTest.ReaderExtension readerExtension =
+        mock(CardResourcePluginAdapterTest.ReaderExtension.class);
+    when(readerExtension.getName()).thenReturn("Reader");
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResource.getReaderExtension()).thenReturn((KeypleReaderExtension) readerExtension);
+    return cardResource;
+  }
+
+  private static void awaitSize(CardResourceReservoir reservoir, int size)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 1000;
+    while (reservoir.getSize() != size && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(reservoir.getSize()).isEqualTo(size);
+  }
+}
@@ -0,0 +1,210 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CardResourceWaitQueueTest {
+
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile1";
+
+  private CardResourceService cardResourceService;
+  private ExecutorService executorService;
+
+  @Before
+  public void setUp() {
+    cardResourceService = mock(CardResourceService.class);
+    executorService = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test
+  public void acquire_whenCardResourceIsAvailable_shouldReturnItWithoutWaiting() throws Exception {
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME)).thenReturn(cardResource);
+    CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 1000, Integer.MAX_VALUE);
+    assertThat(waitQueue.acquire()).isSameAs(cardResource);
+    assertThat(waitQueue.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void acquire_whenMaxWaitTimeElapses_shouldReturnNull() throws Exception {
+    CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 50, Integer.MAX_VALUE);
+    assertThat(waitQueue.acquire()).isNull();
+    assertThat(waitQueue.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void acquire_whenMaxWaiterCountIsReached_shouldThrowAllocationRejectedException()
+      throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, 1);
+    Future<CardResource> first = executorService.submit(acquireTask(waitQueue));
+    awaitWaiterCount(waitQueue, 1);
+    assertThatThrownBy(waitQueue::acquire).isInstanceOf(AllocationRejectedException.class);
+    CardResource cardResource = mock(CardResource.class);
+    assertThat(waitQueue.handOver(cardResource)).isTrue();
+    assertThat(first.get(1, TimeUnit.SECONDS)).isSameAs(cardResource);
+  }
+
+  @Test
+  public void handOver_whenNobodyIsWaiting_shouldReturnFalse() {
+    CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 1000, Integer.MAX_VALUE);
+    assertThat(waitQueue.handOver(mock(CardResource.class))).isFalse();
+  }
+
+  @Test
+  public void handOver_whenCallersAreWaiting_shouldServeThemInFifoOrder() throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    Future<CardResource> first = executorService.submit(acquireTask(waitQueue));
+    awaitWaiterCount(waitQueue, 1);
+    Future<CardResource> second = executorService.submit(acquireTask(waitQueue));
+    awaitWaiterCount(waitQueue, 2);
+
+    CardResource cardResource1 = mock(CardResource.class);
+    CardResource cardResource2 = mock(CardResource.class);
+    assertThat(waitQueue.handOver(cardResource1)).isTrue();
+    assertThat(first.get(1, TimeUnit.SECONDS)).isSameAs(cardResource1);
+    assertThat(waitQueue.handOver(cardResource2)).isTrue();
+    assertThat(second.get(1, TimeUnit.SECONDS)).isSameAs(cardResource2);
+    assertThat(waitQueue.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void close_whenCallersAreWaiting_shouldFailThemWithPluginIOException() throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    Future<CardResource> first = executorService.submit(acquireTask(waitQueue));
+    awaitWaiterCount(waitQueue, 1);
+    Future<CardResource> second =
+        executorService.submit(acquireTask(waitQueue, AllocationPriority.HIGH));
+    awaitWaiterCount(waitQueue, 2);
+    waitQueue.close();
+    assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(PluginIOException.class);
+    assertThatThrownBy(() -> second.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(PluginIOException.class);
+    assertThat(waitQueue.getWaiterCount()).isZero();
+  }
+
+  @Test
+  public void handOver_whenClosed_shouldReturnFalse() throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    waitQueue.close();
+    assertThat(waitQueue.handOver(mock(CardResource.class))).isFalse();
+    assertThatThrownBy(waitQueue::acquire).isInstanceOf(PluginIOException.class);
+  }
+
+  @Test
+  public void acquire_whenCardResourceIsReleasedOutsideOfThePlugin_shouldGetItFromTheService()
+      throws Exception {
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME))
+        .thenReturn(null, null, cardResource);
+    CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    assertThat(waitQueue.acquire()).isSameAs(cardResource);
+  }
+
+  @Test
+  public void handOver_whenCallersOfSeveralClassesAreWaiting_shouldServeHighestClassFirst()
+      throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    Future<CardResource> low =
+        executorService.submit(acquireTask(waitQueue, AllocationPriority.LOW));
+    awaitWaiterCount(waitQueue, 1);
+    Future<CardResource> high =
+        executorService.submit(acquireTask(waitQueue, AllocationPriority.HIGH));
+    awaitWaiterCount(waitQueue, 2);
+    assertThat(waitQueue.getWaiterCount(AllocationPriority.HIGH)).isEqualTo(1);
+
+    CardResource cardResource1 = mock(CardResource.class);
+    CardResource cardResource2 = mock(CardResource.class);
+    assertThat(waitQueue.handOver(cardResource1)).isTrue();
+    assertThat(high.get(1, TimeUnit.SECONDS)).isSameAs(cardResource1);
+    assertThat(waitQueue.handOver(cardResource2, AllocationPriority.NORMAL)).isFalse();
+    assertThat(waitQueue.handOver(cardResource2, AllocationPriority.LOW)).isTrue();
+    assertThat(low.get(1, TimeUnit.SECONDS)).isSameAs(cardResource2);
+  }
+
+  @Test
+  public void acquire_whenOnlyLowerClassesAreWaiting_shouldRequestTheServiceDirectly()
+      throws Exception {
+    final CardResourceWaitQueue waitQueue =
+        new CardResourceWaitQueue(
+            cardResourceService, CARD_RESOURCE_PROFILE_NAME, 5000, Integer.MAX_VALUE);
+    Future<CardResource> low =
+        executorService.submit(acquireTask(waitQueue, AllocationPriority.LOW));
+    awaitWaiterCount(waitQueue, 1);
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResourceService.getCardResource(CARD_RESOURCE_PROFILE_NAME)).thenReturn(cardResource);
+    assertThat(waitQueue.acquire(AllocationPriority.HIGH)).isSameAs(cardResource);
+    assertThat(low.get(1, TimeUnit.SECONDS)).isNotNull();
+  }
+
+  private static Callable<CardResource> acquireTask(final CardResourceWaitQueue waitQueue) {
+    return acquireTask(waitQueue, AllocationPriority.NORMAL);
+  }
+
+  private static Callable<CardResource> acquireTask(
+      final CardResourceWaitQueue waitQueue, final AllocationPriority priority) {
+    return new Callable<CardResource>() {
+      @Override
+      public CardResource call() throws Exception {
+        return waitQueue.acquire(priority);
+      }
+    };
+  }
+
+  private static void awaitWaiterCount(CardResourceWaitQueue waitQueue, int waiterCount)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 1000;
+    while (waitQueue.getWaiterCount() != waiterCount && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(waitQueue.getWaiterCount()).isEqualTo(waiterCount);
+  }
+}
@@ -0,0 +1,70 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DurationHistogramAdapterTest {
+
+  private DurationHistogramAdapter histogram;
+
+  @Before
+  public void setUp() {
+    histogram = new DurationHistogramAdapter();
+  }
+
+  @Test
+  public void getPercentileMicros_whenEmpty_shouldReturnZero() {
+    assertThat(histogram.getCount()).isZero();
+    assertThat(histogram.getMeanMicros()).isZero();
+    assertThat(histogram.getPercentileMicros(99)).isZero();
+  }
+
+  @Test
+  public void record_shouldUpdateCountMeanAndMax() {
+    histogram.record(1000);
+    histogram.record(3000);
+    assertThat(histogram.getCount()).isEqualTo(2);
+    assertThat(histogram.getMeanMicros()).isEqualTo(2.0);
+    assertThat(histogram.getMaxMicros()).isEqualTo(3);
+  }
+
+  @Test
+  public void record_shouldUsePowerOfTwoBuckets() {
+    histogram.record(500); // < 1 us
+    histogram.record(1000); // 1 us
+    histogram.record(5000); // 5 us
+    long[] counts = histogram.getBucketCounts();
+    assertThat(counts[0]).isEqualTo(1);
+    assertThat(counts[1]).isEqualTo(1);
+    assertThat(counts[3]).isEqualTo(1);
+    assertThat(histogram.getBucketUpperBoundMicros(3)).isEqualTo(8);
+  }
+
+  @Test
+  public void getPercentileMicros_shouldReturnUpperBoundOfBucket() {
+    for (int i = 0; i < 99; i++) {
+      histogram.record(1000);
+    }
+    histogram.record(100000000);
+    assertThat(histogram.getPercentileMicros(50)).isEqualTo(2);
+    assertThat(histogram.getPercentileMicros(100)).isEqualTo(100000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void getPercentileMicros_whenOutOfRange_shouldThrowIAE() {
+    histogram.getPercentileMicros(101);
+  }
+}
@@ -0,0 +1,118 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencyAwareReaderSelectorTest {
+
+  private CardResourceReaderAdapterFactory readerAdapterFactory;
+
+  @Before
+  public void setUp() {
+    readerAdapterFactory =
+        new CardResourceReaderAdapterFactory(
+            "profile1",
+            new ConcurrentHashMap<String, ApduStatisticsAdapter>(),
+            new ConcurrentHashMap<String, CardResourceHealth>(),
+            0,
+            null,
+            null);
+  }
+
+  @Test
+  public void select_whenNoReader_shouldReturnNull() {
+    LatencyAwareReaderSelector selector = new LatencyAwareReaderSelector(10);
+    assertThat(selector.select(Collections.<CardResourceReaderAdapter>emptyList())).isNull();
+  }
+
+  @Test
+  public void select_withoutExploration_shouldReturnReaderWithLowestAverageLatency() {
+    CardResourceReaderAdapter slowReader = newReaderAdapter("Slow", 50000000);
+    CardResourceReaderAdapter fastReader = newReaderAdapter("Fast", 1000000);
+    CardResourceReaderAdapter mediumReader = newReaderAdapter("Medium", 10000000);
+    LatencyAwareReaderSelector selector = new LatencyAwareReaderSelector(0);
+    for (int i = 0; i < 100; i++) {
+      assertThat(selector.select(Arrays.asList(slowReader, fastReader, mediumReader)))
+          .isSameAs(fastReader);
+    }
+  }
+
+  @Test
+  public void select_whenReaderNeverMeasured_shouldReturnIt() {
+    CardResourceReaderAdapter fastReader = newReaderAdapter("Fast", 1000000);
+    CardResourceReaderAdapter newReader = newReaderAdapter("New", 0);
+    LatencyAwareReaderSelector selector = new LatencyAwareReaderSelector(0);
+    assertThat(selector.select(Arrays.asList(fastReader, newReader))).isSameAs(newReader);
+  }
+
+  @Test
+  public void select_withExploration_shouldSometimesReturnSlowerReaders() {
+    List<CardResourceReaderAdapter> readers = new ArrayList<CardResourceReaderAdapter>();
+    readers.add(newReaderAdapter("Fast", 1000000));
+    readers.add(newReaderAdapter("Slow1", 50000000));
+    readers.add(newReaderAdapter("Slow2", 50000000));
+    LatencyAwareReaderSelector selector = new LatencyAwareReaderSelector(50);
+    Set<CardResourceReaderAdapter> selectedReaders = new HashSet<CardResourceReaderAdapter>();
+    int fastCount = 0;
+    for (int i = 0; i < 1000; i++) {
+      CardResourceReaderAdapter selectedReader = selector.select(readers);
+      selectedReaders.add(selectedReader);
+      if (selectedReader == readers.get(0)) {
+        fastCount++;
+      }
+    }
+    assertThat(selectedReaders).hasSize(3);
+    assertThat(fastCount).isGreaterThan(500);
+  }
+
+  @Test
+  public void select_whenLatencyRecovers_shouldReturnRecoveredReader() {
+    CardResourceReaderAdapter recoveredReader = newReaderAdapter("Recovered", 50000000);
+    CardResourceReaderAdapter otherReader = newReaderAdapter("Other", 5000000);
+    LatencyAwareReaderSelector selector = new LatencyAwareReaderSelector(0);
+    assertThat(selector.select(Arrays.asList(recoveredReader, otherReader)))
+        .isSameAs(otherReader);
+    for (int i = 0; i < 50; i++) {
+      recoveredReader.getHealth().recordExchange(1000000);
+    }
+    assertThat(selector.select(Arrays.asList(recoveredReader, otherReader)))
+        .isSameAs(recoveredReader);
+  }
+
+  private CardResourceReaderAdapter newReaderAdapter(String readerName, long latencyNanos) {
+    CardResourcePluginAdapterTest.ReaderExtension readerExtension =
+        mock(CardResourcePluginAdapterTest.ReaderExtension.class);
+    when(readerExtension.getName()).thenReturn(readerName);
+    CardResource cardResource = mock(CardResource.class);
+    when(cardResource.getReaderExtension()).thenReturn((KeypleReaderExtension) readerExtension);
+    CardResourceReaderAdapter readerAdapter =
+        readerAdapterFactory.createReaderAdapter(cardResource);
+    if (latencyNanos > 0) {
+      readerAdapter.getHealth().recordExchange(latencyNanos);
+    }
+    return readerAdapter;
+  }
+}
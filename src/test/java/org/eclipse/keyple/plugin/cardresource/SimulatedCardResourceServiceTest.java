@@ -0,0 +1,147 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Collections;
+import java.util.List;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.PluginIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.util.HexUtil;
+import org.junit.After;
+import org.junit.Test;
+
+public class SimulatedCardResourceServiceTest {
+
+  private static final String PLUGIN_NAME = "CardResourcePlugin";
+  private static final String PROFILE_NAME = "profile";
+  private static final byte[] APDU_COMMAND = HexUtil.toByteArray("00A4040000");
+
+  private CardResourcePluginAdapter pluginAdapter;
+
+  private CardResourcePluginAdapter createPluginAdapter(SimulatedCardResourceService service) {
+    pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME,
+            service,
+            Collections.singleton(PROFILE_NAME),
+            new CardResourcePluginConfiguration());
+    return pluginAdapter;
+  }
+
+  @After
+  public void tearDown() {
+    if (pluginAdapter != null) {
+      pluginAdapter.onUnregister();
+    }
+  }
+
+  @Test
+  public void AllocateReader_whenPoolIsExhausted_shouldThrowPIOE() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder().addProfile(PROFILE_NAME, 2).build();
+    createPluginAdapter(service);
+    pluginAdapter.allocateReader(PROFILE_NAME);
+    pluginAdapter.allocateReader(PROFILE_NAME);
+    assertThat(service.getAllocatedCardResourceCount()).isEqualTo(2);
+    assertThatThrownBy(
+            () -> {
+              pluginAdapter.allocateReader(PROFILE_NAME);
+            })
+        .isInstanceOf(PluginIOException.class);
+  }
+
+  @Test
+  public void ReleaseReader_shouldGiveBackCardResourceToService() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder().addProfile(PROFILE_NAME, 1).build();
+    createPluginAdapter(service);
+    for (int i = 0; i < 10; i++) {
+      pluginAdapter.releaseReader(pluginAdapter.allocateReader(PROFILE_NAME));
+    }
+    assertThat(service.getAllocatedCardResourceCount()).isZero();
+    assertThat(service.getAllocationCounts()).containsEntry(PROFILE_NAME + "-Reader0", 10L);
+  }
+
+  @Test
+  public void ReleaseCardResource_whenNotAllocated_shouldThrowISE() {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder().addProfile(PROFILE_NAME, 1).build();
+    CardResource cardResource = service.getCardResource(PROFILE_NAME);
+    service.releaseCardResource(cardResource);
+    assertThatIllegalStateException().isThrownBy(() -> service.releaseCardResource(cardResource));
+  }
+
+  @Test
+  public void TransmitApdu_shouldReturnConfiguredResponse() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder()
+            .addProfile(PROFILE_NAME, 1)
+            .setApduResponse("6F009000")
+            .setApduLatency(LatencyDistribution.fixed(100))
+            .build();
+    createPluginAdapter(service);
+    ReaderSpi reader = pluginAdapter.allocateReader(PROFILE_NAME);
+    assertThat(reader.transmitApdu(APDU_COMMAND)).isEqualTo(HexUtil.toByteArray("6F009000"));
+    assertThat(service.getReaders().get(0).getExchangeCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void TransmitApdu_whenFailuresAreInjected_shouldThrowIOExceptions() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder()
+            .addProfile(PROFILE_NAME, 1)
+            .setFailureProbabilities(1, 0)
+            .build();
+    createPluginAdapter(service);
+    ReaderSpi reader = pluginAdapter.allocateReader(PROFILE_NAME);
+    assertThatThrownBy(() -> reader.transmitApdu(APDU_COMMAND))
+        .isInstanceOf(ReaderIOException.class);
+    List<SimulatedReaderSpi> readers =
+        SimulatedCardResourceService.builder()
+            .addProfile(PROFILE_NAME, 1)
+            .setFailureProbabilities(0, 1)
+            .build()
+            .getReaders();
+    assertThatThrownBy(() -> readers.get(0).transmitApdu(APDU_COMMAND))
+        .isInstanceOf(CardIOException.class);
+  }
+
+  @Test
+  public void ReleaseReader_whenReleaseIsSlow_shouldTakeReleaseLatency() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder()
+            .addProfile(PROFILE_NAME, 1)
+            .setReleaseLatency(LatencyDistribution.fixed(20000))
+            .build();
+    createPluginAdapter(service);
+    ReaderSpi reader = pluginAdapter.allocateReader(PROFILE_NAME);
+    long startNanos = System.nanoTime();
+    pluginAdapter.releaseReader(reader);
+    assertThat(System.nanoTime() - startNanos).isGreaterThanOrEqualTo(20000000L);
+  }
+
+  @Test
+  public void GetAllocationCounts_whenAllocationsAreSequential_shouldBeFair() throws Exception {
+    SimulatedCardResourceService service =
+        SimulatedCardResourceService.builder().addProfile(PROFILE_NAME, 4).build();
+    createPluginAdapter(service);
+    for (int i = 0; i < 400; i++) {
+      pluginAdapter.releaseReader(pluginAdapter.allocateReader(PROFILE_NAME));
+    }
+    assertThat(service.getAllocationCounts().values()).containsOnly(100L);
+  }
+}
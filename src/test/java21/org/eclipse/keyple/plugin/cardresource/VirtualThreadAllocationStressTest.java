@@ -0,0 +1,85 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+import org.junit.Test;
+
+public class VirtualThreadAllocationStressTest {
+
+  private static final String PLUGIN_NAME = "CardResourcePlugin";
+  private static final String CARD_RESOURCE_PROFILE_NAME = "profile1";
+  private static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+  private static final int CALLER_COUNT = 100_000;
+  private static final int CARD_RESOURCE_COUNT = 16;
+
+  @Test
+  public void allocateReader_with100kVirtualThreadCallers_shouldNotPinCarrierThreads()
+      throws Exception {
+    CardResourcePluginConfiguration configuration = new CardResourcePluginConfiguration();
+    configuration.setMaxWaitTimeMillis(CARD_RESOURCE_PROFILE_NAME, 60_000);
+    SimulatedCardResourceService cardResourceService =
+        SimulatedCardResourceService.builder()
+            .addProfile(CARD_RESOURCE_PROFILE_NAME, CARD_RESOURCE_COUNT)
+            .build();
+    CardResourcePluginAdapter pluginAdapter =
+        new CardResourcePluginAdapter(
+            PLUGIN_NAME, cardResourceService, List.of(CARD_RESOURCE_PROFILE_NAME), configuration);
+    List<RecordedEvent> pinnedEvents = new CopyOnWriteArrayList<>();
+    AtomicInteger releaseCount = new AtomicInteger();
+    try (RecordingStream recordingStream = new RecordingStream()) {
+      recordingStream.enable(PINNED_EVENT_NAME).withThreshold(Duration.ZERO).withStackTrace();
+      recordingStream.onEvent(PINNED_EVENT_NAME, pinnedEvents::add);
+      recordingStream.startAsync();
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int i = 0; i < CALLER_COUNT; i++) {
+          executor.submit(
+              () -> {
+                ReaderSpi readerSpi = pluginAdapter.allocateReader(CARD_RESOURCE_PROFILE_NAME);
+                Thread.yield();
+                pluginAdapter.releaseReader(readerSpi);
+                releaseCount.incrementAndGet();
+                return null;
+              });
+        }
+      }
+      recordingStream.stop();
+    } finally {
+      pluginAdapter.onUnregister();
+    }
+    assertThat(releaseCount.get()).isEqualTo(CALLER_COUNT);
+    assertThat(pinnedEvents).isEmpty();
+    AllocationStatistics statistics =
+        pluginAdapter.getAllocationStatistics(CARD_RESOURCE_PROFILE_NAME);
+    assertThat(statistics.getAllocationCount()).isEqualTo(CALLER_COUNT);
+    assertThat(statistics.getFailureCount(AllocationFailureCause.NO_CARD_RESOURCE_AVAILABLE))
+        .isZero();
+    assertThat(cardResourceService.getAllocatedCardResourceCount()).isZero();
+  }
+
+  @Test
+  public void newDefaultAllocationExecutor_shouldRunAllocationsOnVirtualThreads() throws Exception {
+    try (ExecutorService executor = AllocationExecutors.newDefaultAllocationExecutor(PLUGIN_NAME)) {
+      assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+    }
+  }
+}
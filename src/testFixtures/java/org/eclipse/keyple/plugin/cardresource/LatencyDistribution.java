@@ -0,0 +1,99 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribution of the simulated latencies of the {@link SimulatedCardResourceService}.
+ *
+ * @since 2.1.0
+ */
+public abstract class LatencyDistribution {
+
+  /**
+   * Returns a distribution without latency.
+   *
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  public static LatencyDistribution none() {
+    return fixed(0);
+  }
+
+  /**
+   * Returns a distribution always providing the same latency.
+   *
+   * @param latencyMicros The latency in microseconds.
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  public static LatencyDistribution fixed(long latencyMicros) {
+    final long latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+    return new LatencyDistribution() {
+      @Override
+      long nextLatencyNanos(Random random) {
+        return latencyNanos;
+      }
+    };
+  }
+
+  /**
+   * Returns a distribution providing latencies uniformly distributed in a range.
+   *
+   * @param minLatencyMicros The lowest latency in microseconds.
+   * @param maxLatencyMicros The highest latency in microseconds.
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  public static LatencyDistribution uniform(long minLatencyMicros, long maxLatencyMicros) {
+    final long minLatencyNanos = TimeUnit.MICROSECONDS.toNanos(minLatencyMicros);
+    final long rangeNanos = TimeUnit.MICROSECONDS.toNanos(maxLatencyMicros) - minLatencyNanos;
+    return new LatencyDistribution() {
+      @Override
+      long nextLatencyNanos(Random random) {
+        return minLatencyNanos + (long) (random.nextDouble() * rangeNanos);
+      }
+    };
+  }
+
+  /**
+   * Returns a log-normal distribution, the usual shape of the latencies of card exchanges: most
+   * latencies are close to the median, with a long tail of slow ones.
+   *
+   * @param medianLatencyMicros The median latency in microseconds.
+   * @param sigma The standard deviation of the logarithm of the latency (e.g. 0.5).
+   * @return A not null reference.
+   * @since 2.1.0
+   */
+  public static LatencyDistribution logNormal(long medianLatencyMicros, final double sigma) {
+    final double mu = Math.log(TimeUnit.MICROSECONDS.toNanos(medianLatencyMicros));
+    return new LatencyDistribution() {
+      @Override
+      long nextLatencyNanos(Random random) {
+        return (long) Math.exp(mu + sigma * random.nextGaussian());
+      }
+    };
+  }
+
+  /** Constructor, restricting the implementations to the static factory methods. */
+  LatencyDistribution() {}
+
+  /**
+   * Draws the next latency.
+   *
+   * @param random The random generator of the calling thread.
+   * @return A positive or null latency in nanoseconds.
+   */
+  abstract long nextLatencyNanos(Random random);
+}
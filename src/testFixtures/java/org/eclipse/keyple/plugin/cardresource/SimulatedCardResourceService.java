@@ -0,0 +1,371 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.eclipse.keyple.core.service.resource.CardResource;
+import org.eclipse.keyple.core.service.resource.CardResourceService;
+import org.eclipse.keyple.core.service.resource.CardResourceServiceConfigurator;
+import org.eclipse.keyple.core.util.Assert;
+import org.eclipse.keyple.core.util.HexUtil;
+import org.eclipse.keypop.reader.selection.spi.SmartCard;
+
+/**
+ * Simulated Card Resource Service serving per profile a fixed pool of card resources backed by
+ * {@link SimulatedReaderSpi}s, to load and soak test the plugin without any card hardware.
+ *
+ * <p>The APDU latencies, the failures of the exchanges and the duration of the releases are
+ * configurable. The service checks that each card resource is released once per allocation and
+ * counts the allocations per reader, so that the fairness of the plugin can be assessed.
+ *
+ * @since 2.1.0
+ */
+public final class SimulatedCardResourceService implements CardResourceService {
+
+  static final String POWER_ON_DATA = "3B8F8001804F0CA000000306030001000000006A";
+
+  private final Map<String, Queue<CardResource>> availableCardResources;
+  private final Map<CardResource, String> cardResourceProfileNames;
+  private final Map<CardResource, SimulatedReaderSpi> readers;
+  private final Set<CardResource> allocatedCardResources =
+      Collections.newSetFromMap(new ConcurrentHashMap<CardResource, Boolean>());
+  private final Map<String, LongAdder> allocationCounts;
+  private final LatencyDistribution releaseLatency;
+  private volatile boolean started = true;
+
+  /** Constructor. */
+  private SimulatedCardResourceService(Builder builder) {
+    availableCardResources = new HashMap<String, Queue<CardResource>>();
+    cardResourceProfileNames = new HashMap<CardResource, String>();
+    readers = new LinkedHashMap<CardResource, SimulatedReaderSpi>();
+    allocationCounts = new LinkedHashMap<String, LongAdder>();
+    for (Map.Entry<String, Integer> entry : builder.poolSizes.entrySet()) {
+      Queue<CardResource> cardResources = new ConcurrentLinkedQueue<CardResource>();
+      for (int i = 0; i < entry.getValue(); i++) {
+        SimulatedReaderSpi reader =
+            new SimulatedReaderSpi(
+                entry.getKey() + "-Reader" + i,
+                builder.apduResponse,
+                builder.apduLatency,
+                builder.readerFailureProbability,
+                builder.cardFailureProbability);
+        CardResource cardResource = new CardResource(null, reader, new SimulatedSmartCard());
+        cardResources.add(cardResource);
+        cardResourceProfileNames.put(cardResource, entry.getKey());
+        readers.put(cardResource, reader);
+        allocationCounts.put(reader.getName(), new LongAdder());
+      }
+      availableCardResources.put(entry.getKey(), cardResources);
+    }
+    releaseLatency = builder.releaseLatency;
+  }
+
+  /**
+   * Creates a builder to build a {@link SimulatedCardResourceService}.
+   *
+   * @return A new builder instance.
+   * @since 2.1.0
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Not supported by the simulation, whose configuration is done with {@link #builder()}.
+   *
+   * @throws UnsupportedOperationException Always.
+   * @since 2.1.0
+   */
+  @Override
+  public CardResourceServiceConfigurator getConfigurator() {
+    throw new UnsupportedOperationException("The simulated service is configured by its builder");
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void start() {
+    started = true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void stop() {
+    started = false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isStarted() {
+    return started;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public CardResource getCardResource(String cardResourceProfileName) {
+    if (!started) {
+      throw new IllegalStateException("The simulated Card Resource Service is not started");
+    }
+    Queue<CardResource> cardResources = availableCardResources.get(cardResourceProfileName);
+    if (cardResources == null) {
+      throw new IllegalArgumentException(
+          "Card resource profile not configured: " + cardResourceProfileName);
+    }
+    CardResource cardResource = cardResources.poll();
+    if (cardResource != null) {
+      allocatedCardResources.add(cardResource);
+      allocationCounts.get(readers.get(cardResource).getName()).increment();
+    }
+    return cardResource;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Takes the simulated release latency.
+   *
+   * @throws IllegalStateException If the card resource is not allocated.
+   * @since 2.1.0
+   */
+  @Override
+  public void releaseCardResource(CardResource cardResource) {
+    if (!allocatedCardResources.remove(cardResource)) {
+      throw new IllegalStateException("Card resource released while not allocated");
+    }
+    sleep(releaseLatency.nextLatencyNanos(ThreadLocalRandom.current()));
+    availableCardResources.get(cardResourceProfileNames.get(cardResource)).offer(cardResource);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The removed card resource is no longer served.
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void removeCardResource(CardResource cardResource) {
+    if (!allocatedCardResources.remove(cardResource)) {
+      availableCardResources.get(cardResourceProfileNames.get(cardResource)).remove(cardResource);
+    }
+  }
+
+  /**
+   * Returns the simulated readers of the card resources, in creation order.
+   *
+   * @return A not null list.
+   * @since 2.1.0
+   */
+  public List<SimulatedReaderSpi> getReaders() {
+    return new ArrayList<SimulatedReaderSpi>(readers.values());
+  }
+
+  /**
+   * Returns the number of allocations of each simulated reader, to assess the fairness of the
+   * allocations.
+   *
+   * @return A not null map of the allocation counts indexed by reader name, in creation order.
+   * @since 2.1.0
+   */
+  public Map<String, Long> getAllocationCounts() {
+    Map<String, Long> counts = new LinkedHashMap<String, Long>();
+    for (Map.Entry<String, LongAdder> entry : allocationCounts.entrySet()) {
+      counts.put(entry.getKey(), entry.getValue().sum());
+    }
+    return counts;
+  }
+
+  /**
+   * @return The number of card resources currently allocated, over all the profiles.
+   * @since 2.1.0
+   */
+  public int getAllocatedCardResourceCount() {
+    return allocatedCardResources.size();
+  }
+
+  /** Parks the calling thread for the provided duration. */
+  static void sleep(long durationNanos) {
+    long deadlineNanos = System.nanoTime() + durationNanos;
+    long remainingNanos = durationNanos;
+    while (remainingNanos > 0) {
+      LockSupport.parkNanos(remainingNanos);
+      remainingNanos = deadlineNanos - System.nanoTime();
+    }
+  }
+
+  /**
+   * Builder to build a {@link SimulatedCardResourceService}.
+   *
+   * @since 2.1.0
+   */
+  public static final class Builder {
+
+    private final Map<String, Integer> poolSizes = new LinkedHashMap<String, Integer>();
+    private byte[] apduResponse = {(byte) 0x90, 0x00};
+    private LatencyDistribution apduLatency = LatencyDistribution.none();
+    private LatencyDistribution releaseLatency = LatencyDistribution.none();
+    private double readerFailureProbability;
+    private double cardFailureProbability;
+
+    /** Constructor. */
+    private Builder() {}
+
+    /**
+     * Adds a card resource profile with a pool of card resources.
+     *
+     * @param cardResourceProfileName The name of the card resource profile.
+     * @param poolSize The number of card resources of the profile.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the name is null or empty, or if the size is negative.
+     * @since 2.1.0
+     */
+    public Builder addProfile(String cardResourceProfileName, int poolSize) {
+      Assert.getInstance()
+          .notEmpty(cardResourceProfileName, "cardResourceProfileName")
+          .greaterOrEqual(poolSize, 0, "poolSize");
+      poolSizes.put(cardResourceProfileName, poolSize);
+      return this;
+    }
+
+    /**
+     * Sets the response of the simulated readers to any APDU command.
+     *
+     * <p>By default, the response is 9000h.
+     *
+     * @param apduResponse The hexadecimal APDU response.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the response is null, empty or not hexadecimal.
+     * @since 2.1.0
+     */
+    public Builder setApduResponse(String apduResponse) {
+      Assert.getInstance()
+          .notEmpty(apduResponse, "apduResponse")
+          .isHexString(apduResponse, "apduResponse");
+      this.apduResponse = HexUtil.toByteArray(apduResponse);
+      return this;
+    }
+
+    /**
+     * Sets the distribution of the latencies of the APDU exchanges.
+     *
+     * <p>By default, the exchanges are immediate.
+     *
+     * @param apduLatency The latency distribution.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the distribution is null.
+     * @since 2.1.0
+     */
+    public Builder setApduLatency(LatencyDistribution apduLatency) {
+      Assert.getInstance().notNull(apduLatency, "apduLatency");
+      this.apduLatency = apduLatency;
+      return this;
+    }
+
+    /**
+     * Sets the probabilities of the APDU exchanges to fail.
+     *
+     * <p>By default, the exchanges never fail.
+     *
+     * @param readerFailureProbability The probability of an exchange to fail with a reader error.
+     * @param cardFailureProbability The probability of an exchange to fail with a card error.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If a probability is not in [0, 1] or if their sum exceeds
+     *     1.
+     * @since 2.1.0
+     */
+    public Builder setFailureProbabilities(
+        double readerFailureProbability, double cardFailureProbability) {
+      Assert.getInstance()
+          .isTrue(
+              readerFailureProbability >= 0
+                  && cardFailureProbability >= 0
+                  && readerFailureProbability + cardFailureProbability <= 1,
+              "failureProbabilities");
+      this.readerFailureProbability = readerFailureProbability;
+      this.cardFailureProbability = cardFailureProbability;
+      return this;
+    }
+
+    /**
+     * Sets the distribution of the durations of the releases of the card resources, to simulate a
+     * slow release by the Card Resource Service.
+     *
+     * <p>By default, the releases are immediate.
+     *
+     * @param releaseLatency The latency distribution.
+     * @return The builder instance.
+     * @throws IllegalArgumentException If the distribution is null.
+     * @since 2.1.0
+     */
+    public Builder setReleaseLatency(LatencyDistribution releaseLatency) {
+      Assert.getInstance().notNull(releaseLatency, "releaseLatency");
+      this.releaseLatency = releaseLatency;
+      return this;
+    }
+
+    /**
+     * Returns an instance of {@link SimulatedCardResourceService} created from the fields set on
+     * this builder.
+     *
+     * @return A {@link SimulatedCardResourceService}
+     * @throws IllegalArgumentException If no profile has been added.
+     * @since 2.1.0
+     */
+    public SimulatedCardResourceService build() {
+      Assert.getInstance().isTrue(!poolSizes.isEmpty(), "poolSizes");
+      return new SimulatedCardResourceService(this);
+    }
+  }
+
+  /** Smart card of the simulated card resources. */
+  private static final class SimulatedSmartCard implements SmartCard {
+
+    @Override
+    public String getPowerOnData() {
+      return POWER_ON_DATA;
+    }
+
+    @Override
+    public byte[] getSelectApplicationResponse() {
+      return new byte[0];
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/* **************************************************************************************
+ * Copyright (c) 2026 Calypso Networks Association https://calypsonet.org/
+ *
+ * See the NOTICE file(s) distributed with this work for additional information
+ * regarding copyright ownership.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License 2.0 which is available at http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ ************************************************************************************** */
+package org.eclipse.keyple.plugin.cardresource;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.keyple.core.common.KeypleReaderExtension;
+import org.eclipse.keyple.core.plugin.CardIOException;
+import org.eclipse.keyple.core.plugin.ReaderIOException;
+import org.eclipse.keyple.core.plugin.spi.reader.ReaderSpi;
+
+/**
+ * Simulated underlying reader of a {@link SimulatedCardResourceService}, answering any APDU
+ * command with a fixed response after a simulated latency, or with an injected failure.
+ *
+ * @since 2.1.0
+ */
+public final class SimulatedReaderSpi implements ReaderSpi, KeypleReaderExtension {
+
+  private final String name;
+  private final byte[] apduResponse;
+  private final LatencyDistribution apduLatency;
+  private final double readerFailureProbability;
+  private final double cardFailureProbability;
+  private final LongAdder exchangeCount = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param name The name of the reader.
+   * @param apduResponse The response to any APDU command.
+   * @param apduLatency The distribution of the latencies of the APDU exchanges.
+   * @param readerFailureProbability The probability of an exchange to fail with a {@link
+   *     ReaderIOException}.
+   * @param cardFailureProbability The probability of an exchange to fail with a {@link
+   *     CardIOException}.
+   */
+  SimulatedReaderSpi(
+      String name,
+      byte[] apduResponse,
+      LatencyDistribution apduLatency,
+      double readerFailureProbability,
+      double cardFailureProbability) {
+    this.name = name;
+    this.apduResponse = apduResponse;
+    this.apduLatency = apduLatency;
+    this.readerFailureProbability = readerFailureProbability;
+    this.cardFailureProbability = cardFailureProbability;
+  }
+
+  /**
+   * @return The number of APDU exchanges performed through the reader, including the failed ones.
+   * @since 2.1.0
+   */
+  public long getExchangeCount() {
+    return exchangeCount.sum();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void openPhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void closePhysicalChannel() {
+    // NOP
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isPhysicalChannelOpen() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean checkCardPresence() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public String getPowerOnData() {
+    return SimulatedCardResourceService.POWER_ON_DATA;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public byte[] transmitApdu(byte[] apduIn) throws ReaderIOException, CardIOException {
+    exchangeCount.increment();
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    SimulatedCardResourceService.sleep(apduLatency.nextLatencyNanos(random));
+    double draw = random.nextDouble();
+    if (draw < readerFailureProbability) {
+      throw new ReaderIOException("Simulated reader failure");
+    }
+    if (draw < readerFailureProbability + cardFailureProbability) {
+      throw new CardIOException("Simulated card failure");
+    }
+    return apduResponse.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public boolean isContactless() {
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @since 2.1.0
+   */
+  @Override
+  public void onUnregister() {
+    // NOP
+  }
+}